@@ -0,0 +1,52 @@
+package com.testcase.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа собранного jar с бенчмарками.
+ * <p>
+ * Принимает те же аргументы, что и {@code org.openjdk.jmh.Main}, но всегда подключает
+ * {@link GCProfiler} (аллокации на операцию) и, если формат и файл результатов не заданы
+ * через {@code -rf}/{@code -rff}, пишет результаты в {@value #DEFAULT_RESULT_FILE} в формате JSON
+ * для сравнения прогонов между собой.
+ * </p>
+ */
+public final class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkMain() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Запускает выбранные бенчмарки.
+     *
+     * @param args аргументы командной строки JMH
+     * @throws CommandLineOptionException если аргументы не разобраны
+     * @throws RunnerException            если прогон завершился с ошибкой
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+        if (commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(commandLineOptions.getResultFormat().get());
+        } else {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
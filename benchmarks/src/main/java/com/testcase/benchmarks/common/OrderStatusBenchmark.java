@@ -0,0 +1,60 @@
+package com.testcase.benchmarks.common;
+
+import com.testcase.commondto.waiterservice.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка перехода статуса заказа {@link OrderStatus#canTransitTo(OrderStatus)}.
+ * <p>
+ * Вызывается при каждом изменении статуса в обоих сервисах. Пары статусов перебираются
+ * в случайном порядке, чтобы JIT не свернул проверку для одной константной пары.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderStatusBenchmark {
+
+    private static final int PAIRS = 1024;
+    private static final long SEED = 42L;
+
+    private OrderStatus[] currentStatuses;
+    private OrderStatus[] newStatuses;
+    private int next;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OrderStatus[] statuses = OrderStatus.values();
+        SplittableRandom random = new SplittableRandom(SEED);
+        currentStatuses = new OrderStatus[PAIRS];
+        newStatuses = new OrderStatus[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            currentStatuses[i] = statuses[random.nextInt(statuses.length)];
+            newStatuses[i] = statuses[random.nextInt(statuses.length)];
+        }
+    }
+
+
+    @Benchmark
+    public boolean canTransitTo() {
+        int index = next++ & (PAIRS - 1);
+        return currentStatuses[index].canTransitTo(newStatuses[index]);
+    }
+}
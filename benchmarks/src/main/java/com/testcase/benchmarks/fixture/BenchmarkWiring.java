@@ -0,0 +1,103 @@
+package com.testcase.benchmarks.fixture;
+
+import com.testcase.kitchenservice.mapstruct.mapper.KitchenOrderMapstructMapper;
+import com.testcase.kitchenservice.mapstruct.mapper.KitchenOrderMapstructMapperImpl;
+import com.testcase.kitchenservice.mapstruct.mapper.OrderToDishMapstructMapperImpl;
+import com.testcase.waiterservice.mapper.MenuMapper;
+import com.testcase.waiterservice.mapper.OrderMapper;
+import com.testcase.waiterservice.mapper.OrderMapperImpl;
+import com.testcase.waiterservice.mapper.OrderPositionMapper;
+import com.testcase.waiterservice.mapper.OrderPositionMapperImpl;
+import com.testcase.waiterservice.mapper.WaiterMapperImpl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Сборка компонентов сервисов без контекста Spring.
+ * <p>
+ * MapStruct-мапперы с {@code componentModel = SPRING} получают зависимые мапперы через поля,
+ * здесь они проставляются вручную. Репозитории и MyBatis-мапперы заменяются заглушками
+ * на {@link Proxy}, которые реализуют только методы, нужные бенчмарку.
+ * </p>
+ */
+public final class BenchmarkWiring {
+
+    private BenchmarkWiring() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Создаёт заглушку интерфейса, вызывающую обработчик по имени метода.
+     *
+     * @param type    интерфейс репозитория или маппера
+     * @param methods обработчики методов по имени, получают аргументы вызова
+     * @param <T>     тип интерфейса
+     * @return заглушка, бросающая {@link UnsupportedOperationException} для остальных методов
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> handler = methods.get(method.getName());
+                    if (handler == null) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                    }
+                    return handler.apply(args);
+                });
+    }
+
+
+    /**
+     * Создаёт маппер позиций заказа waiter-service.
+     *
+     * @param menuMapper маппер блюд меню
+     * @return маппер позиций заказа
+     */
+    public static OrderPositionMapper orderPositionMapper(MenuMapper menuMapper) {
+        OrderPositionMapperImpl mapper = new OrderPositionMapperImpl();
+        inject(mapper, "menuMapper", menuMapper);
+        return mapper;
+    }
+
+
+    /**
+     * Создаёт маппер заказов waiter-service.
+     *
+     * @param orderPositionMapper маппер позиций заказа
+     * @return маппер заказов
+     */
+    public static OrderMapper orderMapper(OrderPositionMapper orderPositionMapper) {
+        OrderMapperImpl mapper = new OrderMapperImpl();
+        inject(mapper, "waiterMapper", new WaiterMapperImpl());
+        inject(mapper, "orderPositionMapper", orderPositionMapper);
+        return mapper;
+    }
+
+
+    /**
+     * Создаёт маппер заказов kitchen-service.
+     *
+     * @return маппер заказов кухни
+     */
+    public static KitchenOrderMapstructMapper kitchenOrderMapper() {
+        KitchenOrderMapstructMapperImpl mapper = new KitchenOrderMapstructMapperImpl();
+        inject(mapper, "orderToDishMapstructMapper", new OrderToDishMapstructMapperImpl());
+        return mapper;
+    }
+
+
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось проставить поле " + fieldName
+                    + " в " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
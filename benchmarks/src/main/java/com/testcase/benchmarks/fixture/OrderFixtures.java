@@ -0,0 +1,180 @@
+package com.testcase.benchmarks.fixture;
+
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.commondto.waiterservice.Sex;
+import com.testcase.commondto.waiterservice.WaiterDTO;
+import com.testcase.kitchenservice.entity.Dish;
+import com.testcase.waiterservice.entity.Menu;
+import com.testcase.waiterservice.entity.Order;
+import com.testcase.waiterservice.entity.OrderPosition;
+import com.testcase.waiterservice.entity.Waiter;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Генераторы данных для бенчмарков: меню, заказы официантов и блюда кухни.
+ * <p>
+ * Данные детерминированы: генератор случайных чисел создаётся с фиксированным зерном, поэтому
+ * результаты разных запусков сравнимы между собой. Заказ содержит позиции с различными блюдами,
+ * выбранными из меню случайно, как при реальном подсчёте заказа, где каждое блюдо встречается один раз.
+ * </p>
+ */
+public final class OrderFixtures {
+
+    /**
+     * Размер меню ресторана по умолчанию.
+     */
+    public static final int MENU_SIZE = 10_000;
+
+    /**
+     * Максимальное количество позиций в заказе, поддерживаемое генератором заказов.
+     */
+    public static final int MAX_POSITIONS = 500;
+
+    private static final long SEED = 20_250_406L;
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2025, 4, 6, 21, 40, 36, 0, ZoneOffset.UTC);
+    private static final long WAITER_ID = 7L;
+    private static final int MIN_COST = 50;
+    private static final int MAX_COST = 1500;
+    private static final int MAX_QUANTITY = 5;
+    private static final int TABLES = 40;
+
+    private OrderFixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Создаёт генератор случайных чисел с фиксированным зерном.
+     *
+     * @return генератор случайных чисел
+     */
+    public static SplittableRandom random() {
+        return new SplittableRandom(SEED);
+    }
+
+
+    /**
+     * Генерирует меню в виде DTO с ID блюд от 1 до {@code size}.
+     *
+     * @param size   количество блюд
+     * @param random генератор случайных чисел
+     * @return блюда меню
+     */
+    public static List<MenuDTO> menuDTOs(int size, SplittableRandom random) {
+        List<MenuDTO> menu = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            menu.add(new MenuDTO(id, "dish-" + id, (double) random.nextInt(MIN_COST, MAX_COST + 1)));
+        }
+        return menu;
+    }
+
+
+    /**
+     * Генерирует меню в виде сущностей waiter-service по DTO меню.
+     *
+     * @param menuDTOs блюда меню
+     * @return сущности блюд меню
+     */
+    public static List<Menu> menus(List<MenuDTO> menuDTOs) {
+        List<Menu> menus = new ArrayList<>(menuDTOs.size());
+        for (MenuDTO menu : menuDTOs) {
+            menus.add(new Menu(menu.getId(), menu.getName(), menu.getCost(), new ArrayList<>()));
+        }
+        return menus;
+    }
+
+
+    /**
+     * Генерирует блюда кухни для всех блюд меню с заданным остатком.
+     *
+     * @param menuDTOs блюда меню
+     * @param balance  остаток каждого блюда
+     * @return блюда кухни
+     */
+    public static List<Dish> dishes(List<MenuDTO> menuDTOs, int balance) {
+        List<Dish> dishes = new ArrayList<>(menuDTOs.size());
+        for (MenuDTO menu : menuDTOs) {
+            dishes.add(new Dish(menu.getId(), balance, menu.getName(), "composition of " + menu.getName()));
+        }
+        return dishes;
+    }
+
+
+    /**
+     * Генерирует DTO заказа с позициями из различных блюд меню.
+     *
+     * @param orderId        ID заказа
+     * @param positionsCount количество позиций, от 1 до {@link #MAX_POSITIONS}
+     * @param menuDTOs       блюда меню
+     * @param random         генератор случайных чисел
+     * @return DTO заказа в статусе {@link OrderStatus#PREPARING}
+     */
+    public static OrderDTO orderDTO(long orderId, int positionsCount, List<MenuDTO> menuDTOs,
+                                    SplittableRandom random) {
+        Set<OrderPositionDTO> positions = new HashSet<>(positionsCount * 2);
+        for (int index : distinctIndexes(positionsCount, menuDTOs.size(), random)) {
+            positions.add(new OrderPositionDTO(orderId, quantity(random), menuDTOs.get(index)));
+        }
+        WaiterDTO waiter = new WaiterDTO(WAITER_ID, "waiter-" + WAITER_ID, CREATED_AT, Sex.FEMALE);
+        return new OrderDTO(orderId, OrderStatus.PREPARING, CREATED_AT, waiter, table(random), positions);
+    }
+
+
+    /**
+     * Генерирует сущность заказа waiter-service с позициями из различных блюд меню.
+     *
+     * @param orderId        ID заказа
+     * @param positionsCount количество позиций, от 1 до {@link #MAX_POSITIONS}
+     * @param menus          сущности блюд меню
+     * @param random         генератор случайных чисел
+     * @return заказ в статусе {@link OrderStatus#PREPARING}
+     */
+    public static Order order(long orderId, int positionsCount, List<Menu> menus, SplittableRandom random) {
+        Waiter waiter = new Waiter(WAITER_ID, "waiter-" + WAITER_ID, CREATED_AT, Sex.FEMALE, new HashSet<>());
+        Order order = new Order(orderId, OrderStatus.PREPARING, CREATED_AT, waiter, table(random),
+                new ArrayList<>(positionsCount));
+        long positionId = orderId * MAX_POSITIONS;
+        for (int index : distinctIndexes(positionsCount, menus.size(), random)) {
+            order.getOrderPositions().add(new OrderPosition(++positionId, quantity(random), order, menus.get(index)));
+        }
+        return order;
+    }
+
+
+    private static int[] distinctIndexes(int count, int bound, SplittableRandom random) {
+        if (count < 1 || count > Math.min(MAX_POSITIONS, bound)) {
+            throw new IllegalArgumentException(String.format(
+                    "Количество позиций должно быть от 1 до %d, передано: %d", Math.min(MAX_POSITIONS, bound), count));
+        }
+        Set<Integer> picked = new HashSet<>(count * 2);
+        int[] indexes = new int[count];
+        int size = 0;
+        while (size < count) {
+            int index = random.nextInt(bound);
+            if (picked.add(index)) {
+                indexes[size++] = index;
+            }
+        }
+        return indexes;
+    }
+
+
+    private static int quantity(SplittableRandom random) {
+        return random.nextInt(1, MAX_QUANTITY + 1);
+    }
+
+
+    private static String table(SplittableRandom random) {
+        return "T" + (1 + random.nextInt(TABLES));
+    }
+}
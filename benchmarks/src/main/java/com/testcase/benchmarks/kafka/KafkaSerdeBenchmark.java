@@ -0,0 +1,144 @@
+package com.testcase.benchmarks.kafka;
+
+import com.testcase.commondto.kafka.KafkaSerdes;
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.commondto.waiterservice.Sex;
+import com.testcase.commondto.waiterservice.WaiterDTO;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение JSON- и protobuf-сериализации сообщения о создании заказа.
+ * <p>
+ * JSON-путь использует те же {@link JsonSerializer}/{@link JsonDeserializer}, что и сервисы,
+ * protobuf-путь — {@link KafkaSerdes}. Вспомогательный счётчик {@code bytes} накапливает размер
+ * сериализованных сообщений: в режиме throughput размер одного сообщения равен {@code bytes / ops}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaSerdeBenchmark {
+
+    private static final String TOPIC = "order-creation-topic";
+    private static final String CREATED_AT = "2025-04-06T21:40:36.775+03:00";
+    private static final long ORDER_ID = 42L;
+    private static final long WAITER_ID = 7L;
+    private static final int MAX_QUANTITY = 3;
+    private static final double BASE_COST = 100.0;
+
+    @Param({"1", "10", "50"})
+    public int positionsCount;
+
+    private Serializer<OrderDTO> jsonSerializer;
+    private Deserializer<OrderDTO> jsonDeserializer;
+    private Serializer<OrderDTO> protobufSerializer;
+    private Deserializer<OrderDTO> protobufDeserializer;
+
+    private OrderDTO order;
+    private byte[] jsonPayload;
+    private byte[] protobufPayload;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        JsonDeserializer<OrderDTO> deserializer = new JsonDeserializer<>(OrderDTO.class);
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+        jsonDeserializer = deserializer;
+        protobufSerializer = KafkaSerdes.orderSerializer();
+        protobufDeserializer = KafkaSerdes.orderDeserializer();
+
+        OffsetDateTime now = OffsetDateTime.parse(CREATED_AT);
+        Set<OrderPositionDTO> positions = new HashSet<>(positionsCount * 2);
+        for (int i = 1; i <= positionsCount; i++) {
+            MenuDTO menu = new MenuDTO((long) i, "Блюдо " + i, BASE_COST + i);
+            positions.add(new OrderPositionDTO(ORDER_ID, 1 + i % MAX_QUANTITY, menu));
+        }
+        WaiterDTO waiter = new WaiterDTO(WAITER_ID, "Виктор", now.minusYears(1), Sex.MALE);
+        order = new OrderDTO(ORDER_ID, OrderStatus.SENT_TO_KITCHEN, now, waiter, "A12", positions);
+
+        jsonPayload = jsonSerializer.serialize(TOPIC, order);
+        protobufPayload = protobufSerializer.serialize(TOPIC, order);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+    }
+
+
+    @Benchmark
+    public byte[] jsonSerialize(PayloadBytes counter) {
+        byte[] payload = jsonSerializer.serialize(TOPIC, order);
+        counter.bytes += payload.length;
+        return payload;
+    }
+
+
+    @Benchmark
+    public byte[] protobufSerialize(PayloadBytes counter) {
+        byte[] payload = protobufSerializer.serialize(TOPIC, order);
+        counter.bytes += payload.length;
+        return payload;
+    }
+
+
+    @Benchmark
+    public OrderDTO jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, jsonPayload);
+    }
+
+
+    @Benchmark
+    public OrderDTO protobufDeserialize() {
+        return protobufDeserializer.deserialize(TOPIC, protobufPayload);
+    }
+
+
+    /**
+     * Суммарный размер сериализованных сообщений.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class PayloadBytes {
+
+        public long bytes;
+
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+}
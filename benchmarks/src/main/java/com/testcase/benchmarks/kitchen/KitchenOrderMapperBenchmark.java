@@ -0,0 +1,58 @@
+package com.testcase.benchmarks.kitchen;
+
+import com.testcase.benchmarks.fixture.BenchmarkWiring;
+import com.testcase.benchmarks.fixture.OrderFixtures;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.kitchenservice.entity.KitchenOrder;
+import com.testcase.kitchenservice.mapstruct.mapper.KitchenOrderMapstructMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование заказа из сообщения waiter-service в сущность кухни
+ * ({@code KitchenOrderMapstructMapper.toKitchenOrder}), выполняемое для каждого полученного заказа.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KitchenOrderMapperBenchmark {
+
+    private static final long ORDER_ID = 1L;
+
+    @Param({"1", "10", "50", "100", "500"})
+    public int positionsCount;
+
+    private OrderDTO orderDTO;
+    private KitchenOrderMapstructMapper mapper;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = OrderFixtures.random();
+        orderDTO = OrderFixtures.orderDTO(ORDER_ID, positionsCount,
+                OrderFixtures.menuDTOs(OrderFixtures.MENU_SIZE, random), random);
+        mapper = BenchmarkWiring.kitchenOrderMapper();
+    }
+
+
+    @Benchmark
+    public KitchenOrder toKitchenOrder() {
+        return mapper.toKitchenOrder(orderDTO);
+    }
+}
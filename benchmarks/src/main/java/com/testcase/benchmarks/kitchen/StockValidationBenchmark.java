@@ -0,0 +1,108 @@
+package com.testcase.benchmarks.kitchen;
+
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
+import com.testcase.kitchenservice.entity.Dish;
+import com.testcase.kitchenservice.validation.DishIndex;
+import com.testcase.kitchenservice.validation.DishShortage;
+import com.testcase.kitchenservice.validation.StockValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение проверки остатков блюд при валидации заказа.
+ * <p>
+ * {@code legacyLinearScan} повторяет прежнюю реализацию {@code KitchenOrderServiceImpl.validateOrder}:
+ * линейный поиск блюда по списку для каждой позиции и немедленное форматирование текста ошибки.
+ * {@code indexedSinglePass} использует {@link DishIndex} и {@link StockValidator}.
+ * Запросы к БД в замер не входят: список блюд подготавливается заранее.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockValidationBenchmark {
+
+    private static final long DISH_ID_STEP = 7L;
+    private static final int MAX_REQUIRED = 5;
+    private static final int SPARE_BALANCE = 10;
+    private static final double DISH_COST = 10.0;
+
+    @Param({"1", "10", "50", "100", "500"})
+    public int positionsCount;
+
+    /**
+     * Доля позиций, по которым блюда не хватает.
+     */
+    @Param({"0.0", "0.1"})
+    public double shortageRatio;
+
+    private Set<OrderPositionDTO> positions;
+    private List<Dish> dishes;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        positions = new HashSet<>(positionsCount * 2);
+        dishes = new ArrayList<>(positionsCount);
+        int shortageEvery = shortageRatio > 0 ? (int) Math.round(1 / shortageRatio) : Integer.MAX_VALUE;
+        for (int i = 1; i <= positionsCount; i++) {
+            long dishId = i * DISH_ID_STEP;
+            int required = 1 + i % MAX_REQUIRED;
+            int balance = i % shortageEvery == 0 ? required - 1 : required + SPARE_BALANCE;
+            dishes.add(new Dish(dishId, balance, "dish-" + i, "composition-" + i));
+            MenuDTO menu = new MenuDTO(dishId, "dish-" + i, DISH_COST);
+            positions.add(new OrderPositionDTO(1L, required, menu));
+        }
+    }
+
+
+    @Benchmark
+    public List<String> legacyLinearScan() {
+        List<String> insufficientDishes = new ArrayList<>();
+        for (OrderPositionDTO position : positions) {
+            Long dishId = position.getMenu().getId();
+            Dish validatingDish = dishes.stream()
+                    .filter(dish -> dish.getDishId().equals(dishId))
+                    .findFirst()
+                    .orElse(null);
+            if (validatingDish == null) {
+                insufficientDishes.add(String.format("Блюдо с id: '%d' не найдено", dishId));
+                continue;
+            }
+            Integer requiredQuantity = position.getQuantity();
+            if (validatingDish.getBalance() < requiredQuantity) {
+                insufficientDishes.add(String.format(
+                        "у блюда с id: '%d' и name: '%s' доступно: %d, требуется: %d",
+                        validatingDish.getDishId(), validatingDish.getShortName(),
+                        validatingDish.getBalance(), requiredQuantity));
+            }
+        }
+        return insufficientDishes;
+    }
+
+
+    @Benchmark
+    public List<DishShortage> indexedSinglePass() {
+        return StockValidator.findShortages(positions, DishIndex.of(dishes));
+    }
+}
@@ -0,0 +1,112 @@
+package com.testcase.benchmarks.kitchen;
+
+import com.testcase.benchmarks.fixture.BenchmarkWiring;
+import com.testcase.benchmarks.fixture.OrderFixtures;
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.kitchenservice.entity.Dish;
+import com.testcase.kitchenservice.mapper.DishMapper;
+import com.testcase.kitchenservice.service.impl.DishServiceImpl;
+import com.testcase.kitchenservice.service.impl.KitchenOrderServiceImpl;
+import com.testcase.kitchenservice.stock.DishStockLedger;
+import com.testcase.kitchenservice.stock.StockReservationService;
+import com.testcase.kitchenservice.validation.OrderValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Валидация заказа на кухне ({@code KitchenOrderServiceImpl.validateOrder}) целиком:
+ * загрузка блюд из журнала остатков, проверка остатков и удержание блюд под заказ.
+ * <p>
+ * Журнал остатков заранее заполняется всеми {@value OrderFixtures#MENU_SIZE} блюдами меню, как после старта
+ * сервиса, обращений к БД в замере нет. Заказы валидируются по кругу из фиксированного набора: повторная валидация
+ * снимает предыдущее удержание того же заказа, поэтому остатки не расходуются между итерациями.
+ * {@code validateOrders} замеряет пакет из {@value #ORDERS} заказов, как при потоковой валидации через gRPC.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateOrderBenchmark {
+
+    private static final int ORDERS = 64;
+    private static final int DISH_BALANCE = 1_000_000;
+    private static final long RESERVATION_TTL_MS = 30_000L;
+
+    @Param({"1", "10", "50", "100", "500"})
+    public int positionsCount;
+
+    private KitchenOrderServiceImpl kitchenOrderService;
+    private List<OrderValidationDTO> validationDTOs;
+    private int next;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = OrderFixtures.random();
+        List<MenuDTO> menu = OrderFixtures.menuDTOs(OrderFixtures.MENU_SIZE, random);
+        Map<Long, Dish> dishesById = new HashMap<>(menu.size() * 2);
+        OrderFixtures.dishes(menu, DISH_BALANCE).forEach(dish -> dishesById.put(dish.getDishId(), dish));
+
+        DishMapper dishMapper = BenchmarkWiring.stub(DishMapper.class, Map.of(
+                "getDishesByIds", args -> dishesById(dishesById, (Set<?>) args[0])));
+        DishStockLedger ledger = new DishStockLedger(dishMapper, null);
+        ledger.getDishes(dishesById.keySet());
+        DishServiceImpl dishService = new DishServiceImpl(dishMapper, null, ledger);
+        kitchenOrderService = new KitchenOrderServiceImpl(dishService, null, null, null,
+                new StockReservationService(ledger, RESERVATION_TTL_MS), null);
+
+        validationDTOs = new ArrayList<>(ORDERS);
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            OrderDTO order = OrderFixtures.orderDTO(orderId, positionsCount, menu, random);
+            validationDTOs.add(new OrderValidationDTO(orderId, order.getOrderPositions()));
+        }
+    }
+
+
+    @Benchmark
+    public OrderValidationResult validateOrder() {
+        return kitchenOrderService.validateOrder(validationDTOs.get(next++ & (ORDERS - 1)));
+    }
+
+
+    @Benchmark
+    public List<OrderValidationResult> validateOrders() {
+        return kitchenOrderService.validateOrders(validationDTOs);
+    }
+
+
+    private static List<Dish> dishesById(Map<Long, Dish> dishesById, Set<?> ids) {
+        List<Dish> dishes = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            Dish dish = dishesById.get((Long) id);
+            if (dish != null) {
+                dishes.add(new Dish(dish.getDishId(), dish.getBalance(), dish.getShortName(),
+                        dish.getDishComposition()));
+            }
+        }
+        return dishes;
+    }
+}
@@ -0,0 +1,161 @@
+package com.testcase.benchmarks.waiter;
+
+import com.testcase.benchmarks.fixture.BenchmarkWiring;
+import com.testcase.benchmarks.fixture.OrderFixtures;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.waiterservice.cache.MenuCache;
+import com.testcase.waiterservice.dto.request.OrderCalculateRequestDTO;
+import com.testcase.waiterservice.entity.Menu;
+import com.testcase.waiterservice.entity.Order;
+import com.testcase.waiterservice.entity.OrderPosition;
+import com.testcase.waiterservice.mapper.MenuMapper;
+import com.testcase.waiterservice.mapper.MenuMapperImpl;
+import com.testcase.waiterservice.mapper.OrderPositionMapper;
+import com.testcase.waiterservice.repository.MenuRepository;
+import com.testcase.waiterservice.repository.OrderPositionRepository;
+import com.testcase.waiterservice.repository.order.OrderRepository;
+import com.testcase.waiterservice.service.impl.MenuServiceImpl;
+import com.testcase.waiterservice.service.impl.OrderPositionServiceImpl;
+import com.testcase.waiterservice.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Задержка и аллокации {@code OrderServiceImpl.calculateOrder} на заказах с большим числом позиций.
+ * <p>
+ * Заказ генерируется {@link OrderFixtures} из меню на {@value OrderFixtures#MENU_SIZE} блюд.
+ * Сервис собирается вручную из реальных реализаций сервисов, кэша меню и MapStruct-мапперов,
+ * репозитории заменены заглушками в памяти, поэтому в замер входят только поиск позиции в заказе,
+ * изменение набора позиций и маппинг заказа в DTO. Бенчмарки {@code hydratePositions*} повторяют заполнение
+ * коллекции позиций при загрузке заказа Hibernate и показывают, почему позиции хранятся списком.
+ * Аллокации снимаются профилировщиком: {@code java -jar benchmarks.jar CalculateOrderBenchmark -prof gc}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculateOrderBenchmark {
+
+    private static final long ORDER_ID = 1L;
+
+    @Param({"100", "250", "500"})
+    public int positionsCount;
+
+    private OrderServiceImpl orderService;
+    private List<OrderPosition> loadedPositions;
+    private long[] orderedMenuIds;
+    private long spareMenuId;
+    private long updateCounter;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = OrderFixtures.random();
+        List<Menu> menus = OrderFixtures.menus(OrderFixtures.menuDTOs(OrderFixtures.MENU_SIZE, random));
+        Map<Long, Menu> menusById = new HashMap<>(menus.size() * 2);
+        menus.forEach(menu -> menusById.put(menu.getId(), menu));
+        Order order = OrderFixtures.order(ORDER_ID, positionsCount, menus, random);
+
+        loadedPositions = List.copyOf(order.getOrderPositions());
+        orderedMenuIds = loadedPositions.stream().mapToLong(position -> position.getMenu().getId()).toArray();
+        spareMenuId = menus.stream()
+                .mapToLong(Menu::getId)
+                .filter(menuId -> Arrays.stream(orderedMenuIds).noneMatch(ordered -> ordered == menuId))
+                .findFirst()
+                .orElseThrow();
+
+        AtomicLong positionIds = new AtomicLong(ORDER_ID * OrderFixtures.MAX_POSITIONS * 2);
+        OrderRepository orderRepository = BenchmarkWiring.stub(OrderRepository.class, Map.of(
+                "findWithPositionsById", args -> Optional.of(order),
+                "save", args -> args[0]));
+        MenuRepository menuRepository = BenchmarkWiring.stub(MenuRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(menusById.get((Long) args[0]))));
+        OrderPositionRepository orderPositionRepository = BenchmarkWiring.stub(OrderPositionRepository.class, Map.of(
+                "save", args -> {
+                    OrderPosition position = (OrderPosition) args[0];
+                    if (position.getId() == null) {
+                        position.setId(positionIds.incrementAndGet());
+                    }
+                    return position;
+                },
+                "existsById", args -> true,
+                "deleteById", args -> null));
+
+        MenuMapper menuMapper = new MenuMapperImpl();
+        OrderPositionMapper orderPositionMapper = BenchmarkWiring.orderPositionMapper(menuMapper);
+        MenuCache menuCache = new MenuCache(menuRepository, menuMapper, new SimpleMeterRegistry(),
+                menus.size(), TimeUnit.HOURS.toMillis(1));
+        MenuServiceImpl menuService = new MenuServiceImpl(menuCache, menuRepository, menuMapper);
+        OrderPositionServiceImpl orderPositionService = new OrderPositionServiceImpl(
+                orderPositionRepository, menuMapper, menuService, orderRepository, orderPositionMapper);
+        orderService = new OrderServiceImpl(orderRepository, null, null,
+                BenchmarkWiring.orderMapper(orderPositionMapper), null, orderPositionService, menuService,
+                null, null, null, null, null);
+    }
+
+
+    /**
+     * Изменение количества уже добавленного блюда: поиск позиции в списке {@code Order.orderPositions} и изменение её количества.
+     */
+    @Benchmark
+    public OrderDTO updateExistingPosition() {
+        long menuId = orderedMenuIds[(int) (updateCounter % positionsCount)];
+        int quantity = updateCounter++ / positionsCount % 2 == 0 ? 1 : -1;
+        return orderService.calculateOrder(ORDER_ID, new OrderCalculateRequestDTO(menuId, quantity));
+    }
+
+
+    /**
+     * Добавление нового блюда и его удаление вторым вызовом, размер заказа не меняется между итерациями.
+     */
+    @Benchmark
+    public OrderDTO addAndRemovePosition() {
+        orderService.calculateOrder(ORDER_ID, new OrderCalculateRequestDTO(spareMenuId, 1));
+        return orderService.calculateOrder(ORDER_ID, new OrderCalculateRequestDTO(spareMenuId, -1));
+    }
+
+
+    /**
+     * Заполнение набора позиций при загрузке заказа, если бы позиции хранились в {@code HashSet}:
+     * хэш сущности не зависит от ID, поэтому все позиции попадают в одну корзину.
+     */
+    @Benchmark
+    public Set<OrderPosition> hydratePositionsHashSet() {
+        return new HashSet<>(loadedPositions);
+    }
+
+
+    /**
+     * Заполнение списка позиций при загрузке заказа, как в {@code Order.orderPositions}.
+     */
+    @Benchmark
+    public List<OrderPosition> hydratePositionsList() {
+        return new ArrayList<>(loadedPositions);
+    }
+}
@@ -0,0 +1,156 @@
+package com.testcase.benchmarks.waiter;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.testcase.benchmarks.fixture.OrderFixtures;
+import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.commonruntime.audit.OrderStatusAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость логирования одного изменения статуса заказа в несколько потоков.
+ * <p>
+ * {@code eagerInfo} — прежняя политика: две синхронные записи INFO, одна из них с полным {@link OrderDTO}.
+ * {@code debugWithSampledAudit} — текущая: те же записи на уровне DEBUG при выключенном DEBUG
+ * и запись аудита {@link OrderStatusAuditLog} через асинхронный appender с ограничением частоты.
+ * При ограничении в 200 записей в секунду почти все вызовы отбрасываются до логгера, поэтому
+ * {@code debugWithUncappedAudit} измеряет ту же политику без ограничения: каждая запись аудита
+ * форматируется и ставится в очередь асинхронного appender, как при частоте переходов ниже ограничения.
+ * Логи пишутся форматированием в {@link OutputStream#nullOutputStream()}, поэтому замер включает
+ * форматирование и синхронизацию appender, но не ввод-вывод консоли.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingPolicyBenchmark {
+
+    private static final String PATTERN = "%d{ISO8601} %5level [%thread] %logger{39} : %msg %kvp%n";
+    private static final String SERVICE_LOGGER = "bench.order-service";
+    private static final String AUDIT_LOGGER = "audit.order-status";
+    private static final int AUDIT_QUEUE_SIZE = 4096;
+    private static final int AUDIT_MAX_PER_SECOND = 200;
+
+    @Param({"1", "10", "50"})
+    public int positionsCount;
+
+    private final org.slf4j.Logger log = LoggerFactory.getLogger(SERVICE_LOGGER);
+
+    private OrderStatusAuditLog auditLog;
+    private OrderStatusAuditLog uncappedAuditLog;
+    private OrderDTO orderDTO;
+    private UpdateOrderStatusDTO statusDTO;
+    private Logger serviceLogger;
+    private Logger auditLogger;
+
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = OrderFixtures.random();
+        List<MenuDTO> menu = OrderFixtures.menuDTOs(OrderFixtures.MENU_SIZE, random);
+        orderDTO = OrderFixtures.orderDTO(1L, positionsCount, menu, random);
+        statusDTO = new UpdateOrderStatusDTO(orderDTO.getId(), OrderStatus.COOKING);
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        OutputStreamAppender<ILoggingEvent> sink = nullSink(context);
+
+        serviceLogger = context.getLogger(SERVICE_LOGGER);
+        serviceLogger.setLevel(Level.INFO);
+        serviceLogger.setAdditive(false);
+        serviceLogger.addAppender(sink);
+
+        AsyncAppender asyncAudit = new AsyncAppender();
+        asyncAudit.setContext(context);
+        asyncAudit.setName("ASYNC_AUDIT");
+        asyncAudit.setQueueSize(AUDIT_QUEUE_SIZE);
+        asyncAudit.setDiscardingThreshold(0);
+        asyncAudit.setNeverBlock(true);
+        asyncAudit.addAppender(sink);
+        asyncAudit.start();
+
+        auditLogger = context.getLogger(AUDIT_LOGGER);
+        auditLogger.setLevel(Level.INFO);
+        auditLogger.setAdditive(false);
+        auditLogger.addAppender(asyncAudit);
+
+        auditLog = new OrderStatusAuditLog(new SimpleMeterRegistry(), AUDIT_MAX_PER_SECOND);
+        uncappedAuditLog = new OrderStatusAuditLog(new SimpleMeterRegistry(), Integer.MAX_VALUE);
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        serviceLogger.detachAndStopAllAppenders();
+        auditLogger.detachAndStopAllAppenders();
+    }
+
+
+    @Benchmark
+    public void eagerInfo() {
+        log.info("Kafka: Получены данные для изменения статуса заказа: {}", statusDTO);
+        log.info("Заказ для отправки на кухню: {}", orderDTO);
+    }
+
+
+    @Benchmark
+    public void debugWithSampledAudit() {
+        log.debug("Kafka: Получен статус {} для заказа с id: {}", statusDTO.getStatus(), statusDTO.getId());
+        log.debug("Отправка заказа с id: {} в сервис кухни", orderDTO.getId());
+        auditLog.statusChanged(statusDTO.getId(), OrderStatus.SENT_TO_KITCHEN, statusDTO.getStatus());
+    }
+
+
+    @Benchmark
+    public void debugWithUncappedAudit() {
+        log.debug("Kafka: Получен статус {} для заказа с id: {}", statusDTO.getStatus(), statusDTO.getId());
+        log.debug("Отправка заказа с id: {} в сервис кухни", orderDTO.getId());
+        uncappedAuditLog.statusChanged(statusDTO.getId(), OrderStatus.SENT_TO_KITCHEN, statusDTO.getStatus());
+    }
+
+
+    private static OutputStreamAppender<ILoggingEvent> nullSink(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setName("NULL");
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        return sink;
+    }
+}
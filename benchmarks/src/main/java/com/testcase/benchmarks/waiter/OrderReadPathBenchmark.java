@@ -0,0 +1,76 @@
+package com.testcase.benchmarks.waiter;
+
+import com.testcase.benchmarks.fixture.BenchmarkWiring;
+import com.testcase.benchmarks.fixture.OrderFixtures;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.waiterservice.entity.Order;
+import com.testcase.waiterservice.mapper.MenuMapperImpl;
+import com.testcase.waiterservice.mapper.OrderMapper;
+import com.testcase.waiterservice.service.impl.OrderPositionServiceImpl;
+import com.testcase.waiterservice.service.impl.OrderServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Операции waiter-service над уже загруженным заказом, выполняемые почти в каждом запросе:
+ * маппинг заказа в DTO ({@code OrderMapper.toOrderDTO}) и подсчёт суммы заказа
+ * ({@code OrderServiceImpl.calculateTotalSum}).
+ * <p>
+ * Заказ генерируется {@link OrderFixtures} из меню на {@value OrderFixtures#MENU_SIZE} блюд,
+ * обращений к БД в замере нет.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderReadPathBenchmark {
+
+    private static final long ORDER_ID = 1L;
+
+    @Param({"1", "10", "50", "100", "500"})
+    public int positionsCount;
+
+    private Order order;
+    private OrderMapper orderMapper;
+    private OrderServiceImpl orderService;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = OrderFixtures.random();
+        order = OrderFixtures.order(ORDER_ID, positionsCount,
+                OrderFixtures.menus(OrderFixtures.menuDTOs(OrderFixtures.MENU_SIZE, random)), random);
+        orderMapper = BenchmarkWiring.orderMapper(BenchmarkWiring.orderPositionMapper(new MenuMapperImpl()));
+        OrderPositionServiceImpl orderPositionService = new OrderPositionServiceImpl(null, null, null, null, null);
+        orderService = new OrderServiceImpl(null, null, null, orderMapper, null, orderPositionService,
+                null, null, null, null, null, null);
+    }
+
+
+    @Benchmark
+    public OrderDTO toOrderDTO() {
+        return orderMapper.toOrderDTO(order);
+    }
+
+
+    @Benchmark
+    public Double calculateTotalSum() {
+        return orderService.calculateTotalSum(order);
+    }
+}
@@ -0,0 +1,18 @@
+package com.testcase.commondto.kafka;
+
+/**
+ * Формат сообщений в топике Kafka.
+ * Задаётся для каждого топика отдельно и должен совпадать у продюсера и потребителя.
+ */
+public enum KafkaPayloadFormat {
+
+    /**
+     * JSON через Jackson, формат по умолчанию.
+     */
+    JSON,
+
+    /**
+     * Protobuf-сообщения из {@code KafkaOrderMessages.proto}.
+     */
+    PROTOBUF
+}
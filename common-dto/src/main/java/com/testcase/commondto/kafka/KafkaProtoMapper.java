@@ -0,0 +1,202 @@
+package com.testcase.commondto.kafka;
+
+import com.education.grpc.GrpcMenuDTOProto;
+import com.education.grpc.GrpcOrderPositionDTOProto;
+import com.education.grpc.KafkaDateTimeProto;
+import com.education.grpc.KafkaOrderProto;
+import com.education.grpc.KafkaUpdateOrderStatusProto;
+import com.education.grpc.KafkaWaiterProto;
+import com.google.protobuf.Timestamp;
+import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.commondto.waiterservice.Sex;
+import com.testcase.commondto.waiterservice.WaiterDTO;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Преобразование DTO сообщений Kafka в protobuf-сообщения и обратно.
+ * <p>
+ * Позиции заказа переиспользуют {@link GrpcOrderPositionDTOProto} из gRPC-контракта.
+ * Поля со значением {@code null} не записываются. При чтении {@code null} восстанавливается только
+ * для вложенных сообщений (дата, официант, блюдо) и строк, пустая строка тоже читается как {@code null}.
+ * Числовые поля proto3 (идентификаторы, количество, стоимость) не отличают отсутствие значения от нуля:
+ * незаписанное значение читается как {@code 0}, поэтому {@code null} в них передавать нельзя.
+ * </p>
+ */
+public final class KafkaProtoMapper {
+
+    private KafkaProtoMapper() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Преобразует заказ в protobuf-сообщение.
+     *
+     * @param orderDTO DTO заказа
+     * @return protobuf-сообщение заказа
+     */
+    public static KafkaOrderProto toProto(OrderDTO orderDTO) {
+        KafkaOrderProto.Builder builder = KafkaOrderProto.newBuilder();
+        if (orderDTO.getId() != null) {
+            builder.setId(orderDTO.getId());
+        }
+        if (orderDTO.getStatus() != null) {
+            builder.setStatus(orderDTO.getStatus().name());
+        }
+        if (orderDTO.getCreateDateTime() != null) {
+            builder.setCreateDateTime(toProto(orderDTO.getCreateDateTime()));
+        }
+        if (orderDTO.getWaiter() != null) {
+            builder.setWaiter(toProto(orderDTO.getWaiter()));
+        }
+        if (orderDTO.getTableNumber() != null) {
+            builder.setTableNumber(orderDTO.getTableNumber());
+        }
+        if (orderDTO.getOrderPositions() != null) {
+            orderDTO.getOrderPositions().forEach(position -> builder.addOrderPositions(toProto(position)));
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Преобразует protobuf-сообщение в заказ.
+     *
+     * @param proto protobuf-сообщение заказа
+     * @return DTO заказа
+     */
+    public static OrderDTO fromProto(KafkaOrderProto proto) {
+        Set<OrderPositionDTO> positions = new HashSet<>(proto.getOrderPositionsCount() * 2);
+        proto.getOrderPositionsList().forEach(position -> positions.add(fromProto(position)));
+        return new OrderDTO(
+                proto.getId(),
+                proto.getStatus().isEmpty() ? null : OrderStatus.valueOf(proto.getStatus()),
+                proto.hasCreateDateTime() ? fromProto(proto.getCreateDateTime()) : null,
+                proto.hasWaiter() ? fromProto(proto.getWaiter()) : null,
+                proto.getTableNumber().isEmpty() ? null : proto.getTableNumber(),
+                positions);
+    }
+
+
+    /**
+     * Преобразует обновление статуса заказа в protobuf-сообщение.
+     *
+     * @param updateDTO DTO обновления статуса заказа
+     * @return protobuf-сообщение обновления статуса
+     */
+    public static KafkaUpdateOrderStatusProto toProto(UpdateOrderStatusDTO updateDTO) {
+        KafkaUpdateOrderStatusProto.Builder builder = KafkaUpdateOrderStatusProto.newBuilder();
+        if (updateDTO.getId() != null) {
+            builder.setId(updateDTO.getId());
+        }
+        if (updateDTO.getStatus() != null) {
+            builder.setStatus(updateDTO.getStatus().name());
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Преобразует protobuf-сообщение в обновление статуса заказа.
+     *
+     * @param proto protobuf-сообщение обновления статуса
+     * @return DTO обновления статуса заказа
+     */
+    public static UpdateOrderStatusDTO fromProto(KafkaUpdateOrderStatusProto proto) {
+        return new UpdateOrderStatusDTO(
+                proto.getId(),
+                proto.getStatus().isEmpty() ? null : OrderStatus.valueOf(proto.getStatus()));
+    }
+
+
+    private static KafkaWaiterProto toProto(WaiterDTO waiter) {
+        KafkaWaiterProto.Builder builder = KafkaWaiterProto.newBuilder();
+        if (waiter.getId() != null) {
+            builder.setId(waiter.getId());
+        }
+        if (waiter.getName() != null) {
+            builder.setName(waiter.getName());
+        }
+        if (waiter.getEmploymentDate() != null) {
+            builder.setEmploymentDate(toProto(waiter.getEmploymentDate()));
+        }
+        if (waiter.getSex() != null) {
+            builder.setSex(waiter.getSex().name());
+        }
+        return builder.build();
+    }
+
+
+    private static WaiterDTO fromProto(KafkaWaiterProto proto) {
+        return new WaiterDTO(
+                proto.getId(),
+                proto.getName().isEmpty() ? null : proto.getName(),
+                proto.hasEmploymentDate() ? fromProto(proto.getEmploymentDate()) : null,
+                proto.getSex().isEmpty() ? null : Sex.valueOf(proto.getSex()));
+    }
+
+
+    private static GrpcOrderPositionDTOProto toProto(OrderPositionDTO position) {
+        GrpcOrderPositionDTOProto.Builder builder = GrpcOrderPositionDTOProto.newBuilder();
+        if (position.getOrderId() != null) {
+            builder.setOrderId(position.getOrderId());
+        }
+        if (position.getQuantity() != null) {
+            builder.setQuantity(position.getQuantity());
+        }
+        MenuDTO menu = position.getMenu();
+        if (menu != null) {
+            GrpcMenuDTOProto.Builder menuBuilder = GrpcMenuDTOProto.newBuilder();
+            if (menu.getId() != null) {
+                menuBuilder.setId(menu.getId());
+            }
+            if (menu.getName() != null) {
+                menuBuilder.setName(menu.getName());
+            }
+            if (menu.getCost() != null) {
+                menuBuilder.setCost(menu.getCost());
+            }
+            builder.setMenu(menuBuilder);
+        }
+        return builder.build();
+    }
+
+
+    private static OrderPositionDTO fromProto(GrpcOrderPositionDTOProto proto) {
+        MenuDTO menu = null;
+        if (proto.hasMenu()) {
+            GrpcMenuDTOProto menuProto = proto.getMenu();
+            menu = new MenuDTO(
+                    menuProto.getId(),
+                    menuProto.getName().isEmpty() ? null : menuProto.getName(),
+                    menuProto.getCost());
+        }
+        return new OrderPositionDTO(proto.getOrderId(), proto.getQuantity(), menu);
+    }
+
+
+    private static KafkaDateTimeProto toProto(OffsetDateTime dateTime) {
+        Instant instant = dateTime.toInstant();
+        return KafkaDateTimeProto.newBuilder()
+                .setInstant(Timestamp.newBuilder()
+                        .setSeconds(instant.getEpochSecond())
+                        .setNanos(instant.getNano()))
+                .setOffsetSeconds(dateTime.getOffset().getTotalSeconds())
+                .build();
+    }
+
+
+    private static OffsetDateTime fromProto(KafkaDateTimeProto proto) {
+        Instant instant = Instant.ofEpochSecond(proto.getInstant().getSeconds(), proto.getInstant().getNanos());
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(proto.getOffsetSeconds()));
+    }
+}
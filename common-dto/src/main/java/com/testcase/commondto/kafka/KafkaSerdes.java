@@ -0,0 +1,58 @@
+package com.testcase.commondto.kafka;
+
+import com.education.grpc.KafkaOrderProto;
+import com.education.grpc.KafkaUpdateOrderStatusProto;
+import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Фабрика protobuf-сериализаторов и десериализаторов для сообщений Kafka.
+ */
+public final class KafkaSerdes {
+
+    private KafkaSerdes() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Создаёт protobuf-сериализатор заказа.
+     *
+     * @return сериализатор {@link OrderDTO}
+     */
+    public static Serializer<OrderDTO> orderSerializer() {
+        return new ProtobufSerializer<OrderDTO>(KafkaProtoMapper::toProto);
+    }
+
+
+    /**
+     * Создаёт protobuf-десериализатор заказа.
+     *
+     * @return десериализатор {@link OrderDTO}
+     */
+    public static Deserializer<OrderDTO> orderDeserializer() {
+        return new ProtobufDeserializer<>(KafkaOrderProto.parser(), KafkaProtoMapper::fromProto);
+    }
+
+
+    /**
+     * Создаёт protobuf-сериализатор обновления статуса заказа.
+     *
+     * @return сериализатор {@link UpdateOrderStatusDTO}
+     */
+    public static Serializer<UpdateOrderStatusDTO> updateOrderStatusSerializer() {
+        return new ProtobufSerializer<UpdateOrderStatusDTO>(KafkaProtoMapper::toProto);
+    }
+
+
+    /**
+     * Создаёт protobuf-десериализатор обновления статуса заказа.
+     *
+     * @return десериализатор {@link UpdateOrderStatusDTO}
+     */
+    public static Deserializer<UpdateOrderStatusDTO> updateOrderStatusDeserializer() {
+        return new ProtobufDeserializer<>(KafkaUpdateOrderStatusProto.parser(), KafkaProtoMapper::fromProto);
+    }
+}
@@ -0,0 +1,47 @@
+package com.testcase.commondto.kafka;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.function.Function;
+
+/**
+ * Десериализатор Kafka, читающий DTO из protobuf-сообщения.
+ *
+ * @param <M> тип protobuf-сообщения
+ * @param <T> тип DTO
+ */
+public class ProtobufDeserializer<M extends MessageLite, T> implements Deserializer<T> {
+
+    private final Parser<M> parser;
+    private final Function<M, T> fromProto;
+
+
+    /**
+     * Конструктор десериализатора.
+     *
+     * @param parser парсер protobuf-сообщения
+     * @param fromProto преобразование protobuf-сообщения в DTO
+     */
+    public ProtobufDeserializer(Parser<M> parser, Function<M, T> fromProto) {
+        this.parser = parser;
+        this.fromProto = fromProto;
+    }
+
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return fromProto.apply(parser.parseFrom(data));
+        } catch (InvalidProtocolBufferException e) {
+            throw new SerializationException(
+                    String.format("Не удалось прочитать protobuf-сообщение из topic: %s", topic), e);
+        }
+    }
+}
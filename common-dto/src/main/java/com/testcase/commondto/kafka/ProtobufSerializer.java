@@ -0,0 +1,32 @@
+package com.testcase.commondto.kafka;
+
+import com.google.protobuf.MessageLite;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.function.Function;
+
+/**
+ * Сериализатор Kafka, записывающий DTO в виде protobuf-сообщения.
+ *
+ * @param <T> тип DTO
+ */
+public class ProtobufSerializer<T> implements Serializer<T> {
+
+    private final Function<T, ? extends MessageLite> toProto;
+
+
+    /**
+     * Конструктор сериализатора.
+     *
+     * @param toProto преобразование DTO в protobuf-сообщение
+     */
+    public ProtobufSerializer(Function<T, ? extends MessageLite> toProto) {
+        this.toProto = toProto;
+    }
+
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return data == null ? null : toProto.apply(data).toByteArray();
+    }
+}
@@ -0,0 +1,64 @@
+package com.testcase.commondto.validation;
+
+import com.education.grpc.GrpcDishShortageDTOProto;
+
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Тексты ошибок о нехватке блюд.
+ * <p>
+ * Kitchen-service формирует их для ответа REST API, waiter-service — по типизированным нехваткам
+ * из ответа gRPC-валидации, поэтому формат задаётся здесь один раз для обоих сервисов.
+ * </p>
+ */
+public final class DishShortageMessages {
+
+    private static final String DISH_NOT_FOUND = "Блюдо с id: '%d' не найдено";
+    private static final String NOT_ENOUGH_DISHES = "у блюда с id: '%d' и name: '%s' доступно: %d, требуется: %d";
+    private static final String DELIMITER = "; \n";
+    private static final String PREFIX = "Недостаточно блюд: ";
+
+    private DishShortageMessages() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Описывает нехватку одного блюда.
+     *
+     * @param dishId ID блюда
+     * @param shortName краткое название блюда, не используется для ненайденного блюда
+     * @param found признак того, что блюдо найдено в БД
+     * @param available доступный остаток блюда
+     * @param required требуемое количество блюда
+     * @return описание нехватки блюда
+     */
+    public static String describe(long dishId, String shortName, boolean found, int available, int required) {
+        return found
+                ? String.format(NOT_ENOUGH_DISHES, dishId, shortName, available, required)
+                : String.format(DISH_NOT_FOUND, dishId);
+    }
+
+
+    /**
+     * Описывает нехватку одного блюда из ответа gRPC-валидации.
+     *
+     * @param shortage нехватка блюда
+     * @return описание нехватки блюда
+     */
+    public static String describe(GrpcDishShortageDTOProto shortage) {
+        return describe(shortage.getDishId(), shortage.getShortName(), shortage.getFound(),
+                shortage.getAvailable(), shortage.getRequired());
+    }
+
+
+    /**
+     * Собирает описания нехваток отдельных блюд в общий текст ошибки.
+     *
+     * @return коллектор описаний нехваток
+     */
+    public static Collector<CharSequence, ?, String> joining() {
+        return Collectors.joining(DELIMITER, PREFIX, "");
+    }
+}
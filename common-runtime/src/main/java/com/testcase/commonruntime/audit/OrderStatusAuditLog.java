@@ -0,0 +1,110 @@
+package com.testcase.commonruntime.audit;
+
+import com.testcase.commondto.waiterservice.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Журнал аудита переходов статусов заказа.
+ * <p>
+ * Записи пишутся в лог {@code audit.order-status} парами ключ-значение ({@code orderId}, {@code from},
+ * {@code to}, {@code dropped}), вывод в logback-spring.xml асинхронный и не блокирует поток запроса.
+ * Внутри транзакции запись делается после её фиксации, откат перехода в журнал не попадает.
+ * </p>
+ * <p>
+ * Число записей в секунду ограничено параметром конструктора. Записи сверх ограничения
+ * отбрасываются и учитываются в метрике {@code audit.records.dropped}, а их количество передаётся
+ * в поле {@code dropped} следующей записи.
+ * </p>
+ * <p>
+ * Журнал общий для waiter-service и kitchen-service, поэтому записи обоих сервисов разбираются одинаково.
+ * Каждый сервис объявляет бин журнала с ограничением из своих свойств ({@code <сервис>.audit.max-per-second}).
+ * </p>
+ */
+@Slf4j(topic = "audit.order-status")
+public class OrderStatusAuditLog {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxPerSecond;
+    private final Counter droppedCounter;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger windowRecords = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+
+    /**
+     * Конструктор журнала аудита.
+     *
+     * @param meterRegistry реестр метрик
+     * @param maxPerSecond максимальное число записей в секунду
+     */
+    public OrderStatusAuditLog(MeterRegistry meterRegistry, int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+        this.droppedCounter = Counter.builder("audit.records.dropped")
+                .description("Количество записей аудита, отброшенных ограничением частоты")
+                .tag("log", "order-status")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Записывает переход статуса заказа.
+     * Повторная установка того же статуса (например, повтор сообщения Kafka) не записывается.
+     *
+     * @param orderId идентификатор заказа
+     * @param previousStatus предыдущий статус заказа
+     * @param newStatus новый статус заказа
+     */
+    public void statusChanged(Long orderId, OrderStatus previousStatus, OrderStatus newStatus) {
+        if (!log.isInfoEnabled() || previousStatus == newStatus) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(orderId, previousStatus, newStatus);
+                }
+            });
+        } else {
+            write(orderId, previousStatus, newStatus);
+        }
+    }
+
+
+    private void write(Long orderId, OrderStatus previousStatus, OrderStatus newStatus) {
+        if (!tryAcquire()) {
+            dropped.incrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+        log.atInfo()
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("from", previousStatus.name())
+                .addKeyValue("to", newStatus.name())
+                .addKeyValue("dropped", dropped.getAndSet(0))
+                .log("Статус заказа изменён");
+    }
+
+
+    /**
+     * Окно в одну секунду: первый поток, заметивший истечение окна, открывает новое.
+     * Под конкурентной нагрузкой ограничение соблюдается приблизительно.
+     */
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            windowRecords.set(0);
+        }
+        return windowRecords.incrementAndGet() <= maxPerSecond;
+    }
+}
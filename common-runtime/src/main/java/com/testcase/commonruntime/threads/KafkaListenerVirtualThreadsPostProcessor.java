@@ -0,0 +1,26 @@
+package com.testcase.commonruntime.threads;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+/**
+ * Переводит потоки всех фабрик Kafka-listeners на виртуальные потоки.
+ * <p>
+ * Фабрики Kafka-listeners в обоих сервисах создаются вручную, поэтому
+ * {@code spring.threads.virtual.enabled} на них не действует: каждой фабрике назначается
+ * исполнитель, создающий виртуальный поток на каждого consumer-а.
+ * </p>
+ */
+public class KafkaListenerVirtualThreadsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(beanName + "-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+        return bean;
+    }
+}
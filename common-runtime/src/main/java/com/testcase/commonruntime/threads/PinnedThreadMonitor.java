@@ -0,0 +1,73 @@
+package com.testcase.commonruntime.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Монитор закрепления виртуальных потоков за платформенными ({@code synchronized}, нативные вызовы).
+ * <p>
+ * Слушает JFR-события {@code jdk.VirtualThreadPinned} и пишет в лог стек закреплённого потока.
+ * Количество закреплений публикуется в метрике {@code jvm.threads.virtual.pinned}.
+ * Используется обоими сервисами в режиме виртуальных потоков.
+ * </p>
+ */
+@Slf4j
+public final class PinnedThreadMonitor implements InitializingBean, DisposableBean {
+
+    private static final int PINNED_STACK_DEPTH = 8;
+
+    private final RecordingStream recordingStream = new RecordingStream();
+    private final Counter pinnedCounter;
+    private final Duration threshold;
+
+
+    /**
+     * Создаёт монитор закрепления виртуальных потоков.
+     *
+     * @param meterRegistry реестр метрик
+     * @param threshold минимальная длительность закрепления, о которой сообщается
+     */
+    public PinnedThreadMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Количество закреплений виртуальных потоков дольше порога")
+                .register(meterRegistry);
+    }
+
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        recordingStream.startAsync();
+        log.info("Мониторинг закрепления виртуальных потоков запущен, порог {} мс", threshold.toMillis());
+    }
+
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        log.warn("Виртуальный поток закреплён на {} мс:\n\t{}", event.getDuration().toMillis(),
+                frames.stream()
+                        .limit(PINNED_STACK_DEPTH)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n\t")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.testcase.commonruntime.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+
+/**
+ * Не создаёт наблюдения запросов к БД вне трассируемой операции.
+ * <p>
+ * Наблюдения JDBC ({@code jdbc.*}) создаются только внутри другого наблюдения, например HTTP-запроса
+ * или обработки записи Kafka. Без этого каждая задача по расписанию, обращающаяся к БД,
+ * начинала бы отдельную трассу.
+ * </p>
+ */
+public class JdbcObservationPredicate implements ObservationPredicate {
+
+    private static final String JDBC_OBSERVATION_PREFIX = "jdbc.";
+
+
+    @Override
+    public boolean test(String name, Observation.Context context) {
+        return !name.startsWith(JDBC_OBSERVATION_PREFIX) || context.getParentObservation() != null;
+    }
+}
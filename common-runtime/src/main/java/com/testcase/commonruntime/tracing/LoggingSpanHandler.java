@@ -0,0 +1,27 @@
+package com.testcase.commonruntime.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Обработчик, записывающий завершённые спаны в лог {@code tracing.spans}: имя, идентификаторы трассы
+ * и спана, длительность и удалённый сервис.
+ * <p>
+ * Позволяет увидеть задержки по участкам пути заказа без Zipkin. Формат записи общий для обоих сервисов,
+ * поэтому спаны одной трассы из логов waiter-service и kitchen-service сопоставляются по {@code trace=}.
+ * </p>
+ */
+@Slf4j(topic = "tracing.spans")
+public class LoggingSpanHandler extends SpanHandler {
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        log.info("{} {} trace={} span={} parent={} {} мкс remote={} error={}",
+                span.kind(), span.name(), context.traceIdString(), context.spanIdString(),
+                context.parentIdString(), span.finishTimestamp() - span.startTimestamp(),
+                span.remoteServiceName(), span.error() == null ? span.tag("error") : span.error().toString());
+        return true;
+    }
+}
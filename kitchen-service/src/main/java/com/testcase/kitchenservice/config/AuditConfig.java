@@ -0,0 +1,29 @@
+package com.testcase.kitchenservice.config;
+
+import com.testcase.commonruntime.audit.OrderStatusAuditLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация журнала аудита переходов статусов заказа.
+ * Журнал общий для сервисов и находится в {@code common-runtime}.
+ */
+@Configuration
+public class AuditConfig {
+
+    /**
+     * Создаёт журнал аудита переходов статусов заказа.
+     *
+     * @param meterRegistry реестр метрик
+     * @param maxPerSecond максимальное число записей в секунду, по умолчанию 200
+     * @return журнал аудита
+     */
+    @Bean
+    public OrderStatusAuditLog orderStatusAuditLog(
+            MeterRegistry meterRegistry,
+            @Value("${kitchen.audit.max-per-second:200}") int maxPerSecond) {
+        return new OrderStatusAuditLog(meterRegistry, maxPerSecond);
+    }
+}
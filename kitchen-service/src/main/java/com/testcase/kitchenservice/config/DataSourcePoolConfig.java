@@ -0,0 +1,60 @@
+package com.testcase.kitchenservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация размера пула соединений Hikari.
+ * <p>
+ * Если размер пула не задан явно в {@code spring.datasource.hikari.maximum-pool-size}, он вычисляется
+ * по числу ядер ({@code ядра * 2 + 1}) и ограничивается долей лимита соединений БД,
+ * приходящейся на один экземпляр сервиса. Остальные параметры пула (таймауты, обнаружение утечек,
+ * кэш подготовленных выражений драйвера) задаются в application.yml.
+ * </p>
+ */
+@Slf4j
+@Configuration
+@NoArgsConstructor
+public class DataSourcePoolConfig {
+
+    private static final int MIN_POOL_SIZE = 2;
+
+
+    /**
+     * Задаёт вычисленный размер пула источнику данных Hikari до его запуска.
+     * Метод статический, чтобы постпроцессор создавался раньше остальных бинов конфигурации
+     * и не делал их непригодными для постобработки.
+     *
+     * @param explicitPoolSize явно заданный размер пула; если задан, вычисление не выполняется
+     * @param dbMaxConnections лимит соединений БД ({@code max_connections}), по умолчанию 100
+     * @param reservedConnections соединения, оставляемые для администрирования и миграций, по умолчанию 10
+     * @param instances количество экземпляров сервиса, делящих лимит БД, по умолчанию 1
+     * @return постпроцессор источника данных
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:#{null}}") Integer explicitPoolSize,
+            @Value("${kitchen.datasource.pool.db-max-connections:100}") int dbMaxConnections,
+            @Value("${kitchen.datasource.pool.reserved-connections:10}") int reservedConnections,
+            @Value("${kitchen.datasource.pool.instances:1}") int instances) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && explicitPoolSize == null) {
+                    int cpuBound = Runtime.getRuntime().availableProcessors() * 2 + 1;
+                    int dbBound = (dbMaxConnections - reservedConnections) / Math.max(1, instances);
+                    int poolSize = Math.max(MIN_POOL_SIZE, Math.min(cpuBound, dbBound));
+                    dataSource.setMaximumPoolSize(poolSize);
+                    log.info("Размер пула соединений {}: {} (по ядрам: {}, по лимиту БД: {})",
+                            dataSource.getPoolName(), poolSize, cpuBound, dbBound);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -3,14 +3,22 @@ package com.testcase.kitchenservice.config;
 import com.testcase.grpc.KitchenValidationServiceGrpc;
 import com.testcase.kitchenservice.grpc.KitchenValidationServiceImpl;
 import io.grpc.Server;
-import io.grpc.ServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Конфигурация для запуска gRPC сервера.
  * <p>
@@ -24,14 +32,35 @@ import org.springframework.context.annotation.Profile;
 public class GrpcServerConfig {
 
     private final Integer grpcPort;
+    private final Long permitKeepAliveTimeMs;
 
     /**
      * Конструктор для инициализации конфигурации gRPC сервера.
      *
-     * @param grpcPort порт, на котором будет слушать gRPC сервер
+     * @param grpcPort              порт, на котором будет слушать gRPC сервер
+     * @param permitKeepAliveTimeMs минимальный допустимый интервал keepalive-пингов клиентов
+     *                              (в мс, по умолчанию 20000)
      */
-    public GrpcServerConfig(@Value("${grpc.server.port}") Integer grpcPort) {
+    public GrpcServerConfig(@Value("${grpc.server.port}") Integer grpcPort,
+                            @Value("${grpc.server.permit-keep-alive-time-ms:20000}") Long permitKeepAliveTimeMs) {
         this.grpcPort = grpcPort;
+        this.permitKeepAliveTimeMs = permitKeepAliveTimeMs;
+    }
+
+    /**
+     * Создаёт исполнитель вызовов gRPC-сервера в режиме виртуальных потоков (профиль virtual):
+     * каждый вызов обрабатывается в отдельном виртуальном потоке.
+     * <p>
+     * Исполнитель закрывается при остановке контекста после gRPC-сервера, который от него зависит,
+     * поэтому начатые вызовы успевают завершиться.
+     * </p>
+     *
+     * @return исполнитель вызовов gRPC-сервера
+     */
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    @Bean(name = "grpcCallExecutor", destroyMethod = "close")
+    public ExecutorService grpcCallExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
     }
 
     /**
@@ -39,23 +68,39 @@ public class GrpcServerConfig {
      * <p>
      * Сервер будет обслуживать сервис {@link KitchenValidationServiceGrpc} на указанном порту.
      * После запуска сервера, добавляется хук для его корректного завершения при завершении приложения.
+     * Сервер разрешает keepalive-пинги от долгоживущих каналов waiter-service,
+     * в том числе при отсутствии активных вызовов.
+     * В режиме виртуальных потоков вызовы обрабатываются исполнителем {@code grpcCallExecutor}
+     * вместо общего пула платформенных потоков gRPC.
+     * Контекст трассировки вызова читается из метаданных gRPC, поэтому спан обработки продолжает трассу
+     * waiter-service.
      * </p>
      *
      * @param kitchenValidationServiceGrpc сервис для обработки запросов на обновление статуса заказа
+     * @param observationRegistry реестр наблюдений, в котором создаются спаны вызовов
+     * @param grpcCallExecutor исполнитель вызовов, доступен только в режиме виртуальных потоков
      * @return экземпляр {@link Server} gRPC сервера
      * @throws Exception если произошла ошибка при запуске сервера
      */
     @ConditionalOnProperty(prefix = "grpc", name = "enabled", havingValue = "true")
     @Bean(destroyMethod = "shutdown")
     public Server grpcServer(
-            KitchenValidationServiceImpl kitchenValidationServiceGrpc)
+            KitchenValidationServiceImpl kitchenValidationServiceGrpc,
+            ObservationRegistry observationRegistry,
+            @Qualifier("grpcCallExecutor") ObjectProvider<ExecutorService> grpcCallExecutor)
             throws Exception {
-        Server server = ServerBuilder.forPort(grpcPort)
+        NettyServerBuilder builder = NettyServerBuilder.forPort(grpcPort)
+                .permitKeepAliveTime(permitKeepAliveTimeMs, TimeUnit.MILLISECONDS)
+                .permitKeepAliveWithoutCalls(true)
                 .addService(kitchenValidationServiceGrpc)
-                .build()
-                .start();
+                .intercept(new ObservationGrpcServerInterceptor(observationRegistry));
+        ExecutorService callExecutor = grpcCallExecutor.getIfAvailable();
+        if (callExecutor != null) {
+            builder.executor(callExecutor);
+        }
+        Server server = builder.build().start();
 
-        log.info("gRPC сервер запущен на порту {}", grpcPort);
+        log.info("gRPC сервер запущен на порту {}, виртуальные потоки: {}", grpcPort, callExecutor != null);
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             log.info("Выключение gRPC сервера...");
@@ -2,8 +2,11 @@
 package com.testcase.kitchenservice.config;
 
 import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.kafka.KafkaPayloadFormat;
+import com.testcase.commondto.kafka.KafkaSerdes;
 import com.testcase.commondto.waiterservice.OrderDTO;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -12,8 +15,11 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,30 +33,58 @@ import java.util.Map;
 public class KafkaConsumerConfig {
 
     private final String bootstrapAddress;
+    private final int maxPollRecords;
+    private final long retryIntervalMs;
+    private final long retryAttempts;
+    private final int orderCreationPartitions;
+    private final int waiterOrderStatusPartitions;
 
 
     /**
      * Конструктор конфигурации Kafka-потребителей.
      *
      * @param bootstrapAddress адрес(а) Kafka-брокеров, полученные из application.yml/properties
+     * @param maxPollRecords максимальный размер пачки заказов за один poll, по умолчанию 500
+     * @param retryIntervalMs пауза между повторами неудачного заказа в миллисекундах, по умолчанию 1000
+     * @param retryAttempts количество повторов неудачного заказа перед его пропуском, по умолчанию 3
+     * @param orderCreationPartitions количество партиций топика создания заказов, задаёт число потребителей
+     * @param waiterOrderStatusPartitions количество партиций топика обновлений статуса от официанта,
+     *                                    задаёт число потребителей
      */
-    public KafkaConsumerConfig(@Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress) {
+    public KafkaConsumerConfig(
+            @Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress,
+            @Value("${spring.kafka.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${spring.kafka.consumer.retry.interval-ms:1000}") long retryIntervalMs,
+            @Value("${spring.kafka.consumer.retry.attempts:3}") long retryAttempts,
+            @Value("${spring.kafka.partitions.order-creation:3}") int orderCreationPartitions,
+            @Value("${spring.kafka.partitions.waiter-order-status-updates:3}") int waiterOrderStatusPartitions) {
         this.bootstrapAddress = bootstrapAddress;
+        this.maxPollRecords = maxPollRecords;
+        this.retryIntervalMs = retryIntervalMs;
+        this.retryAttempts = retryAttempts;
+        this.orderCreationPartitions = orderCreationPartitions;
+        this.waiterOrderStatusPartitions = waiterOrderStatusPartitions;
     }
 
 
     /**
      * Фабрика Kafka-консюмеров для десериализации сообщений типа {@link OrderDTO}.
      * Настроен десериализатор для обработки JSON-сообщений, где значением является {@link OrderDTO}.
+     * Если для топика задан формат {@link KafkaPayloadFormat#PROTOBUF}, сообщения читаются из protobuf.
+     * Сообщение, которое не удалось десериализовать, передаётся в listener как {@code null},
+     * не прерывая обработку остальной пачки.
      *
+     * @param orderCreationFormat формат сообщений топика создания заказов, по умолчанию JSON
      * @return ConsumerFactory для {@link OrderDTO}
      */
     @Bean
-    public ConsumerFactory<String, OrderDTO> consumerFactory() {
+    public ConsumerFactory<String, OrderDTO> consumerFactory(
+            @Value("${spring.kafka.format.order-creation:JSON}") KafkaPayloadFormat orderCreationFormat) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
         Map<String, Object> valueDeserializerProps = new HashMap<>();
         valueDeserializerProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
@@ -58,33 +92,55 @@ public class KafkaConsumerConfig {
         JsonDeserializer<OrderDTO> jsonDeserializer = new JsonDeserializer<>(OrderDTO.class);
         jsonDeserializer.configure(valueDeserializerProps, false);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        Deserializer<OrderDTO> valueDeserializer = KafkaPayloadFormat.PROTOBUF.equals(orderCreationFormat)
+                ? KafkaSerdes.orderDeserializer()
+                : jsonDeserializer;
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(valueDeserializer));
     }
 
 
     /**
      * Фабрика контейнеров Kafka-listeners для обработки сообщений типа {@link OrderDTO}.
      * Используется {@link ConsumerFactory} для десериализации сообщений.
+     * <p>
+     * Listener получает всю пачку сообщений одного poll, смещения фиксируются один раз после её обработки.
+     * Если listener указал неудачную запись через
+     * {@link org.springframework.kafka.listener.BatchListenerFailedException}, фиксируются смещения
+     * записей до неё, а неудачная запись повторяется и после исчерпания повторов пропускается.
+     * Число потребителей равно количеству партиций топика: каждая партиция обрабатывается одним потоком,
+     * поэтому сообщения одного заказа обрабатываются по порядку.
+     * </p>
      *
+     * @param consumerFactory фабрика консюмеров {@link OrderDTO}
      * @return {@link ConcurrentKafkaListenerContainerFactory} для {@link OrderDTO}
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, OrderDTO> createOrderKafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, OrderDTO> createOrderKafkaListenerContainerFactory(
+            ConsumerFactory<String, OrderDTO> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, OrderDTO> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(orderCreationPartitions);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryIntervalMs, retryAttempts)));
         return factory;
     }
 
 
     /**
      * Фабрика Kafka-консюмеров для десериализации сообщений типа {@link UpdateOrderStatusDTO}.
-     * Настроен десериализатор для обработки JSON-сообщений, где значением является {@link UpdateOrderStatusDTO}.
+     * Настроен десериализатор для обработки JSON-сообщений, где значением является {@link UpdateOrderStatusDTO},
+     * или protobuf-сообщений, если для топика задан формат {@link KafkaPayloadFormat#PROTOBUF}.
      *
+     * @param waiterOrderStatusFormat формат сообщений топика обновлений статуса от официанта, по умолчанию JSON
      * @return ConsumerFactory для {@link UpdateOrderStatusDTO}
      */
     @Bean
-    public ConsumerFactory<String, UpdateOrderStatusDTO> updateOrderStatusConsumerFactory() {
+    public ConsumerFactory<String, UpdateOrderStatusDTO> updateOrderStatusConsumerFactory(
+            @Value("${spring.kafka.format.waiter-order-status-updates:JSON}")
+            KafkaPayloadFormat waiterOrderStatusFormat) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
@@ -96,22 +152,32 @@ public class KafkaConsumerConfig {
         JsonDeserializer<UpdateOrderStatusDTO> jsonDeserializer = new JsonDeserializer<>(UpdateOrderStatusDTO.class);
         jsonDeserializer.configure(valueDeserializerProps, false);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        Deserializer<UpdateOrderStatusDTO> valueDeserializer =
+                KafkaPayloadFormat.PROTOBUF.equals(waiterOrderStatusFormat)
+                        ? KafkaSerdes.updateOrderStatusDeserializer()
+                        : jsonDeserializer;
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
     }
 
 
     /**
      * Фабрика контейнеров Kafka-listeners для обработки сообщений типа {@link UpdateOrderStatusDTO}.
      * Используется {@link ConsumerFactory} для десериализации сообщений.
+     * Число потребителей равно количеству партиций топика.
+     * Время обработки сообщений публикуется в метрике {@code spring.kafka.listener}.
      *
+     * @param updateOrderStatusConsumerFactory фабрика консюмеров {@link UpdateOrderStatusDTO}
      * @return {@link ConcurrentKafkaListenerContainerFactory} для {@link UpdateOrderStatusDTO}
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, UpdateOrderStatusDTO>
-    updateOrderStatusKafkaListenerContainerFactory() {
+    updateOrderStatusKafkaListenerContainerFactory(
+            ConsumerFactory<String, UpdateOrderStatusDTO> updateOrderStatusConsumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, UpdateOrderStatusDTO> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(updateOrderStatusConsumerFactory());
+        factory.setConsumerFactory(updateOrderStatusConsumerFactory);
+        factory.setConcurrency(waiterOrderStatusPartitions);
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
 }
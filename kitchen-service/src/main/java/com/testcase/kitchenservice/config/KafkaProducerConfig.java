@@ -1,7 +1,10 @@
 package com.testcase.kitchenservice.config;
 
 import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.kafka.KafkaPayloadFormat;
+import com.testcase.commondto.kafka.KafkaSerdes;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -17,20 +20,27 @@ import java.util.Map;
 /**
  * Конфигурация Kafka-продюсера для отправки сообщений типа {@link UpdateOrderStatusDTO}.
  * Использует Json-сериализацию значений и строковый ключ.
+ * Если для топика задан формат {@link KafkaPayloadFormat#PROTOBUF}, значения сериализуются в protobuf.
  */
 @Configuration
 public class KafkaProducerConfig {
 
     private final String bootstrapAddress;
+    private final KafkaPayloadFormat kitchenOrderStatusFormat;
 
 
     /**
      * Конструктор конфигурации Kafka-продюсера.
      *
      * @param bootstrapAddress адрес(а) Kafka-брокеров, полученные из application.yml/properties
+     * @param kitchenOrderStatusFormat формат сообщений топика обновлений статуса от кухни, по умолчанию JSON
      */
-    public KafkaProducerConfig(@Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress) {
+    public KafkaProducerConfig(
+            @Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress,
+            @Value("${spring.kafka.format.kitchen-order-status-updates:JSON}")
+            KafkaPayloadFormat kitchenOrderStatusFormat) {
         this.bootstrapAddress = bootstrapAddress;
+        this.kitchenOrderStatusFormat = kitchenOrderStatusFormat;
     }
 
 
@@ -51,18 +61,25 @@ public class KafkaProducerConfig {
                 StringSerializer.class);
         configProps.put(
                 ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        Serializer<UpdateOrderStatusDTO> valueSerializer =
+                KafkaPayloadFormat.PROTOBUF.equals(kitchenOrderStatusFormat)
+                        ? KafkaSerdes.updateOrderStatusSerializer()
+                        : new JsonSerializer<>();
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), valueSerializer);
     }
 
 
     /**
      * Бин {@link KafkaTemplate}, используемый для отправки сообщений Kafka с ключом {@link String}
      * и значением {@link UpdateOrderStatusDTO}.
+     * Время отправки сообщений публикуется в метрике {@code spring.kafka.template}.
      *
      * @return настроенный KafkaTemplate
      */
     @Bean
     public KafkaTemplate<String, UpdateOrderStatusDTO> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, UpdateOrderStatusDTO> kafkaTemplate = new KafkaTemplate<>(producerFactory());
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
     }
 }
@@ -1,6 +1,7 @@
 package com.testcase.kitchenservice.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -9,20 +10,42 @@ import org.springframework.kafka.config.TopicBuilder;
  * Конфигурационный класс Kafka, создающий необходимые топики для взаимодействия между микросервисами.
  * Используется в waiter-service и kitchen-service для создания заказов,
  * получения обновлений от кухни и отправки статусов обратно.
+ * <p>
+ * Сообщения отправляются с ключом, равным ID заказа, поэтому обновления одного заказа
+ * попадают в одну партицию и обрабатываются официантом по порядку.
+ * </p>
  */
 @Configuration
 public class KafkaTopicConfig {
 
+    private final String kitchenOrderStatusTopic;
+    private final int kitchenOrderStatusPartitions;
+
+
+    /**
+     * Конструктор конфигурации топиков.
+     *
+     * @param kitchenOrderStatusTopic имя топика обновлений статуса заказов от кухни
+     * @param kitchenOrderStatusPartitions количество партиций топика обновлений статуса, по умолчанию 3
+     */
+    public KafkaTopicConfig(
+            @Value("${spring.kafka.producer.topic.kitchen-order-status-updates}") String kitchenOrderStatusTopic,
+            @Value("${spring.kafka.partitions.kitchen-order-status-updates:3}") int kitchenOrderStatusPartitions) {
+        this.kitchenOrderStatusTopic = kitchenOrderStatusTopic;
+        this.kitchenOrderStatusPartitions = kitchenOrderStatusPartitions;
+    }
+
+
     /**
      * Топик для получения в waiter-service обновлений статусов заказов от кухни.
      * Используется сервисом кухни для отправки обновлённых статусов заказов.
      *
-     * @return новый Kafka-топик с именем "kitchen-order-status-updates-topic"
+     * @return новый Kafka-топик, по умолчанию "kitchen-order-status-updates-topic"
      */
     @Bean
     public NewTopic kitchenOrderStatusUpdatesTopic() {
-        return TopicBuilder.name("kitchen-order-status-updates-topic")
-                .partitions(1)
+        return TopicBuilder.name(kitchenOrderStatusTopic)
+                .partitions(kitchenOrderStatusPartitions)
                 .build();
     }
 }
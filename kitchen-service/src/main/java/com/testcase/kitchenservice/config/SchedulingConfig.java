@@ -0,0 +1,14 @@
+package com.testcase.kitchenservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Конфигурация фоновых задач сервиса кухни.
+ * Включает выполнение методов, помеченных {@link org.springframework.scheduling.annotation.Scheduled},
+ * например периодическую запись и сверку остатков блюд.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
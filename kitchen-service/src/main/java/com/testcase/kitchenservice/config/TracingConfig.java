@@ -0,0 +1,52 @@
+package com.testcase.kitchenservice.config;
+
+import brave.handler.SpanHandler;
+import com.testcase.commonruntime.tracing.JdbcObservationPredicate;
+import com.testcase.commonruntime.tracing.LoggingSpanHandler;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация распределённой трассировки.
+ * <p>
+ * Контекст трассировки читается из заголовков HTTP, метаданных gRPC и заголовков записей Kafka
+ * и передаётся дальше в записях обновления статуса, поэтому обработка заказа на кухне продолжает трассу
+ * waiter-service. Запросы к БД (MyBatis) трассируются на уровне JDBC.
+ * </p>
+ * <p>
+ * Экспорт спанов переключается свойствами: {@code management.zipkin.tracing.export.enabled} — отправка в Zipkin,
+ * {@code kitchen.tracing.log-spans} — запись завершённых спанов в лог без внешних сервисов.
+ * Все бины {@link SpanHandler} получают завершённые спаны, поэтому в тестах можно зарегистрировать
+ * обработчик, накапливающий спаны в памяти. Предикат и обработчик общие для сервисов и находятся
+ * в {@code common-runtime}.
+ * </p>
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Не создаёт наблюдения запросов к БД вне трассируемой операции.
+     * Без этого каждый сброс журнала остатков и очистка резервов по расписанию начинали бы отдельную трассу.
+     *
+     * @return предикат наблюдений JDBC
+     */
+    @Bean
+    public ObservationPredicate jdbcWithoutParentObservationPredicate() {
+        return new JdbcObservationPredicate();
+    }
+
+
+    /**
+     * Записывает завершённые спаны в лог {@code tracing.spans}: имя, идентификаторы трассы и спана,
+     * длительность и удалённый сервис. Позволяет увидеть задержки по участкам пути заказа без Zipkin.
+     *
+     * @return обработчик завершённых спанов
+     */
+    @Bean
+    @ConditionalOnProperty(name = "kitchen.tracing.log-spans", havingValue = "true")
+    public SpanHandler loggingSpanHandler() {
+        return new LoggingSpanHandler();
+    }
+}
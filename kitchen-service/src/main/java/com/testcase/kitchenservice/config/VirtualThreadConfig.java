@@ -0,0 +1,53 @@
+package com.testcase.kitchenservice.config;
+
+import com.testcase.commonruntime.threads.KafkaListenerVirtualThreadsPostProcessor;
+import com.testcase.commonruntime.threads.PinnedThreadMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация режима виртуальных потоков (профиль {@code virtual}).
+ * <p>
+ * Запросы Tomcat и задачи {@code @Scheduled} переходят на виртуальные потоки через
+ * {@code spring.threads.virtual.enabled}, gRPC-сервер валидации — в {@link GrpcServerConfig}.
+ * Фабрики Kafka-listeners создаются вручную, поэтому их потоки переводятся на виртуальные здесь.
+ * Дополнительно через JFR отслеживается закрепление виртуальных потоков
+ * за платформенными ({@code synchronized}, нативные вызовы). Оба компонента общие для сервисов
+ * и находятся в {@code common-runtime}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Переводит потоки всех фабрик Kafka-listeners на виртуальные потоки.
+     *
+     * @return постпроцессор фабрик Kafka-listeners
+     */
+    @Bean
+    public static BeanPostProcessor kafkaListenerVirtualThreadsPostProcessor() {
+        return new KafkaListenerVirtualThreadsPostProcessor();
+    }
+
+
+    /**
+     * Создаёт монитор закрепления виртуальных потоков.
+     *
+     * @param meterRegistry реестр метрик
+     * @param pinnedThresholdMs минимальная длительность закрепления, о которой сообщается, по умолчанию 20 мс
+     * @return монитор закрепления виртуальных потоков
+     */
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${kitchen.virtual-threads.pinned-threshold-ms:20}") long pinnedThresholdMs) {
+        return new PinnedThreadMonitor(meterRegistry, Duration.ofMillis(pinnedThresholdMs));
+    }
+}
@@ -2,7 +2,9 @@ package com.testcase.kitchenservice.controller.kitchenorder;
 
 import com.testcase.commondto.ErrorMessageDTO;
 import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.kitchenservice.exception.InsufficientDishesException;
 import com.testcase.kitchenservice.service.impl.KitchenOrderServiceImpl;
+import com.testcase.kitchenservice.validation.OrderValidationResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,6 +13,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -58,6 +62,38 @@ public class InternalKitchenOrderController {
     })
     @PostMapping("/validate")
     public Boolean validateOrder(@RequestBody OrderValidationDTO validationDTO) {
-        return kitchenOrderServiceImpl.validateOrder(validationDTO);
+        OrderValidationResult result = kitchenOrderServiceImpl.validateOrder(validationDTO);
+        if (!result.isValid()) {
+            throw new InsufficientDishesException(result.getShortages());
+        }
+        return true;
+    }
+
+
+    @Operation(
+            summary = "Снятие удержания блюд",
+            description = "Снимает удержание блюд, сделанное успешной валидацией заказа, если заказ "
+                    + "не удалось отправить на кухню. Возвращает true, если удержание существовало и снято."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Запрос на снятие удержания обработан",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Boolean.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessageDTO.class))
+            )
+    })
+    @DeleteMapping("/{orderId}/reservation")
+    public Boolean releaseOrderReservation(@PathVariable Long orderId) {
+        return kitchenOrderServiceImpl.releaseOrderReservation(orderId);
     }
 }
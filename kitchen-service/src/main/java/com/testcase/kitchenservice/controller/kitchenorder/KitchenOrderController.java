@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -84,8 +85,10 @@ public class KitchenOrderController {
 
 
     @Operation(summary = "Поиск заказов по критериям",
-            description = "Возвращает список заказов на кухне, соответствующих переданным критериям поиска. "
-                    + "Можно передать один или несколько параметров, либо пустой объект для получения всех заказов.")
+            description = "Возвращает страницу заказов на кухне, соответствующих переданным критериям поиска, "
+                    + "в порядке даты создания. Можно передать один или несколько параметров, "
+                    + "либо пустой объект для получения всех заказов. "
+                    + "Параметры: page (номер страницы), size (размер страницы, не более 500).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список заказов успешно получен",
                     content = @Content(mediaType = "application/json",
@@ -94,8 +97,10 @@ public class KitchenOrderController {
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @PostMapping("/orders/search")
-    public List<KitchenOrderDTO> getOrdersByCriteria(@RequestBody CriteriaDTO criteriaDTO) {
-        return kitchenOrderServiceImpl.getKitchenOrdersByCriteria(criteriaDTO);
+    public List<KitchenOrderDTO> getOrdersByCriteria(@RequestBody CriteriaDTO criteriaDTO,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "50") int size) {
+        return kitchenOrderServiceImpl.getKitchenOrdersByCriteria(criteriaDTO, page, size);
     }
 
 
@@ -0,0 +1,52 @@
+package com.testcase.kitchenservice.exception;
+
+import com.testcase.commondto.validation.DishShortageMessages;
+import com.testcase.kitchenservice.validation.DishShortage;
+
+import java.util.List;
+
+/**
+ * Исключение, выбрасываемое при нехватке блюд для заказа.
+ * <p>
+ * Текст сообщения не хранится, а формируется из списка нехваток при обращении к {@link #getMessage()}.
+ * Нехватка блюд — ожидаемый исход, поэтому стек вызовов не заполняется.
+ * Исключение используется только на границе REST API, сервис возвращает нехватки в результате валидации.
+ * </p>
+ */
+public class InsufficientDishesException extends IllegalArgumentException {
+
+    private final transient List<DishShortage> shortages;
+
+    /**
+     * Конструктор со списком нехваток блюд.
+     *
+     * @param shortages нехватки блюд
+     */
+    public InsufficientDishesException(List<DishShortage> shortages) {
+        this.shortages = List.copyOf(shortages);
+    }
+
+
+    /**
+     * Возвращает нехватки блюд, из-за которых заказ невалиден.
+     *
+     * @return список нехваток блюд
+     */
+    public List<DishShortage> getShortages() {
+        return shortages;
+    }
+
+
+    @Override
+    public String getMessage() {
+        return shortages.stream()
+                .map(DishShortage::describe)
+                .collect(DishShortageMessages.joining());
+    }
+
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,24 +1,50 @@
 package com.testcase.kitchenservice.grpc;
 
+import com.google.protobuf.Empty;
 import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.grpc.GrpcDishShortageDTOProto;
 import com.testcase.grpc.GrpcOrderValidationDTOProto;
 import com.testcase.grpc.KitchenValidationServiceGrpc;
+import com.testcase.grpc.ReleaseOrderRequest;
 import com.testcase.grpc.ValidationResponse;
 import com.testcase.kitchenservice.mapstruct.mapper.GrpcOrderValidationFromGrpcMapper;
 import com.testcase.kitchenservice.service.KitchenOrderService;
+import com.testcase.kitchenservice.validation.DishShortage;
+import com.testcase.kitchenservice.validation.OrderValidationResult;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Реализация gRPC-сервиса для валидации заказа.
  * <p>
  * Данный класс обрабатывает gRPC-запросы на валидацию заказа.
  * В методе {@code validateOrder} происходит преобразование входящего gRPC объекта
  * в внутренний формат DTO, а затем вызывается сервис бизнес-логики для валидации заказа.
+ * Нехватка блюд возвращается в ответе полями {@code valid = false} и {@code shortages},
+ * статусы ошибок gRPC используются только для сбоев.
+ * </p>
+ * <p>
+ * Метод {@code validateOrders} принимает заказы двунаправленным потоком и передаёт их в {@link ValidationBatcher},
+ * который валидирует заказы всех потоков пакетами. Ответы возвращаются по мере готовности пакетов
+ * и сопоставляются с запросами по {@code order_id}. Сбой валидации отдельного заказа (переполнение очереди,
+ * ошибка пакета) возвращается в ответе на этот заказ полями {@code status_code} и {@code status_description},
+ * поток при этом остаётся открытым. Сообщение с признаком {@code release} снимает удержание
+ * блюд заказа, если клиент не дождался ответа; ответ на него не отправляется.
+ * </p>
+ * <p>
+ * Метод {@code releaseOrder} снимает удержание блюд по запросу клиента, который получил успешную валидацию,
+ * но не смог отправить заказ на кухню.
  * </p>
  *
  * kitchenValidationService - Сервис бизнес-логики для валидации заказа
@@ -32,6 +58,7 @@ public class KitchenValidationServiceImpl extends KitchenValidationServiceGrpc.K
 
     private final KitchenOrderService kitchenOrderService;
     private final GrpcOrderValidationFromGrpcMapper mapper;
+    private final ValidationBatcher validationBatcher;
 
     /**
      * Обрабатывает gRPC-вызов на валидацию заказа.
@@ -48,12 +75,8 @@ public class KitchenValidationServiceImpl extends KitchenValidationServiceGrpc.K
                               StreamObserver<ValidationResponse> responseObserver) {
         try {
         OrderValidationDTO validationDTO = mapper.fromGrpc(request);
-        log.info("Валидация через gRPC:");
-        boolean isValid = kitchenOrderService.validateOrder(validationDTO);
-        ValidationResponse response = ValidationResponse.newBuilder()
-                .setValid(isValid)
-                .build();
-        responseObserver.onNext(response);
+        log.debug("Валидация заказа с id: {} через gRPC", validationDTO.getOrderId());
+        responseObserver.onNext(toResponse(kitchenOrderService.validateOrder(validationDTO)));
         responseObserver.onCompleted();
         } catch (IllegalArgumentException e) {
         log.error("Ошибка валидации через gRPC: {}", e.getMessage(), e);
@@ -72,4 +95,192 @@ public class KitchenValidationServiceImpl extends KitchenValidationServiceGrpc.K
         );
         }
     }
+
+
+    /**
+     * Снимает удержание блюд, сделанное успешной валидацией заказа.
+     *
+     * @param request          запрос с ID заказа
+     * @param responseObserver объект для передачи ответа клиенту
+     */
+    @Override
+    public void releaseOrder(ReleaseOrderRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            log.debug("Снятие удержания блюд под заказ с id: {} через gRPC", request.getOrderId());
+            kitchenOrderService.releaseOrderReservation(request.getOrderId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            log.error("Ошибка снятия удержания блюд под заказ с id: {} через gRPC", request.getOrderId(), e);
+            responseObserver.onError(Status.UNKNOWN
+                    .withDescription("Внутренняя ошибка сервера")
+                    .withCause(e)
+                    .asRuntimeException());
+        }
+    }
+
+
+    /**
+     * Открывает двунаправленный поток валидации заказов.
+     *
+     * @param responseObserver поток ответов клиенту
+     * @return поток запросов от клиента
+     */
+    @Override
+    public StreamObserver<GrpcOrderValidationDTOProto> validateOrders(
+            StreamObserver<ValidationResponse> responseObserver) {
+        return new ValidationStream((ServerCallStreamObserver<ValidationResponse>) responseObserver);
+    }
+
+
+    private static ValidationResponse toResponse(OrderValidationResult result) {
+        ValidationResponse.Builder response = ValidationResponse.newBuilder()
+                .setOrderId(result.getOrderId())
+                .setValid(result.isValid());
+        result.getShortages().forEach(shortage -> response.addShortages(toGrpc(shortage)));
+        return response.build();
+    }
+
+
+    private static GrpcDishShortageDTOProto toGrpc(DishShortage shortage) {
+        GrpcDishShortageDTOProto.Builder proto = GrpcDishShortageDTOProto.newBuilder()
+                .setDishId(shortage.getDishId())
+                .setFound(shortage.isFound())
+                .setAvailable(shortage.getAvailable())
+                .setRequired(shortage.getRequired());
+        if (shortage.getShortName() != null) {
+            proto.setShortName(shortage.getShortName());
+        }
+        return proto.build();
+    }
+
+
+    private static ValidationResponse toFailureResponse(long orderId, Throwable error) {
+        Status status = toStatus(error);
+        ValidationResponse.Builder response = ValidationResponse.newBuilder()
+                .setOrderId(orderId)
+                .setValid(false)
+                .setStatusCode(status.getCode().value());
+        if (status.getDescription() != null) {
+            response.setStatusDescription(status.getDescription());
+        }
+        return response.build();
+    }
+
+
+    private static Status toStatus(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(cause.getMessage());
+        } else if (cause instanceof CancellationException) {
+            return Status.UNAVAILABLE.withDescription(cause.getMessage());
+        }
+        return Status.UNKNOWN.withDescription("Внутренняя ошибка сервера");
+    }
+
+
+    /**
+     * Состояние одного потока валидации.
+     * <p>
+     * Ответы готовятся в потоке {@link ValidationBatcher}, а события запроса и готовности к отправке приходят
+     * из потоков gRPC, поэтому обращения к {@code responses} синхронизированы. Ответы отправляются, только пока
+     * поток готов их принять ({@link ServerCallStreamObserver#isReady()}), остальные ждут в очереди
+     * до следующего вызова обработчика готовности. Очередь ограничена числом заказов, отправленных клиентом.
+     * Поток ответов закрывается, только когда клиент завершил отправку и отправлены ответы на все его заказы.
+     * </p>
+     */
+    private final class ValidationStream implements StreamObserver<GrpcOrderValidationDTOProto> {
+
+        private final ServerCallStreamObserver<ValidationResponse> responses;
+        private final Queue<ValidationResponse> ready = new ArrayDeque<>();
+        private int pending;
+        private boolean halfClosed;
+        private boolean closed;
+
+
+        private ValidationStream(ServerCallStreamObserver<ValidationResponse> responses) {
+            this.responses = responses;
+            responses.setOnCancelHandler(this::cancel);
+            responses.setOnReadyHandler(this::drain);
+        }
+
+
+        @Override
+        public void onNext(GrpcOrderValidationDTOProto request) {
+            if (request.getRelease()) {
+                release(request.getOrderId());
+                return;
+            }
+            OrderValidationDTO validationDTO = mapper.fromGrpc(request);
+            long orderId = request.getOrderId();
+            synchronized (this) {
+                pending++;
+            }
+            validationBatcher.submit(validationDTO)
+                    .whenComplete((result, error) -> onResult(orderId, result, error));
+        }
+
+
+        @Override
+        public void onError(Throwable t) {
+            log.warn("Поток валидации через gRPC прерван клиентом: {}", t.getMessage());
+            cancel();
+        }
+
+
+        @Override
+        public synchronized void onCompleted() {
+            halfClosed = true;
+            completeIfDone();
+        }
+
+
+        private void release(long orderId) {
+            log.debug("Снятие удержания блюд под заказ с id: {} по запросу клиента потока валидации", orderId);
+            validationBatcher.submitRelease(orderId).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.warn("Удержание блюд под заказ с id: {} не снято, оно истечёт по таймауту: {}",
+                            orderId, error.getMessage());
+                }
+            });
+        }
+
+
+        private synchronized void cancel() {
+            closed = true;
+            ready.clear();
+        }
+
+
+        private synchronized void onResult(long orderId, OrderValidationResult result, Throwable error) {
+            pending--;
+            if (closed) {
+                return;
+            }
+            if (error != null) {
+                log.warn("Заказ с id: {} не валидирован в потоке gRPC, сбой возвращён клиенту: {}",
+                        orderId, error.getMessage());
+                ready.add(toFailureResponse(orderId, error));
+            } else {
+                ready.add(toResponse(result));
+            }
+            drain();
+        }
+
+
+        private synchronized void drain() {
+            while (!closed && !ready.isEmpty() && responses.isReady()) {
+                responses.onNext(ready.poll());
+            }
+            completeIfDone();
+        }
+
+
+        private void completeIfDone() {
+            if (halfClosed && pending == 0 && ready.isEmpty() && !closed) {
+                closed = true;
+                responses.onCompleted();
+            }
+        }
+    }
 }
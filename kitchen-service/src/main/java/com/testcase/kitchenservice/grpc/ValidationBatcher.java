@@ -0,0 +1,230 @@
+package com.testcase.kitchenservice.grpc;
+
+import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.kitchenservice.service.KitchenOrderService;
+import com.testcase.kitchenservice.validation.OrderValidationResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накопитель запросов потоковой валидации заказов.
+ * <p>
+ * Запросы всех gRPC-потоков ставятся в общую очередь, из которой единственный поток-диспетчер
+ * забирает пакет размером до {@code maxBatchSize} заказов, ожидая следующие заказы не дольше {@code maxDelayMs}
+ * после первого. Пакет валидируется одним вызовом {@link KitchenOrderService#validateOrders(List)},
+ * т.е. одним запросом блюд. Пока идёт валидация пакета, очередь наполняется, поэтому под нагрузкой
+ * пакеты растут сами, а при единичных заказах задержка ограничена {@code maxDelayMs}.
+ * </p>
+ * <p>
+ * Снятие удержания блюд ставится в ту же очередь, поэтому выполняется после валидации заказа,
+ * отправленной раньше него, и до повторной валидации того же заказа, отправленной позже.
+ * </p>
+ */
+@Slf4j
+@Component
+@Profile("grpc")
+public class ValidationBatcher implements InitializingBean, DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final KitchenOrderService kitchenOrderService;
+    private final BlockingQueue<PendingValidation> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final DistributionSummary batchSizeSummary;
+    private final Thread dispatcher;
+
+
+    /**
+     * Конструктор накопителя.
+     *
+     * @param kitchenOrderService сервис валидации заказов
+     * @param meterRegistry       реестр метрик
+     * @param maxBatchSize        максимальный размер пакета (по умолчанию 64)
+     * @param maxDelayMs          максимальное ожидание добора пакета после первого заказа (в мс, по умолчанию 5)
+     * @param queueCapacity       вместимость очереди ожидающих заказов (по умолчанию 10000)
+     */
+    public ValidationBatcher(KitchenOrderService kitchenOrderService,
+                             MeterRegistry meterRegistry,
+                             @Value("${grpc.server.validation-batch.max-size:64}") int maxBatchSize,
+                             @Value("${grpc.server.validation-batch.max-delay-ms:5}") long maxDelayMs,
+                             @Value("${grpc.server.validation-batch.queue-capacity:10000}") int queueCapacity) {
+        this.kitchenOrderService = kitchenOrderService;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.batchSizeSummary = DistributionSummary.builder("grpc.server.validation.batch.size")
+                .description("Количество заказов в пакете потоковой валидации")
+                .register(meterRegistry);
+        this.dispatcher = Thread.ofPlatform().name("validation-batcher").daemon().unstarted(this::dispatch);
+    }
+
+
+    /**
+     * Ставит заказ в очередь на валидацию.
+     *
+     * @param validationDTO DTO заказа
+     * @return результат валидации; завершается исключением {@link RejectedExecutionException},
+     *         если очередь заполнена, или исключением валидации всего пакета
+     */
+    public CompletableFuture<OrderValidationResult> submit(OrderValidationDTO validationDTO) {
+        return enqueue(new PendingValidation(validationDTO, false));
+    }
+
+
+    /**
+     * Ставит в очередь снятие удержания блюд, сделанного валидацией заказа.
+     *
+     * @param orderId ID заказа
+     * @return future, завершающееся после снятия удержания; завершается исключением
+     *         {@link RejectedExecutionException}, если очередь заполнена
+     */
+    public CompletableFuture<OrderValidationResult> submitRelease(Long orderId) {
+        return enqueue(new PendingValidation(new OrderValidationDTO(orderId, Set.of()), true));
+    }
+
+
+    @Override
+    public void afterPropertiesSet() {
+        dispatcher.start();
+        log.info("Накопитель валидации заказов запущен, размер пакета: {}, ожидание: {} мс",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+
+    @Override
+    public void destroy() throws InterruptedException {
+        dispatcher.interrupt();
+        dispatcher.join(SHUTDOWN_TIMEOUT_MS);
+        List<PendingValidation> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(pending -> pending.result.completeExceptionally(
+                new CancellationException("Сервис валидации остановлен")));
+    }
+
+
+    private CompletableFuture<OrderValidationResult> enqueue(PendingValidation pending) {
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Очередь валидации заказов переполнена"));
+        }
+        return pending.result;
+    }
+
+
+    private void dispatch() {
+        List<PendingValidation> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                collectBatch(batch);
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batch.forEach(pending -> pending.result.completeExceptionally(
+                new CancellationException("Сервис валидации остановлен")));
+    }
+
+
+    /**
+     * Дожидается первого заказа и добирает пакет, пока он не заполнен и не истекло ожидание.
+     */
+    private void collectBatch(List<PendingValidation> batch) throws InterruptedException {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            PendingValidation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+
+    /**
+     * Валидирует заказы пакета, снимая удержания в том месте очереди, где они были запрошены.
+     */
+    private void process(List<PendingValidation> batch) {
+        batchSizeSummary.record(batch.size());
+        int from = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            PendingValidation pending = batch.get(i);
+            if (pending.release) {
+                validate(batch.subList(from, i));
+                release(pending);
+                from = i + 1;
+            }
+        }
+        validate(batch.subList(from, batch.size()));
+    }
+
+
+    private void validate(List<PendingValidation> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<OrderValidationDTO> validationDTOs = new ArrayList<>(batch.size());
+        batch.forEach(pending -> validationDTOs.add(pending.request));
+        try {
+            List<OrderValidationResult> results = kitchenOrderService.validateOrders(validationDTOs);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Ошибка валидации пакета из {} заказов", batch.size(), e);
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+
+    private void release(PendingValidation pending) {
+        try {
+            kitchenOrderService.releaseOrderReservation(pending.request.getOrderId());
+            pending.result.complete(null);
+        } catch (RuntimeException e) {
+            log.error("Ошибка снятия удержания блюд под заказ с id: {}", pending.request.getOrderId(), e);
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+
+    /**
+     * Заказ, ожидающий валидации или снятия удержания, и его будущий результат.
+     */
+    private static final class PendingValidation {
+
+        private final OrderValidationDTO request;
+        private final boolean release;
+        private final CompletableFuture<OrderValidationResult> result = new CompletableFuture<>();
+
+
+        private PendingValidation(OrderValidationDTO request, boolean release) {
+            this.request = request;
+            this.release = release;
+        }
+    }
+}
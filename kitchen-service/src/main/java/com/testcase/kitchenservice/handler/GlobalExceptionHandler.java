@@ -34,6 +34,20 @@ public class GlobalExceptionHandler {
                 .body(new ErrorMessageDTO(ex.getMessage()));
     }
 
+    /**
+     * Обрабатывает исключение {@link IllegalArgumentException}, возникающее при некорректных параметрах запроса.
+     *
+     * @param ex исключение
+     * @return ответ с кодом 400 Bad Request и сообщением об ошибке
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorMessageDTO> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.error("stack trace: ", ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessageDTO(ex.getMessage()));
+    }
+
     /**
      * Обрабатывает исключения {@link DishNotFoundException} и {@link KitchenOrderNotFoundException},
      * возникающие при отсутствии блюда или заказа.
@@ -0,0 +1,95 @@
+package com.testcase.kitchenservice.kafka;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Трассировка пакетных Kafka-listeners.
+ * <p>
+ * Наблюдение Spring Kafka не поддерживает пакетные listeners, поэтому контекст трассировки из заголовков
+ * записей иначе терялся бы. Для каждой записи пачки открывается спан {@code <топик> receive},
+ * продолжающий трассу продюсера; спаны охватывают обработку всей пачки. Если listener указал неудачную
+ * запись через {@link BatchListenerFailedException}, ошибка отмечается только в её спане.
+ * </p>
+ * <p>
+ * Если трассировка отключена, используется {@link Tracer#NOOP}.
+ * </p>
+ */
+@Component
+public class BatchRecordTracing {
+
+    private static final Propagator.Getter<Headers> HEADERS_GETTER = (headers, key) -> {
+        Header header = headers.lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    };
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+
+    /**
+     * Конструктор трассировки пакетных listeners.
+     *
+     * @param tracerProvider трассировщик, если трассировка включена
+     * @param propagatorProvider формат передачи контекста трассировки, если трассировка включена
+     */
+    public BatchRecordTracing(ObjectProvider<Tracer> tracerProvider,
+                              ObjectProvider<Propagator> propagatorProvider) {
+        this.tracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagatorProvider.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+
+    /**
+     * Обрабатывает пачку записей, открыв для каждой записи спан получения.
+     *
+     * @param records записи пачки
+     * @param handler обработчик пачки
+     * @param <V> тип значения записей
+     */
+    public <V> void handleInSpans(List<ConsumerRecord<String, V>> records,
+                                  Consumer<List<ConsumerRecord<String, V>>> handler) {
+        List<Span> spans = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, V> consumerRecord : records) {
+            spans.add(startReceiveSpan(consumerRecord));
+        }
+        try {
+            handler.accept(records);
+        } catch (BatchListenerFailedException e) {
+            if (e.getIndex() >= 0 && e.getIndex() < spans.size()) {
+                spans.get(e.getIndex()).error(e);
+            } else {
+                spans.forEach(span -> span.error(e));
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            spans.forEach(span -> span.error(e));
+            throw e;
+        } finally {
+            spans.forEach(Span::end);
+        }
+    }
+
+
+    private Span startReceiveSpan(ConsumerRecord<String, ?> consumerRecord) {
+        return propagator.extract(consumerRecord.headers(), HEADERS_GETTER)
+                .kind(Span.Kind.CONSUMER)
+                .name(consumerRecord.topic() + " receive")
+                .remoteServiceName("kafka")
+                .tag("messaging.kafka.partition", String.valueOf(consumerRecord.partition()))
+                .tag("messaging.kafka.offset", String.valueOf(consumerRecord.offset()))
+                .start();
+    }
+}
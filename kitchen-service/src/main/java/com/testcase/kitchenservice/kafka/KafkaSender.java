@@ -20,10 +20,10 @@ public class KafkaSender {
 
 
     public void sendOrderStatusUpdate(UpdateOrderStatusDTO statusDTO) {
-        log.info("Kafka: Отправка обновленного статуса заказа с id: {} в topic: {}",
+        log.debug("Kafka: Отправка обновленного статуса заказа с id: {} в topic: {}",
                 statusDTO.getId(), kitchenOrderStatusTopic);
-        kafkaTemplate.send(kitchenOrderStatusTopic, statusDTO);
-        log.info("Kafka: Обновленный статус заказа с id: {} в topic: {} успешно отправлен",
+        kafkaTemplate.send(kitchenOrderStatusTopic, String.valueOf(statusDTO.getId()), statusDTO);
+        log.debug("Kafka: Обновленный статус заказа с id: {} в topic: {} успешно отправлен",
                 statusDTO.getId(), kitchenOrderStatusTopic);
     }
 }
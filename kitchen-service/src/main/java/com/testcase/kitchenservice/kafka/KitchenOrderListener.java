@@ -3,33 +3,80 @@ package com.testcase.kitchenservice.kafka;
 import com.testcase.commondto.UpdateOrderStatusDTO;
 import com.testcase.commondto.waiterservice.OrderDTO;
 import com.testcase.kitchenservice.service.impl.KitchenOrderServiceImpl;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KitchenOrderListener {
 
     private final KitchenOrderServiceImpl kitchenOrderServiceImpl;
+    private final BatchRecordTracing batchRecordTracing;
 
 
     /**
-     * Обрабатывает событие создания заказа из топика, заданного в конфиге.
-     * Вызывает {@link KitchenOrderServiceImpl#createKitchenOrderFromOrderDTO(OrderDTO)} для создания заказа на кухне.
+     * Обрабатывает пачку событий создания заказов из топика, заданного в конфиге.
+     * <p>
+     * Вся пачка создаётся одной транзакцией через
+     * {@link KitchenOrderServiceImpl#createKitchenOrdersFromOrderDTOs(List)}, смещения фиксируются один раз
+     * после обработки пачки. Если пачка не создалась, заказы создаются по одному тем же методом с пачкой
+     * из одного заказа, поэтому уже созданные заказы пропускаются и при повторной доставке остатки
+     * не списываются дважды. На первом неудачном заказе выбрасывается {@link BatchListenerFailedException}
+     * с его индексом, и обработчик ошибок фиксирует
+     * смещения уже созданных заказов, повторяя только неудачный заказ и оставшуюся часть пачки.
+     * </p>
+     * <p>
+     * Наблюдение Spring Kafka не поддерживает пакетные listeners, поэтому время обработки пачки
+     * публикуется в метрике {@code kitchen.kafka.order-creation.batch}, а спаны записей открывает
+     * {@link BatchRecordTracing}.
+     * </p>
      *
-     * @param orderDTO объект заказа, полученный из Kafka
+     * @param records записи заказов, полученные из Kafka за один poll
      */
     @KafkaListener(topics = "${spring.kafka.consumer.topic.order-creation}",
             groupId = "${spring.kafka.consumer.group.order-creation-group-id}",
             containerFactory = "createOrderKafkaListenerContainerFactory")
-    public void handleKitchenOrderCreation(OrderDTO orderDTO) {
-        log.info("Kafka: Получены данные для создания заказа: {}", orderDTO);
-        kitchenOrderServiceImpl.createKitchenOrderFromOrderDTO(orderDTO);
+    @Timed("kitchen.kafka.order-creation.batch")
+    public void handleKitchenOrderCreation(List<ConsumerRecord<String, OrderDTO>> records) {
+        batchRecordTracing.handleInSpans(records, this::createOrders);
+    }
+
+
+    private void createOrders(List<ConsumerRecord<String, OrderDTO>> records) {
+        List<OrderDTO> orderDTOs = records.stream()
+                .map(ConsumerRecord::value)
+                .toList();
+        log.debug("Kafka: Получена пачка из {} заказов для создания", orderDTOs.size());
+        List<OrderDTO> validOrders = new ArrayList<>(orderDTOs.size());
+        for (OrderDTO orderDTO : orderDTOs) {
+            if (orderDTO == null) {
+                log.warn("Kafka: Пропущено сообщение создания заказа, которое не удалось десериализовать");
+            } else {
+                validOrders.add(orderDTO);
+            }
+        }
+        if (validOrders.isEmpty()) {
+            return;
+        }
+
+        try {
+            kitchenOrderServiceImpl.createKitchenOrdersFromOrderDTOs(validOrders);
+        } catch (RuntimeException e) {
+            log.warn("Kafka: Не удалось создать пачку заказов, заказы будут созданы по одному", e);
+            createOneByOne(orderDTOs);
+        }
     }
 
+
     /**
      * Обрабатывает событие обновления статуса заказа, пришедшее из топика, заданного в конфиге.
      * Вызывает {@link KitchenOrderServiceImpl#updateOrderStatusFromWaiterServiceByKafka(UpdateOrderStatusDTO)}
@@ -41,7 +88,23 @@ public class KitchenOrderListener {
             groupId = "${spring.kafka.consumer.group.waiter-status-group-id}",
             containerFactory = "updateOrderStatusKafkaListenerContainerFactory")
     public void handleWaiterOrderStatusUpdate(UpdateOrderStatusDTO statusDTO) {
-        log.info("Kafka: Получены данные для изменения статуса заказа: {}", statusDTO);
+        log.debug("Kafka: Получен статус {} для заказа с id: {}", statusDTO.getStatus(), statusDTO.getId());
         kitchenOrderServiceImpl.updateOrderStatusFromWaiterServiceByKafka(statusDTO);
     }
+
+
+    private void createOneByOne(List<OrderDTO> orderDTOs) {
+        for (int i = 0; i < orderDTOs.size(); i++) {
+            OrderDTO orderDTO = orderDTOs.get(i);
+            if (orderDTO == null) {
+                continue;
+            }
+            try {
+                kitchenOrderServiceImpl.createKitchenOrdersFromOrderDTOs(List.of(orderDTO));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException(
+                        String.format("Не удалось создать заказ с id: '%d'", orderDTO.getId()), e, i);
+            }
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package com.testcase.kitchenservice.mapper;
 
-import com.education.kitchenservice.dto.DishBalanceUpdateDTO;
 import com.education.kitchenservice.entity.Dish;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -12,7 +11,8 @@ import java.util.Set;
 
 /**
  * MyBatis-маршрутизатор для работы с сущностью {@link Dish}.
- * Определяет методы для получения блюд, обновления их остатков и извлечения полного списка.
+ * Определяет методы для получения блюд, извлечения полного списка и записи изменений их остатков.
+ * Остатки блюд возвращаются с учётом журнала остатков {@code dish_stock_journal}.
  */
 @Mapper
 @Repository
@@ -45,14 +45,21 @@ public interface DishMapper {
 
 
     /**
-     * Обновляет остаток блюда по его идентификатору.
+     * Записывает изменения остатков блюд в журнал остатков.
+     * Вызывается в транзакции, изменяющей заказ, поэтому изменения фиксируются вместе с ним.
      *
-     * @param id идентификатор блюда
-     * @param additionalValue добавочное значение для блюда
-     * @return количество обновлённых записей
+     * @param dishIds ID блюд
+     * @param deltas  изменения остатков, по одному на каждый ID блюда
+     * @return количество записанных изменений
      */
-    int updateDishBalance(@Param("id") Long id, @Param("additionalValue") Integer additionalValue);
+    int insertStockJournal(@Param("dishIds") Long[] dishIds, @Param("deltas") Long[] deltas);
 
 
-    void batchUpdateDishBalances(@Param("set") Set<DishBalanceUpdateDTO> dishUpdates);
+    /**
+     * Переносит зафиксированные изменения из журнала остатков в остатки блюд.
+     * Строки блюд блокируются в порядке возрастания ID.
+     *
+     * @return блюда с ID и новыми записанными остатками после переноса
+     */
+    List<Dish> foldStockJournal();
 }
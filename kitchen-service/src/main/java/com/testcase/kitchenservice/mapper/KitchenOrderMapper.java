@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -28,12 +29,26 @@ public interface KitchenOrderMapper {
     Optional<KitchenOrder> getKitchenOrderById(@Param("id") Long id);
 
     /**
-     * Получает список заказов по переданным критериям.
+     * Получает страницу идентификаторов заказов по переданным критериям
+     * в порядке даты создания и идентификатора заказа.
      *
      * @param criteriaDTO DTO с критериями фильтрации
+     * @param limit максимальное количество идентификаторов
+     * @param offset количество пропускаемых идентификаторов
+     * @return идентификаторы заказов кухни
+     */
+    List<Long> getKitchenOrderIdsByCriteria(@Param("criteriaDTO") CriteriaDTO criteriaDTO,
+                                            @Param("limit") int limit,
+                                            @Param("offset") long offset);
+
+    /**
+     * Получает заказы вместе с блюдами по идентификаторам
+     * в порядке даты создания и идентификатора заказа.
+     *
+     * @param ids идентификаторы заказов
      * @return список заказов кухни
      */
-    List<KitchenOrder> getKitchenOrdersByCriteria(@Param("criteriaDTO") CriteriaDTO criteriaDTO);
+    List<KitchenOrder> getKitchenOrdersByIds(@Param("ids") Long[] ids);
 
     /**
      * Обновляет статус заказа.
@@ -50,6 +65,15 @@ public interface KitchenOrderMapper {
      */
     void insertKitchenOrder(KitchenOrder kitchenOrder);
 
+    /**
+     * Создает несколько заказов на кухне одним запросом.
+     * Заказы, уже существующие в БД (например, при повторной доставке сообщения), пропускаются.
+     *
+     * @param orders сущности новых заказов
+     * @return идентификаторы фактически созданных заказов
+     */
+    List<Long> insertKitchenOrders(@Param("orders") Collection<KitchenOrder> orders);
+
     /**
      * Вставляет позицию заказа (блюдо, привязанное к заказу), привязанную к заказу.
      *
@@ -8,6 +8,7 @@ import com.testcase.kitchenservice.dto.CriteriaDTO;
 import com.testcase.kitchenservice.dto.KitchenOrderDTO;
 import com.testcase.kitchenservice.exception.InvalidOrderStatusException;
 import com.testcase.kitchenservice.exception.KitchenOrderNotFoundException;
+import com.testcase.kitchenservice.validation.OrderValidationResult;
 
 import java.util.List;
 
@@ -38,7 +39,8 @@ public interface KitchenOrderService {
 
     /**
      * Обновляет статус заказа на кухне по сообщению, пришедшему из waiter-service через Kafka.
-     * Производит все необходимые проверки и корректировки.
+     * Производит все необходимые проверки и корректировки. Повторное сообщение с уже установленным статусом
+     * пропускается.
      *
      * @param statusDTO DTO с ID заказа и новым статусом
      * @throws KitchenOrderNotFoundException если заказ не найден
@@ -53,11 +55,14 @@ public interface KitchenOrderService {
      * - дата и время, от которых был создан заказ включительно (createdFrom)
      * - дата и время, до которых был создан заказ включительно (createdTo)
      * - ID официанта, создавшего заказ (waiterId)
+     * Заказы возвращаются постранично в порядке даты создания.
      *
      * @param criteriaDTO объект с критериями для фильтрации заказов
+     * @param page номер страницы (нумерация начинается с 0)
+     * @param size количество заказов на странице
      * @return список DTO {@link KitchenOrderDTO} подходящих заказов
      */
-    List<KitchenOrderDTO> getKitchenOrdersByCriteria(CriteriaDTO criteriaDTO);
+    List<KitchenOrderDTO> getKitchenOrdersByCriteria(CriteriaDTO criteriaDTO, int page, int size);
 
 
     /**
@@ -72,20 +77,60 @@ public interface KitchenOrderService {
 
     /**
      * Создаёт новый заказ на кухне на основе DTO заказа официанта.
-     * Производит вычитание заказанных блюд из баланса.
+     * Подтверждает удержание блюд, сделанное при валидации заказа,
+     * а если удержания нет (истекло), производит вычитание заказанных блюд из баланса.
      *
      * @param orderDTO DTO заказа от официанта
      */
     void createKitchenOrderFromOrderDTO(OrderDTO orderDTO);
 
 
+    /**
+     * Создаёт заказы на кухне из пачки DTO заказов официанта в одной транзакции.
+     * Заказы и их позиции вставляются многострочными запросами, изменения остатков
+     * по неподтверждённым удержаниям суммируются по блюду и применяются одним обновлением.
+     * Уже существующие заказы пропускаются.
+     *
+     * @param orderDTOs DTO заказов от официанта
+     * @return количество созданных заказов
+     */
+    int createKitchenOrdersFromOrderDTOs(List<OrderDTO> orderDTOs);
+
+
     /**
      * Валидирует, достаточно ли блюд на складе для выполнения заказа.
+     * При успешной валидации блюда удерживаются под заказ на ограниченное время
+     * до получения сообщения о создании заказа. Удержание хранится в памяти единственного
+     * экземпляра сервиса (см. {@link com.testcase.kitchenservice.stock.StockReservationService}).
+     *
+     * Нехватка блюд является ожидаемым исходом и возвращается в результате, а не исключением.
      *
      * @param validationDTO DTO заказа
-     * @return true если всех блюд достаточно
-     * @throws IllegalArgumentException если хотя бы одного блюда недостаточно
+     * @return результат валидации с нехватками блюд, если заказ невалиден
      */
-    Boolean validateOrder(OrderValidationDTO validationDTO);
-}
+    OrderValidationResult validateOrder(OrderValidationDTO validationDTO);
 
+
+    /**
+     * Валидирует пакет заказов.
+     * <p>
+     * Блюда всех заказов пакета загружаются одним запросом, после чего каждый заказ проверяется
+     * и при успехе удерживает блюда так же, как в {@link #validateOrder(OrderValidationDTO)}.
+     * Нехватка блюд у одного заказа не влияет на остальные заказы пакета.
+     * </p>
+     *
+     * @param validationDTOs DTO заказов
+     * @return результаты валидации в порядке следования заказов
+     */
+    List<OrderValidationResult> validateOrders(List<OrderValidationDTO> validationDTOs);
+
+
+    /**
+     * Снимает удержание блюд, сделанное при валидации заказа, если заказ не будет создан
+     * (например, waiter-service не дождался ответа валидации или не смог отправить заказ на кухню).
+     *
+     * @param orderId ID заказа
+     * @return {@code true}, если удержание существовало и было снято
+     */
+    boolean releaseOrderReservation(Long orderId);
+}
@@ -7,6 +7,7 @@ import com.testcase.kitchenservice.exception.DishNotFoundException;
 import com.testcase.kitchenservice.mapper.DishMapper;
 import com.testcase.kitchenservice.mapstruct.mapper.DishMapstructMapper;
 import com.testcase.kitchenservice.service.DishService;
+import com.testcase.kitchenservice.stock.DishStockLedger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,8 @@ import java.util.Set;
 
 /**
  * Реализация {@link DishService}, предоставляющая методы для работы с блюдами.
+ * Остатки блюд читаются и изменяются через журнал {@link DishStockLedger},
+ * который записывает изменения в журнал остатков БД в транзакции вызывающего кода.
  */
 @Slf4j
 @Service
@@ -26,56 +29,59 @@ public class DishServiceImpl implements DishService {
 
     private final DishMapper dishMapper;
     private final DishMapstructMapper dishMapstructMapper;
+    private final DishStockLedger dishStockLedger;
 
 
     @Override
     public List<DishDTO> getAllDishes() {
-        log.info("Получение списка всех блюд");
+        log.debug("Получение списка всех блюд");
         List<Dish> dishes = dishMapper.getAllDishes();
-        log.info("Найдено {} блюд", dishes.size());
+        dishes.forEach(dishStockLedger::overlayBalance);
+        log.debug("Найдено {} блюд", dishes.size());
         return dishMapstructMapper.toDishDTOList(dishes);
     }
 
 
     @Override
     public DishDTO getDishDTOById(Long id) {
-        log.info("Получение блюда с id: {}", id);
-        DishDTO dishDTO = dishMapstructMapper.toDishDTO(
-                dishMapper.getDishById(id)
-                        .orElseThrow(() -> new DishNotFoundException(
-                                String.format(DISH_NOT_FOUND, id))));
-        log.info("Найдено блюдо с id: {}", id);
+        log.debug("Получение блюда с id: {}", id);
+        Dish dish = dishMapper.getDishById(id)
+                .orElseThrow(() -> new DishNotFoundException(String.format(DISH_NOT_FOUND, id)));
+        dishStockLedger.overlayBalance(dish);
+        DishDTO dishDTO = dishMapstructMapper.toDishDTO(dish);
+        log.debug("Найдено блюдо с id: {}", id);
         return dishDTO;
     }
 
 
     @Override
     public Dish getDishById(Long id) {
-        log.info("Получение сущности блюда с id: {}", id);
+        log.debug("Получение сущности блюда с id: {}", id);
         Dish dish = dishMapper.getDishById(id)
                 .orElseThrow(() -> new DishNotFoundException(String.format(DISH_NOT_FOUND, id)));
-        log.info("Найдена сущность блюда с id: {}", id);
+        dishStockLedger.overlayBalance(dish);
+        log.debug("Найдена сущность блюда с id: {}", id);
         return dish;
     }
 
 
     @Override
     public List<Dish> getDishesByIds(Set<Long> ids) {
-        return dishMapper.getDishesByIds(ids);
+        return dishStockLedger.getDishes(ids);
     }
 
 
     @Override
     public void updateDishBalance(Long id, Integer additionalValue) {
-        log.info("Обновление баланса блюда с id: {}", id);
-        dishMapper.updateDishBalance(id, additionalValue);
-        log.info("Баланс блюда с id: {} успешно обновлён", id);
+        log.debug("Обновление баланса блюда с id: {}", id);
+        dishStockLedger.applyDeltas(Set.of(new DishBalanceUpdateDTO(id, additionalValue)));
+        log.debug("Баланс блюда с id: {} успешно обновлён", id);
     }
 
     @Override
     public void batchUpdateDishBalances(Set<DishBalanceUpdateDTO> dishUpdates) {
-        log.info("Производится обновление баланса блюд");
-        dishMapper.batchUpdateDishBalances(dishUpdates);
-        log.info("Обновление баланса блюд проведено успешно");
+        log.debug("Производится обновление баланса блюд");
+        dishStockLedger.applyDeltas(dishUpdates);
+        log.debug("Обновление баланса блюд проведено успешно");
     }
 }
@@ -5,6 +5,7 @@ import com.testcase.commondto.waiterservice.OrderDTO;
 import com.testcase.commondto.waiterservice.OrderPositionDTO;
 import com.testcase.commondto.waiterservice.OrderStatus;
 import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.commonruntime.audit.OrderStatusAuditLog;
 import com.testcase.kitchenservice.dto.CriteriaDTO;
 import com.testcase.kitchenservice.dto.DishBalanceUpdateDTO;
 import com.testcase.kitchenservice.dto.KitchenOrderDTO;
@@ -17,15 +18,24 @@ import com.testcase.kitchenservice.kafka.KafkaSender;
 import com.testcase.kitchenservice.mapper.KitchenOrderMapper;
 import com.testcase.kitchenservice.mapstruct.mapper.KitchenOrderMapstructMapper;
 import com.testcase.kitchenservice.service.KitchenOrderService;
+import com.testcase.kitchenservice.stock.StockReservationService;
+import com.testcase.kitchenservice.validation.DishIndex;
+import com.testcase.kitchenservice.validation.DishShortage;
+import com.testcase.kitchenservice.validation.OrderValidationResult;
+import com.testcase.kitchenservice.validation.StockValidator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -33,26 +43,32 @@ import java.util.stream.Collectors;
 /**
  * Реализация сервиса обработки кухонных заказов.
  * Осуществляет создание, обновление статусов, валидацию и обмен данными с другими сервисами.
+ * Время и количество вызовов каждого метода публикуются в метрике {@code kitchen.order.service}
+ * с тегами {@code method} и {@code exception}.
  */
 
 @Slf4j
 @Service
+@Timed("kitchen.order.service")
 @RequiredArgsConstructor
 public class KitchenOrderServiceImpl implements KitchenOrderService {
 
     private static final String ORDER_NOT_FOUND = "Заказ с id: '%d' не найден";
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final DishServiceImpl dishServiceImpl;
     private final KitchenOrderMapper kitchenOrderMapper;
     private final KitchenOrderMapstructMapper kitchenOrderMapstructMapper;
     private final KafkaSender kafkaSender;
+    private final StockReservationService stockReservationService;
+    private final OrderStatusAuditLog orderStatusAuditLog;
 
 
 
     @Override
     @Transactional
     public KitchenOrderDTO updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        log.info("Обновление статуса заказа с id: {}", orderId);
+        log.debug("Обновление статуса заказа с id: {}", orderId);
         KitchenOrder order = kitchenOrderMapper.getKitchenOrderById(orderId)
                 .orElseThrow(() -> new KitchenOrderNotFoundException(
                         String.format(ORDER_NOT_FOUND, orderId)));
@@ -89,7 +105,8 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
 
         order.setStatus(resolvedStatus);
         kitchenOrderMapper.updateStatus(order);
-        log.info("Статус заказа с id: {} успешно обновлён на '{}'", orderId, resolvedStatus);
+        log.debug("Статус заказа с id: {} успешно обновлён на '{}'", orderId, resolvedStatus);
+        orderStatusAuditLog.statusChanged(orderId, currentStatus, resolvedStatus);
 
         UpdateOrderStatusDTO statusDTO = new UpdateOrderStatusDTO(orderId, resolvedStatus);
         kafkaSender.sendOrderStatusUpdate(statusDTO);
@@ -100,7 +117,7 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     @Override
     @Transactional
     public void updateOrderStatusFromWaiterServiceByKafka(UpdateOrderStatusDTO statusDTO) {
-        log.info("Обновление статуса заказа по сообщению из waiter-service с id: {}", statusDTO.getId());
+        log.debug("Обновление статуса заказа по сообщению из waiter-service с id: {}", statusDTO.getId());
         OrderStatus newStatus = statusDTO.getStatus();
         KitchenOrder order = kitchenOrderMapper.getKitchenOrderById(statusDTO.getId())
                 .orElseThrow(() -> new KitchenOrderNotFoundException(
@@ -111,6 +128,15 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
                 && OrderStatus.CANCELLED_BY_WAITER.equals(newStatus)) {
             newStatus = OrderStatus.CANCELLED_WHILE_COOKING_BY_WAITER;
         }
+        // outbox waiter-service доставляет сообщения как минимум один раз: повтор не должен
+        // ни падать на недопустимом переходе, ни второй раз возвращать блюда на склад
+        if (currentStatus.equals(newStatus)
+                || OrderStatus.CANCELLED_WHILE_COOKING_BY_WAITER.equals(currentStatus)
+                && OrderStatus.CANCELLED_BY_WAITER.equals(newStatus)) {
+            log.debug("Повторное сообщение со статусом '{}' для заказа с id: {} пропущено",
+                    statusDTO.getStatus(), order.getKitchenOrderId());
+            return;
+        }
         if (!currentStatus.canTransitTo(newStatus)) {
             throw new InvalidOrderStatusException(
                     String.format("Переход из статуса '%s' в '%s' невозможен", currentStatus, newStatus));
@@ -126,30 +152,42 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         }
         order.setStatus(newStatus);
         kitchenOrderMapper.updateStatus(order);
-        log.info("Статус заказа с id: {} по сообщению из waiter-service успешно обновлён на '{}'",
+        log.debug("Статус заказа с id: {} по сообщению из waiter-service успешно обновлён на '{}'",
                 order.getKitchenOrderId(), newStatus);
+        orderStatusAuditLog.statusChanged(order.getKitchenOrderId(), currentStatus, newStatus);
     }
 
 
     @Override
-    public List<KitchenOrderDTO> getKitchenOrdersByCriteria(CriteriaDTO criteriaDTO) {
-
-        log.info("Получение списка заказов по критериям: {}", criteriaDTO.toString());
-        List<KitchenOrder> kitchenOrders = kitchenOrderMapper.getKitchenOrdersByCriteria(criteriaDTO);
-        log.info("Найдено {} заказов, соответствующих критериям: {}", kitchenOrders.size(), criteriaDTO);
+    public List<KitchenOrderDTO> getKitchenOrdersByCriteria(CriteriaDTO criteriaDTO, int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "Некорректные параметры страницы: page=%d, size=%d (page >= 0, 0 < size <= %d)",
+                    page, size, MAX_PAGE_SIZE));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Получение страницы {} (размер {}) заказов по критериям: {}", page, size, criteriaDTO);
+        }
+        // Сначала выбирается страница идентификаторов, затем заказы страницы с блюдами,
+        // чтобы LIMIT применялся к заказам, а не к строкам соединения с блюдами
+        List<Long> ids = kitchenOrderMapper.getKitchenOrderIdsByCriteria(criteriaDTO, size, (long) page * size);
+        List<KitchenOrder> kitchenOrders = ids.isEmpty()
+                ? List.of()
+                : kitchenOrderMapper.getKitchenOrdersByIds(ids.toArray(new Long[0]));
+        log.debug("Найдено {} заказов, соответствующих критериям: {}", kitchenOrders.size(), criteriaDTO);
         return kitchenOrderMapstructMapper.toKitchenOrderDTOList(kitchenOrders);
     }
 
 
     @Override
     public KitchenOrderDTO getKitchenOrderById(Long id) {
-        log.info("Получение заказа с id: {}", id);
+        log.debug("Получение заказа с id: {}", id);
         KitchenOrderDTO orderDTO = kitchenOrderMapstructMapper
                 .toKitchenOrderDTO(kitchenOrderMapper
                         .getKitchenOrderById(id)
                         .orElseThrow(() -> new KitchenOrderNotFoundException(
                                 String.format(ORDER_NOT_FOUND, id))));
-        log.info("Найден заказ с id: {}", id);
+        log.debug("Найден заказ с id: {}", id);
         return orderDTO;
     }
 
@@ -157,7 +195,7 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     @Override
     @Transactional
     public void createKitchenOrderFromOrderDTO(OrderDTO orderDTO) {
-        log.info("Создание нового заказа на кухне, полученного из waiter-service с id: {}", orderDTO.getId());
+        log.debug("Создание нового заказа на кухне, полученного из waiter-service с id: {}", orderDTO.getId());
 
         KitchenOrder kitchenOrder = kitchenOrderMapstructMapper.toKitchenOrder(orderDTO);
         kitchenOrderMapper.insertKitchenOrder(kitchenOrder);
@@ -171,51 +209,151 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         });
 
         kitchenOrderMapper.batchInsertOrderToDish(orderToDishes);
-        log.info("Вставлены {} записей в order_to_dish", orderToDishes.size());
+        log.debug("Вставлены {} записей в order_to_dish", orderToDishes.size());
 
-        dishServiceImpl.batchUpdateDishBalances(balanceUpdates);
-        log.info("Обновлен баланс блюд в связи с созданием нового заказа на кухне");
+        if (stockReservationService.confirm(kitchenOrder.getKitchenOrderId())) {
+            log.debug("Подтверждено удержание блюд, сделанное при валидации заказа");
+        } else {
+            dishServiceImpl.batchUpdateDishBalances(balanceUpdates);
+            log.debug("Обновлен баланс блюд в связи с созданием нового заказа на кухне");
+        }
 
-        log.info("Новый заказ с id: {} успешно создан", kitchenOrder.getKitchenOrderId());
+        log.debug("Новый заказ с id: {} успешно создан", kitchenOrder.getKitchenOrderId());
     }
 
 
     @Override
-    public Boolean validateOrder(OrderValidationDTO validationDTO) {
-        log.info("Валидация позиций заказа из waiter-service с id: {}", validationDTO.getOrderId());
-        Set<OrderPositionDTO> positions = validationDTO.getPositions();
-        Set<Long> dishIds = positions.stream()
-                .filter(Objects::nonNull)
-                .map(position -> position.getMenu().getId())
-                .collect(Collectors.toSet());
-
-        List<Dish> dishes = dishServiceImpl.getDishesByIds(dishIds);
-        List<String> insufficientDishes = new ArrayList<>();
-
-        for (OrderPositionDTO position : positions) {
-            Long dishId = position.getMenu().getId();
-            Dish validatingDish = dishes.stream()
-                    .filter(dish -> dish.getDishId().equals(dishId))
-                    .findFirst()
-                    .orElse(null);
-            if (validatingDish == null) {
-                insufficientDishes.add(String.format("Блюдо с id: '%d' не найдено", dishId));
+    @Transactional
+    public int createKitchenOrdersFromOrderDTOs(List<OrderDTO> orderDTOs) {
+        log.debug("Создание пачки из {} заказов на кухне, полученных из waiter-service", orderDTOs.size());
+        List<KitchenOrder> kitchenOrders = new ArrayList<>(orderDTOs.size());
+        orderDTOs.forEach(orderDTO -> kitchenOrders.add(kitchenOrderMapstructMapper.toKitchenOrder(orderDTO)));
+        Set<Long> insertedIds = new HashSet<>(kitchenOrderMapper.insertKitchenOrders(kitchenOrders));
+
+        Set<OrderToDish> orderToDishes = new HashSet<>();
+        Map<Long, Integer> balanceDeltas = new HashMap<>();
+        int created = 0;
+        for (KitchenOrder kitchenOrder : kitchenOrders) {
+            if (!insertedIds.remove(kitchenOrder.getKitchenOrderId())) {
                 continue;
             }
-            Integer requiredQuantity = position.getQuantity();
-            if (validatingDish.getBalance() < requiredQuantity) {
-                insufficientDishes.add(String.format(
-                        "у блюда с id: '%d' и name: '%s' доступно: %d, требуется: %d",
-                        validatingDish.getDishId(), validatingDish.getShortName(),
-                        validatingDish.getBalance(), requiredQuantity));
+            created++;
+            kitchenOrder.getOrderToDishes()
+                    .forEach(orderToDish -> orderToDish.setKitchenOrderId(kitchenOrder.getKitchenOrderId()));
+            orderToDishes.addAll(kitchenOrder.getOrderToDishes());
+            if (!stockReservationService.confirm(kitchenOrder.getKitchenOrderId())) {
+                kitchenOrder.getOrderToDishes().forEach(orderToDish -> balanceDeltas.merge(
+                        orderToDish.getDishId(), -orderToDish.getDishesCount(), Integer::sum));
             }
         }
 
-        if (!insufficientDishes.isEmpty()) {
-            String message = String.join("; \n", insufficientDishes);
-            throw new IllegalArgumentException("Недостаточно блюд: " + message);
+        if (!orderToDishes.isEmpty()) {
+            kitchenOrderMapper.batchInsertOrderToDish(orderToDishes);
+            log.debug("Вставлены {} записей в order_to_dish", orderToDishes.size());
+        }
+        if (!balanceDeltas.isEmpty()) {
+            Set<DishBalanceUpdateDTO> balanceUpdates = new HashSet<>();
+            balanceDeltas.forEach((dishId, delta) -> balanceUpdates.add(new DishBalanceUpdateDTO(dishId, delta)));
+            dishServiceImpl.batchUpdateDishBalances(balanceUpdates);
+            log.debug("Обновлен баланс {} блюд в связи с созданием новых заказов на кухне", balanceUpdates.size());
+        }
+
+        if (created < kitchenOrders.size()) {
+            log.warn("Пропущено {} уже существующих заказов", kitchenOrders.size() - created);
+        }
+        log.debug("Создано {} новых заказов на кухне", created);
+        return created;
+    }
+
+
+    @Override
+    public OrderValidationResult validateOrder(OrderValidationDTO validationDTO) {
+        log.debug("Валидация позиций заказа из waiter-service с id: {}", validationDTO.getOrderId());
+        DishIndex dishIndex = DishIndex.of(dishServiceImpl.getDishesByIds(collectDishIds(List.of(validationDTO))));
+        OrderValidationResult result = new OrderValidationResult(
+                validationDTO.getOrderId(), validateAndReserve(validationDTO, dishIndex));
+
+        if (result.isValid()) {
+            log.debug("Валидация позиций заказа из waiter-service с id: {} прошла успешно", validationDTO.getOrderId());
+        } else {
+            log.debug("Заказ из waiter-service с id: {} невалиден, нехватка {} блюд",
+                    validationDTO.getOrderId(), result.getShortages().size());
+        }
+        return result;
+    }
+
+
+    @Override
+    public List<OrderValidationResult> validateOrders(List<OrderValidationDTO> validationDTOs) {
+        DishIndex dishIndex = DishIndex.of(dishServiceImpl.getDishesByIds(collectDishIds(validationDTOs)));
+        List<OrderValidationResult> results = new ArrayList<>(validationDTOs.size());
+        int invalid = 0;
+        for (OrderValidationDTO validationDTO : validationDTOs) {
+            OrderValidationResult result = new OrderValidationResult(
+                    validationDTO.getOrderId(), validateAndReserve(validationDTO, dishIndex));
+            if (!result.isValid()) {
+                invalid++;
+            }
+            results.add(result);
+        }
+        log.debug("Валидирован пакет из {} заказов из waiter-service, невалидных: {}", results.size(), invalid);
+        return results;
+    }
+
+
+    @Override
+    public boolean releaseOrderReservation(Long orderId) {
+        boolean released = stockReservationService.release(orderId);
+        log.debug("Удержание блюд под заказ с id: {} {}", orderId, released ? "снято" : "не найдено");
+        return released;
+    }
+
+
+    private static Set<Long> collectDishIds(List<OrderValidationDTO> validationDTOs) {
+        Set<Long> dishIds = new HashSet<>();
+        for (OrderValidationDTO validationDTO : validationDTOs) {
+            for (OrderPositionDTO position : validationDTO.getPositions()) {
+                if (position != null) {
+                    dishIds.add(position.getMenu().getId());
+                }
+            }
+        }
+        return dishIds;
+    }
+
+
+    /**
+     * Проверяет остатки блюд заказа по индексу и при их достаточности удерживает блюда под заказ.
+     * Остатки в индексе не учитывают удержания, сделанные после его построения,
+     * поэтому окончательное решение принимает {@link StockReservationService}.
+     */
+    private List<DishShortage> validateAndReserve(OrderValidationDTO validationDTO, DishIndex dishIndex) {
+        Set<OrderPositionDTO> positions = validationDTO.getPositions();
+        List<DishShortage> shortages = StockValidator.findShortages(positions, dishIndex);
+        if (!shortages.isEmpty()) {
+            return shortages;
+        }
+
+        Map<Long, Integer> quantities = positions.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(position -> position.getMenu().getId(),
+                        OrderPositionDTO::getQuantity, Integer::sum));
+        Optional<Long> failedDishId = stockReservationService.reserve(validationDTO.getOrderId(), quantities);
+        return failedDishId
+                .map(dishId -> List.of(currentShortage(dishId, quantities.get(dishId))))
+                .orElse(List.of());
+    }
+
+
+    /**
+     * Формирует нехватку блюда по текущему остатку, если удержание не удалось из-за параллельного заказа.
+     */
+    private DishShortage currentShortage(Long dishId, int required) {
+        List<Dish> dishes = dishServiceImpl.getDishesByIds(Set.of(dishId));
+        if (dishes.isEmpty()) {
+            return DishShortage.notFound(dishId, required);
         }
-        log.info("Валидация позиций заказа из waiter-service с id: {} прошла успешно", validationDTO.getOrderId());
-        return true;
+        Dish dish = dishes.get(0);
+        return new DishShortage(dishId, dish.getShortName(), true, dish.getBalance(), required);
     }
 }
@@ -0,0 +1,165 @@
+package com.testcase.kitchenservice.stock;
+
+import com.testcase.kitchenservice.entity.Dish;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Остаток одного блюда в памяти сервиса.
+ * <p>
+ * Доступный остаток меняется через CAS. Отдельно учитывается количество, удерживаемое
+ * под ещё не подтверждённые заказы: оно уже вычтено из доступного остатка, но в БД не записано.
+ * Счётчик применённых изменений позволяет сверке с БД заметить изменения, применённые
+ * после того, как был прочитан остаток из БД.
+ * </p>
+ */
+public class DishStock {
+
+    @Getter
+    private final Long dishId;
+
+    @Getter
+    private volatile String shortName;
+
+    @Getter
+    private volatile String dishComposition;
+
+    private final AtomicInteger available;
+
+    private final AtomicInteger held = new AtomicInteger();
+
+    private final AtomicInteger appliedChanges = new AtomicInteger();
+
+
+    /**
+     * Создаёт остаток блюда по данным из БД.
+     *
+     * @param dish блюдо, прочитанное из БД
+     */
+    public DishStock(Dish dish) {
+        this.dishId = dish.getDishId();
+        this.shortName = dish.getShortName();
+        this.dishComposition = dish.getDishComposition();
+        this.available = new AtomicInteger(dish.getBalance());
+    }
+
+
+    /**
+     * Возвращает доступный остаток блюда.
+     *
+     * @return доступный остаток
+     */
+    public int available() {
+        return available.get();
+    }
+
+
+    /**
+     * Возвращает количество, удерживаемое под неподтверждённые заказы.
+     *
+     * @return удерживаемое количество
+     */
+    public int held() {
+        return held.get();
+    }
+
+
+    /**
+     * Возвращает число изменений, зафиксированных в БД и применённых к остатку.
+     *
+     * @return число применённых изменений
+     */
+    public int appliedChanges() {
+        return appliedChanges.get();
+    }
+
+
+    /**
+     * Применяет изменение остатка, зафиксированное в журнале остатков БД.
+     *
+     * @param delta изменение остатка (отрицательное при списании)
+     */
+    public void apply(int delta) {
+        available.addAndGet(delta);
+        appliedChanges.incrementAndGet();
+    }
+
+
+    /**
+     * Удерживает количество блюда под заказ, если его достаточно.
+     * Доступный остаток уменьшается, в БД изменение не попадает до подтверждения.
+     *
+     * @param quantity удерживаемое количество
+     * @return {@code true}, если блюда достаточно и оно удержано
+     */
+    public boolean tryHold(int quantity) {
+        int current;
+        do {
+            current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - quantity));
+        held.addAndGet(quantity);
+        return true;
+    }
+
+
+    /**
+     * Снимает удержание: количество возвращается в доступный остаток.
+     *
+     * @param quantity ранее удержанное количество
+     */
+    public void release(int quantity) {
+        held.addAndGet(-quantity);
+        available.addAndGet(quantity);
+    }
+
+
+    /**
+     * Подтверждает удержание после того, как списание зафиксировано в журнале остатков БД.
+     * Доступный остаток не меняется, так как был уменьшен при удержании.
+     *
+     * @param quantity ранее удержанное количество
+     */
+    public void confirmHold(int quantity) {
+        held.addAndGet(-quantity);
+        appliedChanges.incrementAndGet();
+    }
+
+
+    /**
+     * Сверяет доступный остаток с БД: доступным становится действующий остаток из БД
+     * минус удерживаемое количество.
+     * Вызывающий код должен исключить параллельные изменения на время сверки.
+     *
+     * @param persistedBalance действующий остаток блюда в БД
+     * @return расхождение, которое было исправлено (0 если остатки совпадали)
+     */
+    public int reconcile(int persistedBalance) {
+        int expected = persistedBalance - held.get();
+        return expected - available.getAndSet(expected);
+    }
+
+
+    /**
+     * Обновляет описание блюда из БД.
+     *
+     * @param dish блюдо, прочитанное из БД
+     */
+    public void refreshDescription(Dish dish) {
+        this.shortName = dish.getShortName();
+        this.dishComposition = dish.getDishComposition();
+    }
+
+
+    /**
+     * Возвращает снимок блюда с текущим доступным остатком.
+     *
+     * @return блюдо с доступным остатком
+     */
+    public Dish toDish() {
+        return new Dish(dishId, available(), shortName, dishComposition);
+    }
+}
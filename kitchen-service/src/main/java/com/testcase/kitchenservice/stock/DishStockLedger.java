@@ -0,0 +1,351 @@
+package com.testcase.kitchenservice.stock;
+
+import com.testcase.kitchenservice.dto.DishBalanceUpdateDTO;
+import com.testcase.kitchenservice.entity.Dish;
+import com.testcase.kitchenservice.mapper.DishMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Журнал остатков блюд в памяти сервиса кухни.
+ * <p>
+ * Остатки блюд читаются и проверяются в памяти без обращения к БД: каждое блюдо хранится в отдельной
+ * записи {@link DishStock}, изменения применяются через CAS. Источник истины — БД: каждое изменение
+ * остатка записывается в таблицу {@code dish_stock_journal} в транзакции заказа и применяется в памяти
+ * только после её фиксации, поэтому падение сервиса не теряет списаний. Действующий остаток блюда —
+ * {@code dish.balance} плюс сумма журнала; фоновая задача периодически переносит журнал в {@code dish.balance}.
+ * Остатки в памяти загружаются из БД при старте и сверяются с ней по расписанию,
+ * чтобы учесть изменения, внесённые в обход сервиса.
+ * </p>
+ * <p>
+ * Под неподтверждённые заказы количество блюд может удерживаться ({@link #tryHold(Map)}):
+ * удержание уменьшает доступный остаток, но попадает в журнал только при подтверждении.
+ * Изменения остатков выполняются параллельно под общей блокировкой чтения,
+ * сверка с БД берёт блокировку записи, чтобы видеть согласованные остатки и удержания.
+ * </p>
+ * <p>
+ * Остатки и удержания в памяти принадлежат одному экземпляру сервиса: второй экземпляр над той же БД
+ * не знал бы о чужих удержаниях и продал бы те же блюда. Поэтому kitchen-service запускается
+ * в одном экземпляре, что проверяется при старте блокировкой {@link StockLedgerLock}.
+ * </p>
+ */
+@Slf4j
+@Component
+@DependsOn("stockLedgerLock")
+@RequiredArgsConstructor
+public class DishStockLedger {
+
+    private final Map<Long, DishStock> stocks = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    private final DishMapper dishMapper;
+    private final TransactionTemplate transactionTemplate;
+
+
+    /**
+     * Загружает остатки блюд из БД после старта приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        log.info("Загружены остатки {} блюд в журнал", stocks.size());
+    }
+
+
+    /**
+     * Возвращает блюда с доступными остатками из памяти.
+     * Блюда, которых ещё нет в журнале, подгружаются из БД.
+     *
+     * @param dishIds идентификаторы блюд
+     * @return список найденных блюд с доступными остатками
+     */
+    public List<Dish> getDishes(Set<Long> dishIds) {
+        loadMissing(dishIds);
+        List<Dish> dishes = new ArrayList<>(dishIds.size());
+        for (Long dishId : dishIds) {
+            DishStock stock = stocks.get(dishId);
+            if (stock != null) {
+                dishes.add(stock.toDish());
+            }
+        }
+        return dishes;
+    }
+
+
+    /**
+     * Заменяет остаток блюда, прочитанного из БД, на доступный остаток из журнала.
+     *
+     * @param dish блюдо, прочитанное из БД
+     */
+    public void overlayBalance(Dish dish) {
+        DishStock stock = stocks.get(dish.getDishId());
+        if (stock != null) {
+            dish.setBalance(stock.available());
+        }
+    }
+
+
+    /**
+     * Применяет изменения остатков блюд.
+     * <p>
+     * Изменения записываются в журнал остатков в текущей транзакции и применяются в памяти только после
+     * её фиксации, чтобы откат транзакции не оставлял в памяти списаний, которых нет в БД.
+     * Вне транзакции изменения записываются в собственной транзакции.
+     * </p>
+     *
+     * @param updates изменения остатков блюд
+     */
+    public void applyDeltas(Collection<DishBalanceUpdateDTO> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            SortedMap<Long, Integer> deltas = new TreeMap<>();
+            updates.forEach(update -> deltas.merge(update.getId(), update.getAdditionalValue(), Integer::sum));
+            journal(deltas, () -> applyNow(deltas));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> applyDeltas(updates));
+        }
+    }
+
+
+    /**
+     * Удерживает количество блюд под заказ по принципу "всё или ничего".
+     * Если какого-то блюда недостаточно, уже сделанные удержания снимаются.
+     *
+     * @param quantities требуемое количество по ID блюда
+     * @return ID блюда, которого оказалось недостаточно, или пустой {@link Optional} при успехе
+     */
+    public Optional<Long> tryHold(Map<Long, Integer> quantities) {
+        loadMissing(quantities.keySet());
+        mutationLock.readLock().lock();
+        try {
+            Map<DishStock, Integer> taken = new HashMap<>();
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                DishStock stock = stocks.get(entry.getKey());
+                if (stock == null || !stock.tryHold(entry.getValue())) {
+                    taken.forEach(DishStock::release);
+                    return Optional.of(entry.getKey());
+                }
+                taken.put(stock, entry.getValue());
+            }
+            return Optional.empty();
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Снимает удержание блюд, возвращая количество в доступный остаток.
+     *
+     * @param quantities удержанное количество по ID блюда
+     */
+    public void releaseHeld(Map<Long, Integer> quantities) {
+        forEachHeld(quantities, DishStock::release);
+    }
+
+
+    /**
+     * Подтверждает удержание блюд: списание записывается в журнал остатков в текущей транзакции,
+     * а удержание в памяти снимается после её фиксации. Доступный остаток не меняется.
+     * Вне транзакции списание записывается в собственной транзакции.
+     *
+     * @param quantities удержанное количество по ID блюда
+     */
+    public void confirmHeld(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            SortedMap<Long, Integer> deltas = new TreeMap<>();
+            quantities.forEach((dishId, quantity) -> deltas.put(dishId, -quantity));
+            journal(deltas, () -> forEachHeld(quantities, DishStock::confirmHold));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> confirmHeld(quantities));
+        }
+    }
+
+
+    /**
+     * Переносит зафиксированные изменения из журнала остатков в {@code dish.balance}.
+     * Действующие остатки при этом не меняются, поэтому остатки в памяти не затрагиваются.
+     * Отрицательные записанные остатки, возвращённые переносом, логируются: сервис не списывает
+     * больше доступного, поэтому такой остаток означает изменение в обход сервиса.
+     */
+    @Scheduled(fixedDelayString = "${kitchen.stock-ledger.flush-interval-ms:500}")
+    public void flush() {
+        try {
+            List<Dish> folded = transactionTemplate.execute(status -> dishMapper.foldStockJournal());
+            if (folded == null || folded.isEmpty()) {
+                return;
+            }
+            log.debug("Журнал остатков перенесён в остатки {} блюд", folded.size());
+            folded.stream()
+                    .filter(dish -> dish.getBalance() < 0)
+                    .forEach(dish -> log.warn("Записанный остаток блюда с id: {} отрицателен: {}",
+                            dish.getDishId(), dish.getBalance()));
+        } catch (RuntimeException e) {
+            log.error("Не удалось перенести журнал остатков блюд, повтор при следующем запуске", e);
+        }
+    }
+
+
+    /**
+     * Сверяет остатки в памяти с БД.
+     * <p>
+     * Блюда, изменения которых ещё не зафиксированы или были применены в памяти после чтения остатков
+     * из БД, пропускаются до следующей сверки: иначе остаток из БД разошёлся бы с применёнными изменениями.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${kitchen.stock-ledger.reconcile-interval-ms:60000}",
+            initialDelayString = "${kitchen.stock-ledger.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Map<Long, Integer> appliedBefore = new HashMap<>();
+        stocks.forEach((dishId, stock) -> appliedBefore.put(dishId, stock.appliedChanges()));
+        List<Dish> persisted = dishMapper.getAllDishes();
+
+        Set<Long> persistedIds = new HashSet<>();
+        int corrected = 0;
+        mutationLock.writeLock().lock();
+        try {
+            for (Dish dish : persisted) {
+                persistedIds.add(dish.getDishId());
+                DishStock stock = stocks.putIfAbsent(dish.getDishId(), new DishStock(dish));
+                if (stock == null) {
+                    continue;
+                }
+                stock.refreshDescription(dish);
+                if (inFlight.containsKey(dish.getDishId())
+                        || !Integer.valueOf(stock.appliedChanges()).equals(appliedBefore.get(dish.getDishId()))) {
+                    continue;
+                }
+                if (stock.reconcile(dish.getBalance()) != 0) {
+                    corrected++;
+                }
+            }
+            stocks.entrySet().removeIf(entry -> !persistedIds.contains(entry.getKey())
+                    && entry.getValue().held() == 0);
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+        if (corrected > 0) {
+            log.warn("При сверке с БД исправлены остатки {} блюд", corrected);
+        }
+    }
+
+
+    /**
+     * Записывает изменения в журнал остатков текущей транзакции и применяет их в памяти после фиксации.
+     * До завершения транзакции блюда отмечены как изменяемые и не сверяются с БД.
+     */
+    private void journal(SortedMap<Long, Integer> deltas, Runnable onCommit) {
+        deltas.keySet().forEach(dishId -> inFlight.merge(dishId, 1, Integer::sum));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        onCommit.run();
+                    }
+                } finally {
+                    deltas.keySet().forEach(dishId ->
+                            inFlight.computeIfPresent(dishId, (id, count) -> count == 1 ? null : count - 1));
+                }
+            }
+        });
+
+        Long[] dishIds = new Long[deltas.size()];
+        Long[] values = new Long[deltas.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+            dishIds[i] = entry.getKey();
+            values[i] = entry.getValue().longValue();
+            i++;
+        }
+        dishMapper.insertStockJournal(dishIds, values);
+    }
+
+
+    private void applyNow(Map<Long, Integer> deltas) {
+        loadMissing(deltas.keySet());
+
+        mutationLock.readLock().lock();
+        try {
+            deltas.forEach((dishId, delta) -> {
+                DishStock stock = stocks.get(dishId);
+                if (stock == null) {
+                    log.warn("Изменение остатка для отсутствующего блюда с id: {} пропущено", dishId);
+                    return;
+                }
+                stock.apply(delta);
+            });
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+
+    private void forEachHeld(Map<Long, Integer> quantities, HeldAction action) {
+        mutationLock.readLock().lock();
+        try {
+            quantities.forEach((dishId, quantity) -> {
+                DishStock stock = stocks.get(dishId);
+                if (stock != null) {
+                    action.accept(stock, quantity);
+                }
+            });
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+
+    private void loadMissing(Set<Long> dishIds) {
+        Set<Long> missing = null;
+        for (Long dishId : dishIds) {
+            if (dishId != null && !stocks.containsKey(dishId)) {
+                if (missing == null) {
+                    missing = new HashSet<>();
+                }
+                missing.add(dishId);
+            }
+        }
+        if (missing != null) {
+            dishMapper.getDishesByIds(missing)
+                    .forEach(dish -> stocks.putIfAbsent(dish.getDishId(), new DishStock(dish)));
+        }
+    }
+
+
+    /**
+     * Действие над удержанным количеством блюда.
+     */
+    @FunctionalInterface
+    private interface HeldAction {
+
+        void accept(DishStock stock, int quantity);
+    }
+}
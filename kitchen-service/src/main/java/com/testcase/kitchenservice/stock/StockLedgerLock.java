@@ -0,0 +1,153 @@
+package com.testcase.kitchenservice.stock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Блокировка, гарантирующая, что журнал остатков {@link DishStockLedger} работает в одном экземпляре сервиса.
+ * <p>
+ * Остатки и удержания блюд хранятся в памяти экземпляра, поэтому два экземпляра kitchen-service
+ * над одной БД продавали бы одни и те же блюда дважды. При старте экземпляр берёт сессионную
+ * advisory-блокировку PostgreSQL на отдельном соединении вне пула и держит её до остановки;
+ * если блокировка уже занята, запуск завершается ошибкой. Соединение не входит в пул Hikari
+ * и учитывается в {@code kitchen.datasource.pool.reserved-connections}.
+ * </p>
+ * <p>
+ * Если соединение потеряно (например, при перезапуске БД), блокировка освобождается сервером.
+ * Фоновая проверка берёт её заново; если её успел взять другой экземпляр, это логируется как ошибка.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StockLedgerLock {
+
+    /**
+     * Ключ advisory-блокировки журнала остатков.
+     */
+    private static final long LOCK_KEY = 0x6B69_7463_6865_6EL;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ReentrantLock connectionLock = new ReentrantLock();
+
+    private Connection connection;
+
+
+    /**
+     * Конструктор блокировки журнала остатков.
+     *
+     * @param dataSourceProperties параметры подключения к БД
+     */
+    public StockLedgerLock(DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+
+    /**
+     * Берёт блокировку при старте приложения.
+     *
+     * @throws IllegalStateException если блокировку держит другой экземпляр сервиса или БД недоступна
+     */
+    @PostConstruct
+    public void acquire() {
+        connectionLock.lock();
+        try {
+            connection = tryAcquire();
+            log.info("Журнал остатков блюд закреплён за этим экземпляром сервиса");
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+
+    /**
+     * Проверяет, что соединение с блокировкой живо, и берёт блокировку заново, если оно потеряно.
+     */
+    @Scheduled(fixedDelayString = "${kitchen.stock-ledger.lock-check-interval-ms:10000}")
+    public void verify() {
+        connectionLock.lock();
+        try {
+            if (connection != null && connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return;
+            }
+            closeQuietly();
+            connection = tryAcquire();
+            log.warn("Соединение с блокировкой журнала остатков было потеряно, блокировка взята заново");
+        } catch (SQLException | IllegalStateException e) {
+            log.error("Журнал остатков блюд не закреплён за экземпляром сервиса, остатки могут расходиться: {}",
+                    e.getMessage());
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+
+    /**
+     * Освобождает блокировку при остановке приложения.
+     */
+    @PreDestroy
+    public void release() {
+        connectionLock.lock();
+        try {
+            closeQuietly();
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+
+    private Connection tryAcquire() {
+        Connection candidate = null;
+        boolean acquired = false;
+        try {
+            candidate = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+            try (PreparedStatement statement = candidate.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, LOCK_KEY);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    acquired = resultSet.next() && resultSet.getBoolean(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось взять блокировку журнала остатков блюд", e);
+        } finally {
+            if (!acquired) {
+                closeQuietly(candidate);
+            }
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Журнал остатков блюд уже используется другим экземпляром "
+                    + "kitchen-service: сервис поддерживает только один экземпляр над одной БД");
+        }
+        return candidate;
+    }
+
+
+    private void closeQuietly() {
+        closeQuietly(connection);
+        connection = null;
+    }
+
+
+    private static void closeQuietly(Connection toClose) {
+        if (toClose == null) {
+            return;
+        }
+        try {
+            toClose.close();
+        } catch (SQLException e) {
+            log.debug("Ошибка закрытия соединения с блокировкой журнала остатков: {}", e.getMessage());
+        }
+    }
+}
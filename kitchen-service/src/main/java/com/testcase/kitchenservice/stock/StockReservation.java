@@ -0,0 +1,41 @@
+package com.testcase.kitchenservice.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Удержание блюд под заказ, прошедший валидацию, но ещё не созданный на кухне.
+ */
+@Getter
+@AllArgsConstructor
+public class StockReservation {
+
+    /**
+     * ID заказа в waiter-service.
+     */
+    private final Long orderId;
+
+    /**
+     * Удержанное количество по ID блюда.
+     */
+    private final Map<Long, Integer> quantities;
+
+    /**
+     * Момент, после которого удержание считается просроченным.
+     */
+    private final Instant expiresAt;
+
+
+    /**
+     * Проверяет, истёк ли срок удержания.
+     *
+     * @param now текущий момент времени
+     * @return {@code true}, если удержание просрочено
+     */
+    public boolean isExpired(Instant now) {
+        return now.isAfter(expiresAt);
+    }
+}
@@ -0,0 +1,151 @@
+package com.testcase.kitchenservice.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сервис удержания блюд под заказы на время между валидацией и созданием заказа на кухне.
+ * <p>
+ * При успешной валидации количество блюд удерживается в {@link DishStockLedger} на ограниченное время.
+ * Сообщение о создании заказа из Kafka подтверждает удержание, поэтому повторная проверка остатков
+ * не нужна. Удержания, не подтверждённые за отведённое время, снимаются фоновой задачей.
+ * </p>
+ * <p>
+ * Удержания живут в памяти экземпляра, поэтому валидация и создание заказа должны попадать в один экземпляр:
+ * экземпляр без удержания списал бы блюда повторно, пока удержание другого не истекло. Это обеспечивается
+ * тем, что kitchen-service работает в одном экземпляре ({@link StockLedgerLock} не даёт запустить второй).
+ * Если удержание потеряно при перезапуске, создание заказа списывает блюда напрямую через журнал остатков,
+ * поэтому блюда не списываются дважды.
+ * </p>
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final Map<Long, StockReservation> reservations = new ConcurrentHashMap<>();
+
+    private final DishStockLedger dishStockLedger;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * Конструктор сервиса удержаний.
+     *
+     * @param dishStockLedger журнал остатков блюд
+     * @param ttlMs           время жизни удержания (в мс, по умолчанию 30000)
+     */
+    public StockReservationService(DishStockLedger dishStockLedger,
+                                   @Value("${kitchen.stock-reservation.ttl-ms:30000}") Long ttlMs) {
+        this.dishStockLedger = dishStockLedger;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.clock = Clock.systemUTC();
+    }
+
+
+    /**
+     * Удерживает блюда под заказ. Предыдущее удержание того же заказа (повторная валидация) снимается.
+     *
+     * @param orderId    ID заказа
+     * @param quantities требуемое количество по ID блюда
+     * @return ID блюда, которого оказалось недостаточно, или пустой {@link Optional} при успехе
+     */
+    public Optional<Long> reserve(Long orderId, Map<Long, Integer> quantities) {
+        StockReservation previous = reservations.remove(orderId);
+        if (previous != null) {
+            dishStockLedger.releaseHeld(previous.getQuantities());
+        }
+
+        Optional<Long> failedDishId = dishStockLedger.tryHold(quantities);
+        if (failedDishId.isEmpty()) {
+            reservations.put(orderId, new StockReservation(orderId, Map.copyOf(quantities),
+                    clock.instant().plus(ttl)));
+            log.debug("Блюда удержаны под заказ с id: {} на {}", orderId, ttl);
+        }
+        return failedDishId;
+    }
+
+
+    /**
+     * Подтверждает удержание блюд при создании заказа на кухне.
+     * <p>
+     * Списание записывается в журнал остатков в текущей транзакции (см. {@link DishStockLedger#confirmHeld(Map)}).
+     * При откате транзакции удержание возвращается обратно, чтобы повторно доставленное сообщение
+     * смогло его подтвердить.
+     * </p>
+     *
+     * @param orderId ID заказа
+     * @return {@code true}, если удержание для заказа существовало и было подтверждено
+     */
+    public boolean confirm(Long orderId) {
+        StockReservation reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reservations.putIfAbsent(orderId, reservation);
+                    }
+                }
+            });
+        }
+        try {
+            dishStockLedger.confirmHeld(reservation.getQuantities());
+        } catch (RuntimeException e) {
+            if (!inTransaction) {
+                reservations.putIfAbsent(orderId, reservation);
+            }
+            throw e;
+        }
+        return true;
+    }
+
+
+    /**
+     * Снимает удержание блюд под заказ, возвращая блюда в доступный остаток.
+     *
+     * @param orderId ID заказа
+     * @return {@code true}, если удержание для заказа существовало и было снято
+     */
+    public boolean release(Long orderId) {
+        StockReservation reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        dishStockLedger.releaseHeld(reservation.getQuantities());
+        return true;
+    }
+
+
+    /**
+     * Снимает просроченные удержания, возвращая блюда в доступный остаток.
+     */
+    @Scheduled(fixedDelayString = "${kitchen.stock-reservation.sweep-interval-ms:5000}")
+    public void releaseExpired() {
+        Instant now = clock.instant();
+        int released = 0;
+        for (StockReservation reservation : reservations.values()) {
+            if (reservation.isExpired(now) && reservations.remove(reservation.getOrderId(), reservation)) {
+                dishStockLedger.releaseHeld(reservation.getQuantities());
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.info("Снято {} просроченных удержаний блюд", released);
+        }
+    }
+}
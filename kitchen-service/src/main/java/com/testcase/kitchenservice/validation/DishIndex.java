@@ -0,0 +1,82 @@
+package com.testcase.kitchenservice.validation;
+
+import com.testcase.kitchenservice.entity.Dish;
+
+import java.util.List;
+
+/**
+ * Индекс блюд по ID на открытой адресации с ключами-примитивами {@code long}.
+ * <p>
+ * Строится один раз на результат выборки блюд и позволяет находить блюдо позиции заказа
+ * за O(1) без упаковки ключей в {@link Long} и без создания промежуточных коллекций.
+ * Индекс неизменяем после построения.
+ * </p>
+ */
+public final class DishIndex {
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int MIN_CAPACITY = 2;
+
+    private final long[] keys;
+    private final Dish[] values;
+    private final int mask;
+
+
+    private DishIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new Dish[capacity];
+        this.mask = capacity - 1;
+    }
+
+
+    /**
+     * Строит индекс по списку блюд. Блюда без ID пропускаются.
+     *
+     * @param dishes блюда, полученные из БД
+     * @return индекс блюд по ID
+     */
+    public static DishIndex of(List<Dish> dishes) {
+        DishIndex index = new DishIndex(dishes.size());
+        for (Dish dish : dishes) {
+            if (dish != null && dish.getDishId() != null) {
+                index.put(dish.getDishId(), dish);
+            }
+        }
+        return index;
+    }
+
+
+    /**
+     * Возвращает блюдо по ID.
+     *
+     * @param dishId ID блюда
+     * @return блюдо или {@code null}, если блюда с таким ID нет в индексе
+     */
+    public Dish get(long dishId) {
+        int slot = slot(dishId);
+        while (values[slot] != null) {
+            if (keys[slot] == dishId) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+
+    private void put(long dishId, Dish dish) {
+        int slot = slot(dishId);
+        while (values[slot] != null && keys[slot] != dishId) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = dishId;
+        values[slot] = dish;
+    }
+
+
+    private int slot(long dishId) {
+        long hash = dishId * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> Integer.SIZE)) & mask;
+    }
+}
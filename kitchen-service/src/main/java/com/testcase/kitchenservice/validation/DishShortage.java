@@ -0,0 +1,64 @@
+package com.testcase.kitchenservice.validation;
+
+import com.testcase.commondto.validation.DishShortageMessages;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Нехватка блюда, обнаруженная при валидации заказа.
+ * <p>
+ * Для блюда, отсутствующего в БД, {@code found} равно {@code false},
+ * а доступный остаток считается нулевым.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class DishShortage {
+
+    /**
+     * ID блюда.
+     */
+    private final Long dishId;
+
+    /**
+     * Краткое название блюда, {@code null} если блюдо не найдено.
+     */
+    private final String shortName;
+
+    /**
+     * Признак того, что блюдо найдено в БД.
+     */
+    private final boolean found;
+
+    /**
+     * Доступный остаток блюда.
+     */
+    private final int available;
+
+    /**
+     * Требуемое количество блюда.
+     */
+    private final int required;
+
+
+    /**
+     * Создаёт нехватку для блюда, которого нет в БД.
+     *
+     * @param dishId   ID блюда
+     * @param required требуемое количество
+     * @return нехватка отсутствующего блюда
+     */
+    public static DishShortage notFound(Long dishId, int required) {
+        return new DishShortage(dishId, null, false, 0, required);
+    }
+
+
+    /**
+     * Формирует текстовое описание нехватки в формате {@link DishShortageMessages}.
+     *
+     * @return описание нехватки блюда
+     */
+    public String describe() {
+        return DishShortageMessages.describe(dishId, shortName, found, available, required);
+    }
+}
@@ -0,0 +1,47 @@
+package com.testcase.kitchenservice.validation;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Результат валидации одного заказа.
+ * <p>
+ * Заказ валиден, если список нехваток пуст.
+ * </p>
+ */
+@Getter
+public class OrderValidationResult {
+
+    /**
+     * ID заказа из waiter-service.
+     */
+    private final Long orderId;
+
+    /**
+     * Нехватки блюд, из-за которых заказ невалиден.
+     */
+    private final List<DishShortage> shortages;
+
+
+    /**
+     * Конструктор результата валидации.
+     *
+     * @param orderId   ID заказа
+     * @param shortages нехватки блюд
+     */
+    public OrderValidationResult(Long orderId, List<DishShortage> shortages) {
+        this.orderId = orderId;
+        this.shortages = List.copyOf(shortages);
+    }
+
+
+    /**
+     * Проверяет, прошёл ли заказ валидацию.
+     *
+     * @return true если всех блюд достаточно
+     */
+    public boolean isValid() {
+        return shortages.isEmpty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.testcase.kitchenservice.validation;
+
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
+import com.testcase.kitchenservice.entity.Dish;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Проверка остатков блюд для позиций заказа.
+ * <p>
+ * Позиции проверяются за один проход по индексу блюд {@link DishIndex}.
+ * Текст ошибок не формируется: результатом является список {@link DishShortage},
+ * который описывается только если заказ действительно невалиден.
+ * </p>
+ */
+public final class StockValidator {
+
+    private StockValidator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Находит нехватки блюд для позиций заказа.
+     *
+     * @param positions позиции заказа
+     * @param index     индекс блюд, полученных из БД
+     * @return список нехваток, пустой если всех блюд достаточно
+     */
+    public static List<DishShortage> findShortages(Collection<OrderPositionDTO> positions, DishIndex index) {
+        List<DishShortage> shortages = null;
+        for (OrderPositionDTO position : positions) {
+            if (position == null) {
+                continue;
+            }
+            Long dishId = position.getMenu().getId();
+            int required = position.getQuantity();
+            Dish dish = index.get(dishId);
+
+            DishShortage shortage = null;
+            if (dish == null) {
+                shortage = DishShortage.notFound(dishId, required);
+            } else if (dish.getBalance() < required) {
+                shortage = new DishShortage(dishId, dish.getShortName(), true, dish.getBalance(), required);
+            }
+
+            if (shortage != null) {
+                if (shortages == null) {
+                    shortages = new ArrayList<>();
+                }
+                shortages.add(shortage);
+            }
+        }
+        return shortages == null ? List.of() : shortages;
+    }
+}
@@ -0,0 +1,4 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_to_dish_dish_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_kitchen_order_waiter_order_no;
+DROP INDEX CONCURRENTLY IF EXISTS idx_kitchen_order_status_create_dttm;
+DROP INDEX CONCURRENTLY IF EXISTS idx_kitchen_order_create_dttm;
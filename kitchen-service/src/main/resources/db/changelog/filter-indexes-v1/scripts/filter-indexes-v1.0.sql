@@ -0,0 +1,14 @@
+-- Индексы для фильтров KitchenOrderMapper.getKitchenOrdersByCriteria:
+-- равенство по колонке фильтра и диапазон по дате создания
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_kitchen_order_create_dttm
+    ON kitchen_order (create_dttm);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_kitchen_order_status_create_dttm
+    ON kitchen_order (status, create_dttm);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_kitchen_order_waiter_order_no
+    ON kitchen_order (waiter_order_no);
+
+-- Индекс внешнего ключа на блюдо; kitchen_order_id покрыт первичным ключом (kitchen_order_id, dish_id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_to_dish_dish_id
+    ON order_to_dish (dish_id);
@@ -0,0 +1,11 @@
+-- Журнал изменений остатков блюд. Изменения записываются в транзакции заказа,
+-- DishStockLedger периодически переносит их в dish.balance; действующий остаток — balance плюс сумма журнала.
+CREATE TABLE IF NOT EXISTS dish_stock_journal (
+                                                  id BIGSERIAL PRIMARY KEY NOT NULL,
+                                                  dish_id BIGINT NOT NULL,
+                                                  delta BIGINT NOT NULL,
+                                                  create_dttm TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_dish_stock_journal_dish_id
+    ON dish_stock_journal (dish_id);
@@ -0,0 +1,46 @@
+package com.testcase.kitchenservice;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Базовый класс интеграционных тестов kitchen-service.
+ * <p>
+ * Контекст приложения поднимается поверх PostgreSQL и Kafka в Testcontainers, схема создаётся
+ * миграциями Liquibase при старте контекста. Контейнеры общие для всех тестовых классов
+ * и останавливаются вместе с JVM, поэтому закэшированный Spring контекст остаётся рабочим.
+ * Без Docker тесты пропускаются.
+ * </p>
+ * <p>
+ * Контекст держит блокировку журнала остатков ({@code StockLedgerLock}) до остановки JVM,
+ * а второй контекст над той же БД не стартует. Поэтому тестовые классы не меняют конфигурацию
+ * контекста и используют один закэшированный контекст.
+ * </p>
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class AbstractIntegrationTest {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    protected static final KafkaContainer KAFKA =
+            new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        Startables.deepStart(POSTGRES, KAFKA).join();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.liquibase.user", POSTGRES::getUsername);
+        registry.add("spring.liquibase.password", POSTGRES::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", KAFKA::getBootstrapServers);
+    }
+}
@@ -0,0 +1,14 @@
+package com.testcase.kitchenservice;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Конфигурация приложения для интеграционных тестов kitchen-service.
+ * <p>
+ * В модуле нет собственного класса приложения, поэтому {@code @SpringBootTest} находит этот класс
+ * поиском вверх по пакетам теста и поднимает контекст со всеми компонентами {@code com.testcase.kitchenservice}.
+ * </p>
+ */
+@SpringBootApplication
+public class KitchenServiceTestApplication {
+}
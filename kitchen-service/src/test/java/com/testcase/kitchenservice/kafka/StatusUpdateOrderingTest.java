@@ -0,0 +1,105 @@
+package com.testcase.kitchenservice.kafka;
+
+import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.kitchenservice.AbstractIntegrationTest;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Обновления статуса нескольких заказов, отправленные вперемешку, читаются в порядке отправки
+ * для каждого заказа, хотя топик разбит на несколько партиций и читается несколькими потребителями.
+ * <p>
+ * Сообщения отправляет {@link KafkaSender} с ключом, равным id заказа, в топик обновлений статуса
+ * kitchen-service. Читает их контейнер, созданный рабочей фабрикой
+ * {@code updateOrderStatusKafkaListenerContainerFactory} (число потребителей равно числу партиций),
+ * с отдельной группой потребителей, чтобы не мешать listeners приложения.
+ * </p>
+ */
+class StatusUpdateOrderingTest extends AbstractIntegrationTest {
+
+    private static final long FIRST_ORDER_ID = 9_000_000L;
+    private static final int ORDERS = 12;
+    private static final int ROUNDS = 20;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final List<OrderStatus> STEPS = List.of(OrderStatus.SENT_TO_KITCHEN, OrderStatus.COOKING,
+            OrderStatus.READY, OrderStatus.PAID_AWAITING_SERVING, OrderStatus.PAID_AND_SERVED);
+
+    @Autowired
+    private KafkaSender kafkaSender;
+
+    @Autowired
+    @Qualifier("updateOrderStatusKafkaListenerContainerFactory")
+    private ConcurrentKafkaListenerContainerFactory<String, UpdateOrderStatusDTO> containerFactory;
+
+    @Value("${spring.kafka.producer.topic.kitchen-order-status-updates}")
+    private String topic;
+
+
+    @Test
+    void statusUpdatesOfEachOrderAreConsumedInSendOrder() {
+        Map<Long, List<OrderStatus>> received = new ConcurrentHashMap<>();
+        Set<Integer> partitions = ConcurrentHashMap.newKeySet();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ConcurrentMessageListenerContainer<String, UpdateOrderStatusDTO> container =
+                containerFactory.createContainer(topic);
+        container.getContainerProperties().setGroupId("status-update-ordering-test");
+        Properties consumerProperties = new Properties();
+        consumerProperties.setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        container.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        container.getContainerProperties().setMessageListener(
+                (MessageListener<String, UpdateOrderStatusDTO>) consumerRecord -> {
+                    long orderId = Long.parseLong(consumerRecord.key());
+                    if (orderId >= FIRST_ORDER_ID && orderId < FIRST_ORDER_ID + ORDERS) {
+                        received.computeIfAbsent(orderId, key -> Collections.synchronizedList(new ArrayList<>()))
+                                .add(consumerRecord.value().getStatus());
+                        partitions.add(consumerRecord.partition());
+                        threads.add(Thread.currentThread().getName());
+                    }
+                });
+
+        Map<Long, List<OrderStatus>> sent = new ConcurrentHashMap<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (OrderStatus status : STEPS) {
+                for (long orderId = FIRST_ORDER_ID; orderId < FIRST_ORDER_ID + ORDERS; orderId++) {
+                    kafkaSender.sendOrderStatusUpdate(new UpdateOrderStatusDTO(orderId, status));
+                    sent.computeIfAbsent(orderId, key -> new ArrayList<>()).add(status);
+                }
+            }
+        }
+
+        container.start();
+        try {
+            await().atMost(TIMEOUT).untilAsserted(() -> assertThat(received.values())
+                    .allSatisfy(statuses -> assertThat(statuses).hasSize(ROUNDS * STEPS.size()))
+                    .hasSize(ORDERS));
+        } finally {
+            container.stop();
+        }
+
+        assertThat(container.getConcurrency()).isGreaterThan(1);
+        assertThat(partitions).hasSizeGreaterThan(1);
+        assertThat(threads).hasSizeGreaterThan(1);
+        sent.forEach((orderId, statuses) -> assertThat(received.get(orderId))
+                .as("Порядок статусов заказа с id: %d", orderId)
+                .containsExactlyElementsOf(statuses));
+    }
+}
@@ -0,0 +1,183 @@
+package com.testcase.kitchenservice.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.kitchenservice.AbstractIntegrationTest;
+import com.testcase.kitchenservice.dto.CriteriaDTO;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Планы запросов поиска заказов кухни используют индексы {@code filter-indexes-v1},
+ * а не последовательное чтение таблиц.
+ * <p>
+ * Таблицы заполняются объёмом, на котором последовательное чтение заметно дороже индексного,
+ * после чего собирается статистика и проверяется план {@code EXPLAIN (FORMAT JSON)} для SQL,
+ * который MyBatis строит по {@code KitchenOrderMapper.getKitchenOrderIdsByCriteria} с переданными критериями.
+ * Данные заполняются в транзакции теста и откатываются после него.
+ * </p>
+ */
+@Transactional
+class FilterIndexPlanTest extends AbstractIntegrationTest {
+
+    private static final int ORDERS = 50_000;
+    private static final long FIRST_ORDER_ID = 1_000_000L;
+    private static final int PAGE_SIZE = 20;
+    private static final long RARE_DISH_ID = 1_000L;
+    private static final long WAITER_ORDER_ID = 777L;
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO kitchen_order (kitchen_order_id, waiter_order_no, status, create_dttm)
+                SELECT ? + i, i,
+                       (ARRAY['SENT_TO_KITCHEN', 'COOKING', 'READY', 'CANCELLED_BY_WAITER'])[1 + i % 4],
+                       CAST(? AS TIMESTAMPTZ) - make_interval(mins => i)
+                FROM generate_series(1, ?) i
+                """, FIRST_ORDER_ID, NOW, ORDERS);
+        jdbcTemplate.update("""
+                INSERT INTO dish (dish_id, balance, short_name, dish_composition)
+                VALUES (?, 0, 'plan-rare', 'plan-rare')
+                ON CONFLICT (dish_id) DO NOTHING
+                """, RARE_DISH_ID);
+        jdbcTemplate.update("""
+                INSERT INTO order_to_dish (kitchen_order_id, dish_id, dishes_number)
+                SELECT ko.kitchen_order_id,
+                       CASE WHEN ko.waiter_order_no % 10000 = 0 THEN ? ELSE 1 + ko.waiter_order_no % 2 END, 1
+                FROM kitchen_order ko
+                WHERE ko.kitchen_order_id > ?
+                """, RARE_DISH_ID, FIRST_ORDER_ID);
+        jdbcTemplate.execute("ANALYZE kitchen_order, order_to_dish, dish");
+    }
+
+
+    @Test
+    void criteriaByStatusAndPeriodUseStatusIndex() {
+        CriteriaDTO criteria = new CriteriaDTO(OrderStatus.READY, NOW.minusHours(2), NOW.minusHours(1), null);
+
+        assertIndexScan(explainCriteria(criteria), "kitchen_order", "idx_kitchen_order_status_create_dttm");
+    }
+
+
+    @Test
+    void criteriaByWaiterOrderUseWaiterOrderIndex() {
+        CriteriaDTO criteria = new CriteriaDTO(null, null, null, WAITER_ORDER_ID);
+
+        assertIndexScan(explainCriteria(criteria), "kitchen_order", "idx_kitchen_order_waiter_order_no");
+    }
+
+
+    @Test
+    void criteriaByPeriodUseCreateDateIndex() {
+        CriteriaDTO criteria = new CriteriaDTO(null, NOW.minusHours(1), NOW, null);
+
+        assertIndexScan(explainCriteria(criteria), "kitchen_order", "idx_kitchen_order_create_dttm");
+    }
+
+
+    @Test
+    void orderDishesByDishUseDishForeignKeyIndex() {
+        JsonNode plan = parse(jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT otd.kitchen_order_id FROM order_to_dish otd WHERE otd.dish_id = ?",
+                String.class, RARE_DISH_ID));
+
+        assertIndexScan(plan, "order_to_dish", "idx_order_to_dish_dish_id");
+    }
+
+
+    private JsonNode explainCriteria(CriteriaDTO criteria) {
+        MappedStatement statement = sqlSessionFactory.getConfiguration()
+                .getMappedStatement(KitchenOrderMapper.class.getName() + ".getKitchenOrderIdsByCriteria");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("criteriaDTO", criteria);
+        parameters.put("limit", PAGE_SIZE);
+        parameters.put("offset", 0L);
+        BoundSql boundSql = statement.getBoundSql(parameters);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + boundSql.getSql())) {
+            new DefaultParameterHandler(statement, parameters, boundSql).setParameters(explain);
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return parse(resultSet.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось получить план запроса: " + boundSql.getSql(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+
+    private JsonNode parse(String plan) {
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось разобрать план запроса: " + plan, e);
+        }
+    }
+
+
+    private static void assertIndexScan(JsonNode plan, String table, String index) {
+        List<JsonNode> scans = new ArrayList<>();
+        collectScans(plan, table, scans);
+
+        assertThat(scans).as("Чтение %s в плане запроса", table).isNotEmpty();
+        assertThat(scans).noneSatisfy(scan -> assertThat(scan.path("Node Type").asText()).isEqualTo("Seq Scan"));
+        assertThat(scans).anySatisfy(scan -> assertThat(scan.path("Index Name").asText()).isEqualTo(index));
+    }
+
+
+    private static void collectScans(JsonNode node, String table, List<JsonNode> scans) {
+        if (table.equals(node.path("Relation Name").asText())) {
+            // Bitmap Heap Scan читает таблицу, а индекс указан в дочерних Bitmap Index Scan
+            addSubtree(node, scans);
+        } else {
+            node.path("Plans").forEach(child -> collectScans(child, table, scans));
+        }
+    }
+
+
+    private static void addSubtree(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        node.path("Plans").forEach(child -> addSubtree(child, nodes));
+    }
+}
@@ -0,0 +1,203 @@
+package com.testcase.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Параметры нагрузочного прогона.
+ * <p>
+ * Все значения читаются из системных свойств {@code load.*}, например
+ * {@code -Dload.orders-per-second=50 -Dload.duration-seconds=120}.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LoadTestConfig {
+
+    private static final String VIRTUAL_PROFILE = "virtual";
+
+    /**
+     * Исполняемый jar waiter-service.
+     */
+    @JsonIgnore
+    private final Path waiterJar;
+
+    /**
+     * Исполняемый jar kitchen-service.
+     */
+    @JsonIgnore
+    private final Path kitchenJar;
+
+    /**
+     * Файл отчёта в формате JSON, по умолчанию {@code load-test-report.json}.
+     */
+    @JsonIgnore
+    private final Path reportFile;
+
+    /**
+     * Каталог для логов сервисов, по умолчанию {@code load-test-logs}.
+     */
+    @JsonIgnore
+    @With(AccessLevel.PRIVATE)
+    private final Path logDir;
+
+    /**
+     * Профили Spring, с которыми запускаются оба сервиса, например {@code virtual} или {@code grpc}.
+     * По умолчанию не заданы.
+     */
+    @With(AccessLevel.PRIVATE)
+    private final String serviceProfiles;
+
+    /**
+     * Выполнить прогон дважды — с сервисами на платформенных и на виртуальных потоках (профиль
+     * {@code virtual}) — и сохранить оба отчёта в один файл, по умолчанию {@code false}.
+     */
+    private final boolean compareThreadModes;
+
+    /**
+     * Частота запуска новых заказов в секунду, по умолчанию 10.
+     */
+    private final double ordersPerSecond;
+
+    /**
+     * Длительность разогрева в секундах, результаты которого не попадают в отчёт, по умолчанию 10.
+     */
+    private final int warmupSeconds;
+
+    /**
+     * Длительность замера в секундах, по умолчанию 60.
+     */
+    private final int durationSeconds;
+
+    /**
+     * Количество позиций в каждом заказе, по умолчанию 3.
+     */
+    private final int positionsPerOrder;
+
+    /**
+     * Количество блюд меню, создаваемых перед прогоном, по умолчанию 100.
+     */
+    private final int menuSize;
+
+    /**
+     * Максимальное количество одновременно выполняемых заказов, по умолчанию 1000.
+     * Заказы сверх лимита не запускаются и учитываются в отчёте как отброшенные.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Количество одновременно работающих официантов для закрытой модели нагрузки, по умолчанию 0.
+     * Если задано, каждый официант проводит заказы один за другим без пауз, а частота
+     * {@link #ordersPerSecond} и лимит {@link #maxInFlight} не используются.
+     */
+    private final int concurrentWaiters;
+
+    /**
+     * Таймаут HTTP-запроса в миллисекундах, по умолчанию 10000.
+     */
+    private final long requestTimeoutMs;
+
+    /**
+     * Время ожидания доставки заказа или статуса через Kafka в миллисекундах, по умолчанию 30000.
+     */
+    private final long propagationTimeoutMs;
+
+    /**
+     * Интервал опроса при ожидании доставки через Kafka в миллисекундах, по умолчанию 10.
+     */
+    private final long propagationPollMs;
+
+    /**
+     * Интервал снятия отставания consumer-групп Kafka в миллисекундах, по умолчанию 1000.
+     */
+    private final long lagSampleIntervalMs;
+
+    /**
+     * Интервал снятия памяти и потоков сервисов в миллисекундах, по умолчанию 1000.
+     */
+    private final long resourceSampleIntervalMs;
+
+    /**
+     * Время ожидания готовности сервиса после запуска в секундах, по умолчанию 180.
+     */
+    private final int startupTimeoutSeconds;
+
+    /**
+     * Образ PostgreSQL, по умолчанию {@code postgres:16-alpine}.
+     */
+    private final String postgresImage;
+
+    /**
+     * Образ Kafka, по умолчанию {@code confluentinc/cp-kafka:7.5.0}.
+     */
+    private final String kafkaImage;
+
+
+    /**
+     * Собирает параметры из системных свойств.
+     *
+     * @return параметры прогона
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Path.of(System.getProperty("load.waiter-jar",
+                        "waiter-service/target/waiter-service-0.0.1-SNAPSHOT-exec.jar")),
+                Path.of(System.getProperty("load.kitchen-jar",
+                        "kitchen-service/target/kitchen-service-0.0.1-SNAPSHOT-exec.jar")),
+                Path.of(System.getProperty("load.report-file", "load-test-report.json")),
+                Path.of(System.getProperty("load.log-dir", "load-test-logs")),
+                System.getProperty("load.service-profiles", ""),
+                Boolean.parseBoolean(System.getProperty("load.compare-thread-modes", "false")),
+                Double.parseDouble(System.getProperty("load.orders-per-second", "10")),
+                intProperty("load.warmup-seconds", "10"),
+                intProperty("load.duration-seconds", "60"),
+                intProperty("load.positions-per-order", "3"),
+                intProperty("load.menu-size", "100"),
+                intProperty("load.max-in-flight", "1000"),
+                intProperty("load.concurrent-waiters", "0"),
+                longProperty("load.request-timeout-ms", "10000"),
+                longProperty("load.propagation-timeout-ms", "30000"),
+                longProperty("load.propagation-poll-ms", "10"),
+                longProperty("load.lag-sample-interval-ms", "1000"),
+                longProperty("load.resource-sample-interval-ms", "1000"),
+                intProperty("load.startup-timeout-seconds", "180"),
+                System.getProperty("load.postgres-image", "postgres:16-alpine"),
+                System.getProperty("load.kafka-image", "confluentinc/cp-kafka:7.5.0"));
+    }
+
+
+    /**
+     * Возвращает копию параметров, в которой профиль {@code virtual} добавлен к профилям сервисов
+     * или убран из них, а логи сервисов пишутся в отдельный подкаталог режима.
+     *
+     * @param virtualThreads запускать ли сервисы на виртуальных потоках
+     * @return параметры прогона для выбранного режима потоков
+     */
+    public LoadTestConfig forThreadMode(boolean virtualThreads) {
+        String profiles = Arrays.stream(serviceProfiles.split(","))
+                .map(String::trim)
+                .filter(profile -> !profile.isEmpty() && !VIRTUAL_PROFILE.equals(profile))
+                .collect(Collectors.joining(","));
+        if (virtualThreads) {
+            profiles = profiles.isEmpty() ? VIRTUAL_PROFILE : profiles + "," + VIRTUAL_PROFILE;
+        }
+        return withServiceProfiles(profiles).withLogDir(logDir.resolve(virtualThreads ? "virtual" : "platform"));
+    }
+
+
+    private static int intProperty(String name, String defaultValue) {
+        return Integer.parseInt(System.getProperty(name, defaultValue));
+    }
+
+
+    private static long longProperty(String name, String defaultValue) {
+        return Long.parseLong(System.getProperty(name, defaultValue));
+    }
+}
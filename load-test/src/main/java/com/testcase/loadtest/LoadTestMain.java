@@ -0,0 +1,152 @@
+package com.testcase.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testcase.loadtest.driver.OrderLifecycleDriver;
+import com.testcase.loadtest.driver.Stage;
+import com.testcase.loadtest.driver.StageLatencies;
+import com.testcase.loadtest.environment.DataSeeder;
+import com.testcase.loadtest.environment.LoadTestEnvironment;
+import com.testcase.loadtest.metrics.DbStatementStats;
+import com.testcase.loadtest.metrics.KafkaLagSampler;
+import com.testcase.loadtest.metrics.ServiceResourceSampler;
+import com.testcase.loadtest.report.KafkaReport;
+import com.testcase.loadtest.report.LifecycleReport;
+import com.testcase.loadtest.report.LoadTestReport;
+import com.testcase.loadtest.report.StageReport;
+import com.testcase.loadtest.report.ThreadModeComparisonReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Точка входа нагрузочного прогона.
+ * <p>
+ * Поднимает окружение, заполняет данные, запускает заказы с заданной частотой сначала на разогрев,
+ * затем на замер, и сохраняет отчёт в JSON. Запуск:
+ * {@code ./mvnw -Pload-test package -DskipTests && ./mvnw -Pload-test -pl load-test exec:java
+ * -Dload.orders-per-second=50}.
+ * </p>
+ * <p>
+ * С {@code -Dload.compare-thread-modes=true} прогон выполняется дважды в новом окружении — с сервисами
+ * на платформенных и на виртуальных потоках — и оба отчёта сохраняются в один файл.
+ * </p>
+ */
+@Slf4j
+public final class LoadTestMain {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private LoadTestMain() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    public static void main(String[] args) throws IOException, InterruptedException, SQLException {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Path reportFile = config.getReportFile().toAbsolutePath();
+        Files.createDirectories(reportFile.getParent());
+        if (config.isCompareThreadModes()) {
+            LoadTestReport platform = runInEnvironment(config.forThreadMode(false), httpClient, objectMapper);
+            LoadTestReport virtual = runInEnvironment(config.forThreadMode(true), httpClient, objectMapper);
+            objectMapper.writeValue(reportFile.toFile(), new ThreadModeComparisonReport(platform, virtual));
+            log.info("Заказов в секунду на платформенных потоках: {}, на виртуальных: {}. Отчёт: {}",
+                    platform.getLifecycles().getCompletedPerSecond(),
+                    virtual.getLifecycles().getCompletedPerSecond(), reportFile);
+        } else {
+            LoadTestReport report = runInEnvironment(config, httpClient, objectMapper);
+            objectMapper.writeValue(reportFile.toFile(), report);
+            log.info("Завершено заказов: {}, с ошибкой: {}, отброшено: {}. Отчёт: {}",
+                    report.getLifecycles().getCompleted(), report.getLifecycles().getFailed(),
+                    report.getLifecycles().getDropped(), reportFile);
+        }
+    }
+
+
+    private static LoadTestReport runInEnvironment(LoadTestConfig config, HttpClient httpClient,
+                                                   ObjectMapper objectMapper)
+            throws IOException, InterruptedException, SQLException {
+        log.info("Прогон с профилями сервисов: '{}'", config.getServiceProfiles());
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(config, httpClient)) {
+            environment.start();
+            DataSeeder seeder = new DataSeeder(environment, config.getMenuSize());
+            seeder.seed();
+            return run(config, environment, httpClient, objectMapper, seeder);
+        }
+    }
+
+
+    private static LoadTestReport run(LoadTestConfig config, LoadTestEnvironment environment, HttpClient httpClient,
+                                      ObjectMapper objectMapper, DataSeeder seeder)
+            throws InterruptedException, SQLException {
+        OrderLifecycleDriver driver = new OrderLifecycleDriver(config, httpClient, objectMapper,
+                environment.getWaiterUrl(), environment.getKitchenUrl(), seeder.getMenuIds(), seeder.getWaiterIds());
+        DbStatementStats dbStatementStats = new DbStatementStats(environment);
+
+        try (KafkaLagSampler lagSampler = new KafkaLagSampler(environment.getKafkaBootstrapServers());
+             ServiceResourceSampler resourceSampler = new ServiceResourceSampler(httpClient, objectMapper,
+                     Map.of("waiter-service", environment.getWaiterUrl(),
+                             "kitchen-service", environment.getKitchenUrl()))) {
+            if (config.getConcurrentWaiters() > 0) {
+                log.info("Разогрев {} с при {} одновременных официантах", config.getWarmupSeconds(),
+                        config.getConcurrentWaiters());
+            } else {
+                log.info("Разогрев {} с при {} заказах в секунду", config.getWarmupSeconds(),
+                        config.getOrdersPerSecond());
+            }
+            driver.start();
+            TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+
+            log.info("Замер {} с", config.getDurationSeconds());
+            dbStatementStats.reset();
+            lagSampler.start(config.getLagSampleIntervalMs());
+            resourceSampler.start(config.getResourceSampleIntervalMs());
+            OffsetDateTime startedAt = OffsetDateTime.now();
+            long measureStart = System.nanoTime();
+            driver.startMeasuring();
+            TimeUnit.SECONDS.sleep(config.getDurationSeconds());
+            driver.stop();
+            double measuredSeconds = (System.nanoTime() - measureStart) / NANOS_PER_SECOND;
+
+            StageLatencies latencies = driver.getLatencies();
+            Map<Stage, StageReport> stages = new EnumMap<>(Stage.class);
+            Map<Stage, StageReport> endToEnd = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                (stage.isPropagation() ? endToEnd : stages).put(stage, latencies.report(stage));
+            }
+            return LoadTestReport.builder()
+                    .config(config)
+                    .startedAt(startedAt)
+                    .measuredSeconds(measuredSeconds)
+                    .lifecycles(new LifecycleReport(driver.getStarted(), driver.getCompleted(), driver.getFailed(),
+                            driver.getDropped(), driver.getCompleted() / measuredSeconds))
+                    .stages(stages)
+                    .errors(latencies.errorsByReason())
+                    .kafka(new KafkaReport(endToEnd, lagSampler.report()))
+                    .databases(dbStatementStats.collect(driver.getCompleted()))
+                    .resources(resourceSampler.report())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.testcase.loadtest.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.loadtest.LoadTestConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Генератор нагрузки: запускает новые заказы с постоянной частотой и проводит каждый через полный
+ * жизненный цикл {@code create → calculate → send-to-kitchen → accept → finish → pay → serve}.
+ * <p>
+ * Модель нагрузки открытая: заказы запускаются по расписанию независимо от того, успели ли завершиться
+ * предыдущие, поэтому замедление сервисов видно по росту задержек, а не маскируется снижением частоты
+ * запросов. Каждый заказ выполняется в своём виртуальном потоке. Доставка через Kafka
+ * ({@link Stage#KITCHEN_RECEIVED}, {@link Stage#WAITER_READY}) замеряется опросом сервиса-получателя.
+ * </p>
+ * <p>
+ * Если задано {@link LoadTestConfig#getConcurrentWaiters()}, модель нагрузки закрытая: заданное количество
+ * официантов в своих виртуальных потоках проводят заказы один за другим без пауз, и нагрузка
+ * ограничивается только тем, как быстро сервисы отвечают. Этот режим используется для сравнения
+ * платформенных и виртуальных потоков сервисов при тысячах одновременных запросов.
+ * </p>
+ */
+@Slf4j
+public final class OrderLifecycleDriver {
+
+    private static final int HTTP_OK_MIN = 200;
+    private static final int HTTP_OK_MAX = 299;
+    private static final int MAX_QUANTITY = 5;
+    private static final int TABLES = 100;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final String READY_STATUS = "READY";
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String waiterUrl;
+    private final String kitchenUrl;
+    private final long[] menuIds;
+    private final long[] waiterIds;
+    private final StageLatencies latencies = new StageLatencies();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Semaphore inFlight;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+    private volatile boolean measuring;
+    private volatile boolean running;
+
+
+    /**
+     * Создаёт генератор нагрузки.
+     *
+     * @param config       параметры прогона
+     * @param httpClient   HTTP-клиент
+     * @param objectMapper сериализатор тел запросов и ответов
+     * @param waiterUrl    базовый URL waiter-service
+     * @param kitchenUrl   базовый URL kitchen-service
+     * @param menuIds      идентификаторы блюд меню для позиций заказов
+     * @param waiterIds    идентификаторы официантов
+     */
+    public OrderLifecycleDriver(LoadTestConfig config, HttpClient httpClient, ObjectMapper objectMapper,
+                                String waiterUrl, String kitchenUrl, long[] menuIds, long[] waiterIds) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.waiterUrl = waiterUrl;
+        this.kitchenUrl = kitchenUrl;
+        this.menuIds = menuIds;
+        this.waiterIds = waiterIds;
+        this.inFlight = new Semaphore(config.getMaxInFlight());
+    }
+
+
+    /**
+     * Начинает запускать заказы с частотой {@link LoadTestConfig#getOrdersPerSecond()}
+     * или, в закрытой модели, запускает {@link LoadTestConfig#getConcurrentWaiters()} официантов.
+     * До вызова {@link #startMeasuring()} заказы считаются разогревом и в статистику не попадают.
+     */
+    public void start() {
+        running = true;
+        if (config.getConcurrentWaiters() > 0) {
+            for (int i = 0; i < config.getConcurrentWaiters(); i++) {
+                workers.execute(this::runWaiter);
+            }
+        } else {
+            long periodNanos = Math.max(1L, Math.round(NANOS_PER_SECOND / config.getOrdersPerSecond()));
+            ticker.scheduleAtFixedRate(this::launch, 0L, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+    /**
+     * Включает запись статистики для заказов, запускаемых после вызова.
+     */
+    public void startMeasuring() {
+        measuring = true;
+    }
+
+
+    /**
+     * Прекращает запуск новых заказов и ожидает завершения уже начатых.
+     *
+     * @throws InterruptedException если ожидание прервано
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        ticker.shutdownNow();
+        workers.shutdown();
+        long drainMs = config.getRequestTimeoutMs() * Stage.values().length + config.getPropagationTimeoutMs() * 2;
+        if (!workers.awaitTermination(drainMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Не все заказы завершились за {} мс, оставшиеся прерываются", drainMs);
+            workers.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Возвращает задержки и ошибки по этапам.
+     *
+     * @return статистика этапов
+     */
+    public StageLatencies getLatencies() {
+        return latencies;
+    }
+
+
+    /**
+     * Возвращает количество заказов, запущенных в период замера.
+     *
+     * @return количество запущенных заказов
+     */
+    public long getStarted() {
+        return started.sum();
+    }
+
+
+    /**
+     * Возвращает количество заказов периода замера, прошедших все этапы.
+     *
+     * @return количество завершённых заказов
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+
+    /**
+     * Возвращает количество заказов периода замера, прерванных ошибкой.
+     *
+     * @return количество неуспешных заказов
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+
+    /**
+     * Возвращает количество заказов периода замера, не запущенных из-за лимита одновременных заказов.
+     *
+     * @return количество отброшенных заказов
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+
+    private void launch() {
+        boolean measured = measuring;
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                dropped.increment();
+            }
+            return;
+        }
+        if (measured) {
+            started.increment();
+        }
+        workers.execute(() -> {
+            try {
+                runLifecycle(measured);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+
+    private void runWaiter() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            boolean measured = measuring;
+            if (measured) {
+                started.increment();
+            }
+            runLifecycle(measured);
+        }
+    }
+
+
+    private void runLifecycle(boolean measured) {
+        Lifecycle lifecycle = new Lifecycle(measured);
+        long start = System.nanoTime();
+        try {
+            long orderId = lifecycle.createOrder();
+            for (int i = 0; i < config.getPositionsPerOrder(); i++) {
+                lifecycle.call(Stage.CALCULATE, post(waiterUrl + "/orders/" + orderId + "/calculate",
+                        Map.of("menuId", randomMenuId(), "quantity", randomQuantity())));
+            }
+            lifecycle.call(Stage.SEND_TO_KITCHEN, post(waiterUrl + "/orders/" + orderId + "/send-to-kitchen", null));
+            lifecycle.await(Stage.KITCHEN_RECEIVED, get(kitchenUrl + "/kitchen/orders/" + orderId), body -> true);
+            lifecycle.call(Stage.ACCEPT, patch(kitchenUrl + "/kitchen/orders/" + orderId + "/accept"));
+            lifecycle.call(Stage.FINISH, patch(kitchenUrl + "/kitchen/orders/" + orderId + "/finish"));
+            lifecycle.await(Stage.WAITER_READY, get(waiterUrl + "/orders/" + orderId + "/status"),
+                    body -> body.contains(READY_STATUS));
+            lifecycle.call(Stage.PAY, post(waiterUrl + "/orders/" + orderId + "/pay?paymentType=CARD", null));
+            lifecycle.call(Stage.SERVE, post(waiterUrl + "/orders/" + orderId + "/serve", null));
+            if (measured) {
+                latencies.recordSuccess(Stage.LIFECYCLE, start);
+                completed.increment();
+            }
+        } catch (StageFailedException e) {
+            if (measured) {
+                failed.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private HttpRequest post(String url, Object body) {
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.noBody();
+        if (body != null) {
+            try {
+                publisher = HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+            }
+        }
+        return request(url).header("Content-Type", "application/json").POST(publisher).build();
+    }
+
+
+    private HttpRequest patch(String url) {
+        return request(url).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+
+    private HttpRequest get(String url) {
+        return request(url).GET().build();
+    }
+
+
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMillis(config.getRequestTimeoutMs()));
+    }
+
+
+    private long randomMenuId() {
+        return menuIds[ThreadLocalRandom.current().nextInt(menuIds.length)];
+    }
+
+
+    private int randomQuantity() {
+        return ThreadLocalRandom.current().nextInt(1, MAX_QUANTITY + 1);
+    }
+
+
+    private static boolean isSuccess(int statusCode) {
+        return statusCode >= HTTP_OK_MIN && statusCode <= HTTP_OK_MAX;
+    }
+
+
+    /**
+     * Выполнение этапов одного заказа с записью статистики, если заказ запущен в период замера.
+     */
+    private final class Lifecycle {
+
+        private final boolean measured;
+
+
+        private Lifecycle(boolean measured) {
+            this.measured = measured;
+        }
+
+
+        private long createOrder() throws StageFailedException, InterruptedException {
+            long waiterId = waiterIds[ThreadLocalRandom.current().nextInt(waiterIds.length)];
+            String tableNumber = "T" + ThreadLocalRandom.current().nextInt(1, TABLES + 1);
+            String body = call(Stage.CREATE, post(waiterUrl + "/orders/create",
+                    Map.of("waiterId", waiterId, "tableNumber", tableNumber)));
+            try {
+                return objectMapper.readTree(body).get("id").asLong();
+            } catch (IOException e) {
+                recordError(Stage.CREATE, "invalid-response");
+                throw new StageFailedException();
+            }
+        }
+
+
+        private String call(Stage stage, HttpRequest request) throws StageFailedException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<String> response = send(stage, request);
+            if (!isSuccess(response.statusCode())) {
+                recordError(stage, String.valueOf(response.statusCode()));
+                throw new StageFailedException();
+            }
+            if (measured) {
+                latencies.recordSuccess(stage, start);
+            }
+            return response.body();
+        }
+
+
+        private void await(Stage stage, HttpRequest request, Predicate<String> condition)
+                throws StageFailedException, InterruptedException {
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getPropagationTimeoutMs());
+            while (System.nanoTime() < deadline) {
+                HttpResponse<String> response = send(stage, request);
+                if (isSuccess(response.statusCode()) && condition.test(response.body())) {
+                    if (measured) {
+                        latencies.recordSuccess(stage, start);
+                    }
+                    return;
+                }
+                Thread.sleep(config.getPropagationPollMs());
+            }
+            recordError(stage, "timeout");
+            throw new StageFailedException();
+        }
+
+
+        private HttpResponse<String> send(Stage stage, HttpRequest request)
+                throws StageFailedException, InterruptedException {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                recordError(stage, e.getClass().getSimpleName());
+                throw new StageFailedException();
+            }
+        }
+
+
+        private void recordError(Stage stage, String reason) {
+            if (measured) {
+                latencies.recordError(stage, reason);
+            }
+        }
+    }
+
+
+    /**
+     * Этап заказа завершился ошибкой, остальные этапы не выполняются.
+     */
+    private static final class StageFailedException extends Exception {
+
+        private StageFailedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.testcase.loadtest.driver;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Этап жизненного цикла заказа, для которого замеряется задержка.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Stage {
+
+    /**
+     * Создание заказа: {@code POST /orders/create}.
+     */
+    CREATE(false),
+
+    /**
+     * Добавление одной позиции: {@code POST /orders/{id}/calculate}.
+     */
+    CALCULATE(false),
+
+    /**
+     * Отправка на кухню с валидацией остатков: {@code POST /orders/{id}/send-to-kitchen}.
+     */
+    SEND_TO_KITCHEN(false),
+
+    /**
+     * Доставка заказа на кухню через Kafka: от ответа на отправку до появления заказа
+     * в {@code GET /kitchen/orders/{id}}.
+     */
+    KITCHEN_RECEIVED(true),
+
+    /**
+     * Принятие заказа кухней: {@code PATCH /kitchen/orders/{id}/accept}.
+     */
+    ACCEPT(false),
+
+    /**
+     * Завершение приготовления: {@code PATCH /kitchen/orders/{id}/finish}.
+     */
+    FINISH(false),
+
+    /**
+     * Доставка статуса READY официанту через Kafka: от ответа на завершение до статуса READY
+     * в {@code GET /orders/{id}/status}.
+     */
+    WAITER_READY(true),
+
+    /**
+     * Оплата: {@code POST /orders/{id}/pay}.
+     */
+    PAY(false),
+
+    /**
+     * Выдача заказа: {@code POST /orders/{id}/serve}.
+     */
+    SERVE(false),
+
+    /**
+     * Весь жизненный цикл заказа от создания до выдачи.
+     */
+    LIFECYCLE(false);
+
+    /**
+     * Этап измеряет доставку сообщения через Kafka, а не время ответа на HTTP-запрос.
+     */
+    private final boolean propagation;
+}
@@ -0,0 +1,104 @@
+package com.testcase.loadtest.driver;
+
+import com.testcase.loadtest.report.StageReport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек и счётчики ошибок по этапам жизненного цикла заказа.
+ * <p>
+ * Задержки пишутся в микросекундах в {@link ConcurrentHistogram}, запись безопасна
+ * из любого количества потоков.
+ * </p>
+ */
+public final class StageLatencies {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double P50 = 50.0;
+    private static final double P90 = 90.0;
+    private static final double P99 = 99.0;
+    private static final double P999 = 99.9;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+    private final Map<Stage, LongAdder> errors = new EnumMap<>(Stage.class);
+    private final Map<String, LongAdder> errorsByReason = new ConcurrentHashMap<>();
+
+
+    /**
+     * Создаёт пустые гистограммы для всех этапов.
+     */
+    public StageLatencies() {
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            errors.put(stage, new LongAdder());
+        }
+    }
+
+
+    /**
+     * Записывает задержку успешно завершённого этапа.
+     *
+     * @param stage      этап
+     * @param startNanos время начала этапа по {@link System#nanoTime()}
+     */
+    public void recordSuccess(Stage stage, long startNanos) {
+        histograms.get(stage).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+
+    /**
+     * Учитывает ошибку этапа.
+     *
+     * @param stage  этап
+     * @param reason краткая причина, например код ответа или тип исключения
+     */
+    public void recordError(Stage stage, String reason) {
+        errors.get(stage).increment();
+        errorsByReason.computeIfAbsent(stage + " " + reason, key -> new LongAdder()).increment();
+    }
+
+
+    /**
+     * Собирает отчёт по этапу.
+     *
+     * @param stage этап
+     * @return перцентили задержки в миллисекундах и количество ошибок
+     */
+    public StageReport report(Stage stage) {
+        Histogram histogram = histograms.get(stage).copy();
+        return new StageReport(
+                histogram.getTotalCount(),
+                errors.get(stage).sum(),
+                toMillis(histogram.getMean()),
+                toMillis(histogram.getValueAtPercentile(P50)),
+                toMillis(histogram.getValueAtPercentile(P90)),
+                toMillis(histogram.getValueAtPercentile(P99)),
+                toMillis(histogram.getValueAtPercentile(P999)),
+                toMillis(histogram.getMaxValue()));
+    }
+
+
+    /**
+     * Возвращает количество ошибок по этапам и причинам.
+     *
+     * @return отсортированные счётчики вида {@code "PAY 400" -> 3}
+     */
+    public Map<String, Long> errorsByReason() {
+        Map<String, Long> result = new TreeMap<>();
+        errorsByReason.forEach((reason, count) -> result.put(reason, count.sum()));
+        return result;
+    }
+
+
+    private static double toMillis(double micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
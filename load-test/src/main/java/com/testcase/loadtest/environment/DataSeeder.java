@@ -0,0 +1,120 @@
+package com.testcase.loadtest.environment;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Заполняет базы сервисов данными для прогона: меню в waiter-service и блюда с большим остатком
+ * в kitchen-service под теми же идентификаторами.
+ * <p>
+ * Блюда создаются после старта сервисов с идентификаторами начиная с {@value #MENU_ID_OFFSET},
+ * поэтому не пересекаются с тестовыми данными из миграций и подгружаются журналом остатков кухни
+ * при первом обращении.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public final class DataSeeder {
+
+    private static final long MENU_ID_OFFSET = 100_000L;
+    private static final int DISH_BALANCE = 1_000_000_000;
+    private static final double BASE_DISH_COST = 100.0;
+    private static final int DISH_COST_STEPS = 50;
+
+    private final LoadTestEnvironment environment;
+    private final int menuSize;
+
+    /**
+     * Идентификаторы созданных блюд меню.
+     */
+    @Getter
+    private long[] menuIds;
+
+    /**
+     * Идентификаторы официантов, от имени которых создаются заказы.
+     */
+    @Getter
+    private long[] waiterIds;
+
+
+    /**
+     * Создаёт меню, блюда и, если их нет, официанта.
+     *
+     * @throws SQLException если данные не удалось записать
+     */
+    public void seed() throws SQLException {
+        menuIds = new long[menuSize];
+        for (int i = 0; i < menuSize; i++) {
+            menuIds[i] = MENU_ID_OFFSET + i + 1;
+        }
+        try (Connection connection = environment.connect(LoadTestEnvironment.WAITER_DATABASE)) {
+            seedMenu(connection);
+            waiterIds = seedWaiters(connection);
+        }
+        try (Connection connection = environment.connect(LoadTestEnvironment.KITCHEN_DATABASE)) {
+            seedDishes(connection);
+        }
+        log.info("Создано {} блюд меню, официантов: {}", menuSize, waiterIds.length);
+    }
+
+
+    private void seedMenu(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO menu (id, dish_name, dish_cost) VALUES (?, ?, ?) ON CONFLICT (id) DO NOTHING")) {
+            for (int i = 0; i < menuIds.length; i++) {
+                int parameter = 1;
+                statement.setLong(parameter++, menuIds[i]);
+                statement.setString(parameter++, "load-dish-" + menuIds[i]);
+                statement.setDouble(parameter, BASE_DISH_COST + i % DISH_COST_STEPS);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+
+    private long[] seedWaiters(Connection connection) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT waiter_id FROM waiter_account")) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("INSERT INTO waiter_account "
+                         + "(name, employment_date, sex) VALUES ('load', now(), 'MALE') RETURNING waiter_id")) {
+                resultSet.next();
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+
+    private void seedDishes(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO dish (dish_id, balance, short_name, dish_composition) VALUES (?, ?, ?, ?) "
+                        + "ON CONFLICT (dish_id) DO UPDATE SET balance = EXCLUDED.balance")) {
+            for (long menuId : menuIds) {
+                int parameter = 1;
+                statement.setLong(parameter++, menuId);
+                statement.setLong(parameter++, DISH_BALANCE);
+                statement.setString(parameter++, "load-dish-" + menuId);
+                statement.setString(parameter, "load");
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.testcase.loadtest.environment;
+
+import com.testcase.loadtest.LoadTestConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Окружение прогона: PostgreSQL и Kafka в контейнерах и оба сервиса, подключённые к ним.
+ * <p>
+ * Обе базы сервисов создаются в одном контейнере PostgreSQL с подключённым расширением
+ * {@code pg_stat_statements}, чтобы считать выполненные сервисами запросы.
+ * </p>
+ */
+@Slf4j
+public final class LoadTestEnvironment implements AutoCloseable {
+
+    /**
+     * База данных waiter-service.
+     */
+    public static final String WAITER_DATABASE = "waiter_service_db";
+
+    /**
+     * База данных kitchen-service.
+     */
+    public static final String KITCHEN_DATABASE = "kitchen_service_db";
+
+    private static final String DB_USER = "postgres";
+    private static final String DB_PASSWORD = "postgres";
+    private static final String MAX_CONNECTIONS = "400";
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final PostgreSQLContainer<?> postgres;
+    private final KafkaContainer kafka;
+    private final List<ServiceProcess> services = new ArrayList<>();
+    private ServiceProcess waiterService;
+    private ServiceProcess kitchenService;
+
+
+    /**
+     * Создаёт окружение, не запуская его.
+     *
+     * @param config     параметры прогона
+     * @param httpClient HTTP-клиент для проверки готовности сервисов
+     */
+    public LoadTestEnvironment(LoadTestConfig config, HttpClient httpClient) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.postgres = new PostgreSQLContainer<>(DockerImageName.parse(config.getPostgresImage())
+                .asCompatibleSubstituteFor("postgres"))
+                .withDatabaseName(WAITER_DATABASE)
+                .withUsername(DB_USER)
+                .withPassword(DB_PASSWORD)
+                .withCommand("postgres",
+                        "-c", "max_connections=" + MAX_CONNECTIONS,
+                        "-c", "shared_preload_libraries=pg_stat_statements",
+                        "-c", "pg_stat_statements.track=all");
+        this.kafka = new KafkaContainer(DockerImageName.parse(config.getKafkaImage())
+                .asCompatibleSubstituteFor("confluentinc/cp-kafka"));
+    }
+
+
+    /**
+     * Запускает контейнеры, создаёт базы и поднимает kitchen-service, затем waiter-service.
+     *
+     * @throws IOException          если сервис не удалось запустить
+     * @throws InterruptedException если ожидание готовности прервано
+     * @throws SQLException         если не удалось подготовить базы данных
+     */
+    public void start() throws IOException, InterruptedException, SQLException {
+        log.info("Запуск PostgreSQL {} и Kafka {}", config.getPostgresImage(), config.getKafkaImage());
+        Startables.deepStart(postgres, kafka).join();
+        prepareDatabases();
+
+        int waiterPort = freePort();
+        int kitchenPort = freePort();
+        String waiterUrl = "http://localhost:" + waiterPort;
+        String kitchenUrl = "http://localhost:" + kitchenPort;
+        Duration startupTimeout = Duration.ofSeconds(config.getStartupTimeoutSeconds());
+
+        List<String> kitchenArgs = serviceArgs(KITCHEN_DATABASE);
+        kitchenArgs.add("--waiter-service.url=" + waiterUrl);
+        kitchenService = register(ServiceProcess.start("kitchen-service", config.getKitchenJar(), kitchenPort,
+                kitchenArgs, config.getLogDir()));
+        kitchenService.awaitHealthy(httpClient, startupTimeout);
+
+        List<String> waiterArgs = serviceArgs(WAITER_DATABASE);
+        waiterArgs.add("--kitchen-service.url=" + kitchenUrl);
+        waiterService = register(ServiceProcess.start("waiter-service", config.getWaiterJar(), waiterPort,
+                waiterArgs, config.getLogDir()));
+        waiterService.awaitHealthy(httpClient, startupTimeout);
+    }
+
+
+    /**
+     * Открывает соединение с базой данных сервиса.
+     *
+     * @param database имя базы данных
+     * @return новое соединение
+     * @throws SQLException если соединение не удалось открыть
+     */
+    public Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection(jdbcUrl(database), DB_USER, DB_PASSWORD);
+    }
+
+
+    /**
+     * Возвращает адрес Kafka для клиентов, запущенных на хосте.
+     *
+     * @return список bootstrap-серверов
+     */
+    public String getKafkaBootstrapServers() {
+        return kafka.getBootstrapServers();
+    }
+
+
+    /**
+     * Возвращает базовый URL waiter-service.
+     *
+     * @return URL вида {@code http://localhost:port}
+     */
+    public String getWaiterUrl() {
+        return waiterService.getBaseUrl();
+    }
+
+
+    /**
+     * Возвращает базовый URL kitchen-service.
+     *
+     * @return URL вида {@code http://localhost:port}
+     */
+    public String getKitchenUrl() {
+        return kitchenService.getBaseUrl();
+    }
+
+
+    /**
+     * Останавливает сервисы в обратном порядке запуска, затем контейнеры.
+     */
+    @Override
+    public void close() {
+        for (int i = services.size() - 1; i >= 0; i--) {
+            services.get(i).close();
+        }
+        kafka.stop();
+        postgres.stop();
+    }
+
+
+    private void prepareDatabases() throws SQLException {
+        try (Connection connection = connect(WAITER_DATABASE);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + KITCHEN_DATABASE);
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        }
+    }
+
+
+    private List<String> serviceArgs(String database) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.url=" + jdbcUrl(database));
+        args.add("--spring.datasource.username=" + DB_USER);
+        args.add("--spring.datasource.password=" + DB_PASSWORD);
+        args.add("--spring.liquibase.user=" + DB_USER);
+        args.add("--spring.liquibase.password=" + DB_PASSWORD);
+        args.add("--spring.kafka.bootstrap-servers=" + kafka.getBootstrapServers());
+        if (!config.getServiceProfiles().isBlank()) {
+            args.add("--spring.profiles.active=" + config.getServiceProfiles());
+        }
+        return args;
+    }
+
+
+    private String jdbcUrl(String database) {
+        return String.format("jdbc:postgresql://%s:%d/%s", postgres.getHost(),
+                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), database);
+    }
+
+
+    private ServiceProcess register(ServiceProcess service) {
+        services.add(service);
+        return service;
+    }
+
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
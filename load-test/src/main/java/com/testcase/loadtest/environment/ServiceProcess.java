@@ -0,0 +1,134 @@
+package com.testcase.loadtest.environment;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервис, запущенный из исполняемого jar в отдельном процессе JVM.
+ * <p>
+ * Сервисы запускаются отдельными процессами, а не в JVM прогона: у каждого свой
+ * {@code application.yml} в корне classpath, а нагрузочный клиент не должен делить с ними
+ * процессор, кучу и сборщик мусора.
+ * </p>
+ */
+@Slf4j
+public final class ServiceProcess implements AutoCloseable {
+
+    private static final long HEALTH_POLL_MS = 500L;
+    private static final long STOP_TIMEOUT_SECONDS = 30L;
+    private static final int HTTP_OK = 200;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final String baseUrl;
+
+    private final Process process;
+
+
+    private ServiceProcess(String name, String baseUrl, Process process) {
+        this.name = name;
+        this.baseUrl = baseUrl;
+        this.process = process;
+    }
+
+
+    /**
+     * Запускает сервис с переданными аргументами Spring Boot.
+     *
+     * @param name    имя сервиса, используется в логах и имени файла лога
+     * @param jar     исполняемый jar сервиса
+     * @param port    HTTP-порт сервиса
+     * @param args    аргументы приложения вида {@code --property=value}
+     * @param logDir  каталог, в который пишется вывод процесса
+     * @return запущенный процесс сервиса
+     * @throws IOException если jar не найден или процесс не удалось запустить
+     */
+    public static ServiceProcess start(String name, Path jar, int port, List<String> args, Path logDir)
+            throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IOException(String.format("Не найден jar сервиса %s: %s. Соберите сервисы командой "
+                    + "./mvnw -Pload-test package -DskipTests", name, jar.toAbsolutePath()));
+        }
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        log.info("Запущен {} на порту {}, лог: {}", name, port, logFile.toAbsolutePath());
+        return new ServiceProcess(name, "http://localhost:" + port, process);
+    }
+
+
+    /**
+     * Ожидает, пока actuator сервиса не ответит статусом 200.
+     *
+     * @param httpClient HTTP-клиент
+     * @param timeout    максимальное время ожидания
+     * @throws IOException          если процесс завершился или не поднялся за отведённое время
+     * @throws InterruptedException если ожидание прервано
+     */
+    public void awaitHealthy(HttpClient httpClient, Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException(String.format("Процесс %s завершился с кодом %d до готовности",
+                        name, process.exitValue()));
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == HTTP_OK) {
+                    log.info("{} готов к приёму запросов", name);
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("{} ещё не принимает запросы: {}", name, e.getMessage());
+            }
+            Thread.sleep(HEALTH_POLL_MS);
+        }
+        throw new IOException(String.format("%s не поднялся за %d с", name, timeout.toSeconds()));
+    }
+
+
+    /**
+     * Останавливает процесс сервиса, при необходимости принудительно.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("{} не остановился за {} с, процесс завершается принудительно", name, STOP_TIMEOUT_SECONDS);
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+}
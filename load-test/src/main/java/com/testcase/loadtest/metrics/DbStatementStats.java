@@ -0,0 +1,114 @@
+package com.testcase.loadtest.metrics;
+
+import com.testcase.loadtest.environment.LoadTestEnvironment;
+import com.testcase.loadtest.report.DatabaseReport;
+import com.testcase.loadtest.report.StatementReport;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Количество и время запросов сервисов к PostgreSQL по данным {@code pg_stat_statements}.
+ * <p>
+ * Статистика сбрасывается в начале периода замера, поэтому в отчёт не попадают миграции,
+ * заполнение данных и разогрев.
+ * </p>
+ */
+@RequiredArgsConstructor
+public final class DbStatementStats {
+
+    private static final int TOP_STATEMENTS = 15;
+
+    private static final String TOTALS_SQL = """
+            SELECT sum(s.calls), sum(s.total_exec_time)
+            FROM pg_stat_statements s
+            JOIN pg_database d ON d.oid = s.dbid
+            WHERE d.datname = ?
+            """;
+
+    private static final String TOP_SQL = """
+            SELECT s.query, s.calls, s.mean_exec_time, s.rows
+            FROM pg_stat_statements s
+            JOIN pg_database d ON d.oid = s.dbid
+            WHERE d.datname = ?
+            ORDER BY s.calls DESC
+            LIMIT ?
+            """;
+
+    private final LoadTestEnvironment environment;
+
+
+    /**
+     * Сбрасывает накопленную статистику запросов во всех базах.
+     *
+     * @throws SQLException если статистику не удалось сбросить
+     */
+    public void reset() throws SQLException {
+        try (Connection connection = environment.connect(LoadTestEnvironment.WAITER_DATABASE);
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_stat_statements_reset()");
+        }
+    }
+
+
+    /**
+     * Собирает статистику запросов по базам обоих сервисов.
+     *
+     * @param completedOrders количество завершённых заказов для расчёта запросов на заказ
+     * @return отчёты по имени базы данных
+     * @throws SQLException если статистику не удалось прочитать
+     */
+    public Map<String, DatabaseReport> collect(long completedOrders) throws SQLException {
+        Map<String, DatabaseReport> result = new TreeMap<>();
+        try (Connection connection = environment.connect(LoadTestEnvironment.WAITER_DATABASE)) {
+            for (String database : List.of(LoadTestEnvironment.WAITER_DATABASE,
+                    LoadTestEnvironment.KITCHEN_DATABASE)) {
+                result.put(database, collect(connection, database, completedOrders));
+            }
+        }
+        return result;
+    }
+
+
+    private DatabaseReport collect(Connection connection, String database, long completedOrders)
+            throws SQLException {
+        long statements = 0;
+        double totalExecTimeMs = 0;
+        try (PreparedStatement totals = connection.prepareStatement(TOTALS_SQL)) {
+            totals.setString(1, database);
+            try (ResultSet resultSet = totals.executeQuery()) {
+                if (resultSet.next()) {
+                    statements = resultSet.getLong(1);
+                    totalExecTimeMs = resultSet.getDouble(2);
+                }
+            }
+        }
+
+        List<StatementReport> top = new ArrayList<>();
+        try (PreparedStatement topStatements = connection.prepareStatement(TOP_SQL)) {
+            topStatements.setString(1, database);
+            topStatements.setInt(2, TOP_STATEMENTS);
+            try (ResultSet resultSet = topStatements.executeQuery()) {
+                while (resultSet.next()) {
+                    long calls = resultSet.getLong("calls");
+                    top.add(new StatementReport(resultSet.getString("query"), calls, perOrder(calls, completedOrders),
+                            resultSet.getDouble("mean_exec_time"), resultSet.getLong("rows")));
+                }
+            }
+        }
+        return new DatabaseReport(statements, perOrder(statements, completedOrders), totalExecTimeMs, top);
+    }
+
+
+    private static double perOrder(long count, long completedOrders) {
+        return completedOrders == 0 ? 0.0 : (double) count / completedOrders;
+    }
+}
@@ -0,0 +1,128 @@
+package com.testcase.loadtest.metrics;
+
+import com.testcase.loadtest.report.ConsumerGroupLagReport;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически снимает отставание всех consumer-групп Kafka: разницу между последним смещением партиции
+ * и смещением, зафиксированным группой.
+ */
+@Slf4j
+public final class KafkaLagSampler implements AutoCloseable {
+
+    private final Admin admin;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, GroupLag> lags = new ConcurrentHashMap<>();
+
+
+    /**
+     * Создаёт сборщик для кластера Kafka.
+     *
+     * @param bootstrapServers адрес Kafka
+     */
+    public KafkaLagSampler(String bootstrapServers) {
+        this.admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+    }
+
+
+    /**
+     * Начинает снимать отставание с заданным интервалом.
+     *
+     * @param intervalMs интервал между замерами в миллисекундах
+     */
+    public void start(long intervalMs) {
+        scheduler.scheduleWithFixedDelay(this::sample, 0L, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Возвращает отставание по группам за всё время замера.
+     *
+     * @return отчёты по имени consumer-группы
+     */
+    public Map<String, ConsumerGroupLagReport> report() {
+        Map<String, ConsumerGroupLagReport> result = new TreeMap<>();
+        lags.forEach((group, lag) -> result.put(group, lag.toReport()));
+        return result;
+    }
+
+
+    /**
+     * Прекращает замеры и закрывает клиент Kafka.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        admin.close();
+    }
+
+
+    private void sample() {
+        try {
+            for (ConsumerGroupListing group : admin.listConsumerGroups().all().get()) {
+                Map<TopicPartition, OffsetAndMetadata> committed = admin
+                        .listConsumerGroupOffsets(group.groupId())
+                        .partitionsToOffsetAndMetadata()
+                        .get();
+                if (committed.isEmpty()) {
+                    continue;
+                }
+                Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+                committed.keySet().forEach(partition -> latest.put(partition, OffsetSpec.latest()));
+                Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets =
+                        admin.listOffsets(latest).all().get();
+
+                long lag = 0;
+                for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : committed.entrySet()) {
+                    if (entry.getValue() != null) {
+                        lag += Math.max(0L, endOffsets.get(entry.getKey()).offset() - entry.getValue().offset());
+                    }
+                }
+                lags.computeIfAbsent(group.groupId(), key -> new GroupLag()).add(lag);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Не удалось получить отставание consumer-групп: {}", e.getCause().getMessage());
+        }
+    }
+
+
+    /**
+     * Накопленные замеры отставания одной группы.
+     */
+    private static final class GroupLag {
+
+        private long max;
+        private long sum;
+        private long samples;
+
+
+        private synchronized void add(long lag) {
+            max = Math.max(max, lag);
+            sum += lag;
+            samples++;
+        }
+
+
+        private synchronized ConsumerGroupLagReport toReport() {
+            return new ConsumerGroupLagReport(max, samples == 0 ? 0.0 : (double) sum / samples, samples);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.testcase.loadtest.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.loadtest.report.ServiceResourceReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически снимает занятую память и количество потоков сервисов через {@code /actuator/metrics}.
+ * <p>
+ * Используются метрики {@code jvm.memory.used} (вся память JVM и отдельно куча) и {@code jvm.threads.live}.
+ * Метрики потоков учитывают только платформенные потоки, поэтому в режиме виртуальных потоков
+ * они показывают, сколько платформенных потоков сервису понадобилось под ту же нагрузку.
+ * </p>
+ */
+@Slf4j
+public final class ServiceResourceSampler implements AutoCloseable {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
+    private static final int HTTP_OK = 200;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Map<String, String> serviceUrls;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, ServiceResources> resources = new ConcurrentHashMap<>();
+
+
+    /**
+     * Создаёт сборщик для набора сервисов.
+     *
+     * @param httpClient   HTTP-клиент
+     * @param objectMapper разборщик ответов actuator
+     * @param serviceUrls  базовые URL сервисов по имени сервиса
+     */
+    public ServiceResourceSampler(HttpClient httpClient, ObjectMapper objectMapper, Map<String, String> serviceUrls) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.serviceUrls = serviceUrls;
+    }
+
+
+    /**
+     * Начинает снимать метрики с заданным интервалом.
+     *
+     * @param intervalMs интервал между замерами в миллисекундах
+     */
+    public void start(long intervalMs) {
+        scheduler.scheduleWithFixedDelay(this::sample, 0L, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Возвращает потребление ресурсов по сервисам за всё время замера.
+     *
+     * @return отчёты по имени сервиса
+     */
+    public Map<String, ServiceResourceReport> report() {
+        Map<String, ServiceResourceReport> result = new TreeMap<>();
+        resources.forEach((service, samples) -> result.put(service, samples.toReport()));
+        return result;
+    }
+
+
+    /**
+     * Прекращает замеры.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+
+    private void sample() {
+        try {
+            for (Map.Entry<String, String> service : serviceUrls.entrySet()) {
+                String baseUrl = service.getValue();
+                double heapUsed = metric(baseUrl, "jvm.memory.used?tag=area:heap");
+                double memoryUsed = metric(baseUrl, "jvm.memory.used");
+                double liveThreads = metric(baseUrl, "jvm.threads.live");
+                resources.computeIfAbsent(service.getKey(), key -> new ServiceResources())
+                        .add(heapUsed, memoryUsed, (long) liveThreads);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Не удалось получить метрики сервиса: {}", e.getMessage());
+        }
+    }
+
+
+    private double metric(String baseUrl, String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + query))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != HTTP_OK) {
+            throw new IOException(String.format("%s вернул статус %d", request.uri(), response.statusCode()));
+        }
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? 0.0 : measurements.get(0).path("value").asDouble();
+    }
+
+
+    /**
+     * Накопленные замеры одного сервиса.
+     */
+    private static final class ServiceResources {
+
+        private double maxHeapUsed;
+        private double sumHeapUsed;
+        private double maxMemoryUsed;
+        private long maxLiveThreads;
+        private long samples;
+
+
+        private synchronized void add(double heapUsed, double memoryUsed, long liveThreads) {
+            maxHeapUsed = Math.max(maxHeapUsed, heapUsed);
+            sumHeapUsed += heapUsed;
+            maxMemoryUsed = Math.max(maxMemoryUsed, memoryUsed);
+            maxLiveThreads = Math.max(maxLiveThreads, liveThreads);
+            samples++;
+        }
+
+
+        private synchronized ServiceResourceReport toReport() {
+            double meanHeapUsed = samples == 0 ? 0.0 : sumHeapUsed / samples;
+            return new ServiceResourceReport(maxHeapUsed / BYTES_PER_MB, meanHeapUsed / BYTES_PER_MB,
+                    maxMemoryUsed / BYTES_PER_MB, maxLiveThreads, samples);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Отставание consumer-группы Kafka: сумма непрочитанных сообщений по всем партициям.
+ */
+@Getter
+@AllArgsConstructor
+public class ConsumerGroupLagReport {
+
+    /**
+     * Максимальное отставание за период замера.
+     */
+    private final long maxLag;
+
+    /**
+     * Среднее отставание по всем замерам.
+     */
+    private final double meanLag;
+
+    /**
+     * Количество замеров.
+     */
+    private final long samples;
+}
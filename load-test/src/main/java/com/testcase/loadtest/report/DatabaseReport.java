@@ -0,0 +1,34 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Запросы, выполненные сервисом в своей базе данных за период замера.
+ */
+@Getter
+@AllArgsConstructor
+public class DatabaseReport {
+
+    /**
+     * Общее количество выполненных запросов.
+     */
+    private final long statements;
+
+    /**
+     * Количество запросов в расчёте на один завершённый заказ.
+     */
+    private final double statementsPerOrder;
+
+    /**
+     * Суммарное время выполнения запросов в миллисекундах.
+     */
+    private final double totalExecTimeMs;
+
+    /**
+     * Самые частые запросы.
+     */
+    private final List<StatementReport> topStatements;
+}
@@ -0,0 +1,25 @@
+package com.testcase.loadtest.report;
+
+import com.testcase.loadtest.driver.Stage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Сквозная задержка доставки через Kafka и отставание consumer-групп сервисов.
+ */
+@Getter
+@AllArgsConstructor
+public class KafkaReport {
+
+    /**
+     * Задержка от HTTP-ответа сервиса-отправителя до видимости изменения в сервисе-получателе.
+     */
+    private final Map<Stage, StageReport> endToEnd;
+
+    /**
+     * Отставание consumer-групп по имени группы.
+     */
+    private final Map<String, ConsumerGroupLagReport> consumerGroupLag;
+}
@@ -0,0 +1,37 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Итоги по заказам, запущенным в период замера.
+ */
+@Getter
+@AllArgsConstructor
+public class LifecycleReport {
+
+    /**
+     * Количество запущенных заказов.
+     */
+    private final long started;
+
+    /**
+     * Количество заказов, прошедших все этапы до выдачи.
+     */
+    private final long completed;
+
+    /**
+     * Количество заказов, прерванных ошибкой одного из этапов.
+     */
+    private final long failed;
+
+    /**
+     * Количество заказов, не запущенных из-за лимита одновременно выполняемых заказов.
+     */
+    private final long dropped;
+
+    /**
+     * Фактическая пропускная способность: завершённые заказы в секунду периода замера.
+     */
+    private final double completedPerSecond;
+}
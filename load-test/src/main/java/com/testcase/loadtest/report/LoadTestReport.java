@@ -0,0 +1,62 @@
+package com.testcase.loadtest.report;
+
+import com.testcase.loadtest.LoadTestConfig;
+import com.testcase.loadtest.driver.Stage;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Машиночитаемый отчёт нагрузочного прогона, сохраняется в JSON.
+ */
+@Getter
+@Builder
+public class LoadTestReport {
+
+    /**
+     * Параметры прогона.
+     */
+    private final LoadTestConfig config;
+
+    /**
+     * Время начала периода замера.
+     */
+    private final OffsetDateTime startedAt;
+
+    /**
+     * Фактическая длительность периода замера в секундах, включая завершение начатых заказов.
+     */
+    private final double measuredSeconds;
+
+    /**
+     * Итоги по заказам.
+     */
+    private final LifecycleReport lifecycles;
+
+    /**
+     * Задержки HTTP-этапов и всего жизненного цикла.
+     */
+    private final Map<Stage, StageReport> stages;
+
+    /**
+     * Количество ошибок по этапам и причинам.
+     */
+    private final Map<String, Long> errors;
+
+    /**
+     * Задержки доставки через Kafka.
+     */
+    private final KafkaReport kafka;
+
+    /**
+     * Запросы к базам данных по имени базы.
+     */
+    private final Map<String, DatabaseReport> databases;
+
+    /**
+     * Память и потоки сервисов по имени сервиса.
+     */
+    private final Map<String, ServiceResourceReport> resources;
+}
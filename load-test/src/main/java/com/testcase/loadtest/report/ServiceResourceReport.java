@@ -0,0 +1,37 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Потребление памяти и потоков сервисом за период замера по метрикам actuator.
+ */
+@Getter
+@AllArgsConstructor
+public class ServiceResourceReport {
+
+    /**
+     * Максимальный занятый объём кучи в мегабайтах.
+     */
+    private final double maxHeapUsedMb;
+
+    /**
+     * Средний занятый объём кучи в мегабайтах.
+     */
+    private final double meanHeapUsedMb;
+
+    /**
+     * Максимальный занятый объём памяти JVM (куча и вне кучи) в мегабайтах.
+     */
+    private final double maxMemoryUsedMb;
+
+    /**
+     * Максимальное количество живых платформенных потоков. Виртуальные потоки в метрике не учитываются.
+     */
+    private final long maxLiveThreads;
+
+    /**
+     * Количество замеров.
+     */
+    private final long samples;
+}
@@ -0,0 +1,52 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Задержка этапа жизненного цикла заказа в миллисекундах.
+ */
+@Getter
+@AllArgsConstructor
+public class StageReport {
+
+    /**
+     * Количество успешно завершённых этапов.
+     */
+    private final long count;
+
+    /**
+     * Количество ошибок этапа.
+     */
+    private final long errors;
+
+    /**
+     * Средняя задержка.
+     */
+    private final double meanMs;
+
+    /**
+     * Медиана задержки.
+     */
+    private final double p50Ms;
+
+    /**
+     * 90-й перцентиль задержки.
+     */
+    private final double p90Ms;
+
+    /**
+     * 99-й перцентиль задержки.
+     */
+    private final double p99Ms;
+
+    /**
+     * 99,9-й перцентиль задержки.
+     */
+    private final double p999Ms;
+
+    /**
+     * Максимальная задержка.
+     */
+    private final double maxMs;
+}
@@ -0,0 +1,37 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Статистика одного нормализованного запроса из {@code pg_stat_statements}.
+ */
+@Getter
+@AllArgsConstructor
+public class StatementReport {
+
+    /**
+     * Текст запроса с параметрами, заменёнными на {@code $n}.
+     */
+    private final String query;
+
+    /**
+     * Количество выполнений.
+     */
+    private final long calls;
+
+    /**
+     * Количество выполнений в расчёте на один завершённый заказ.
+     */
+    private final double callsPerOrder;
+
+    /**
+     * Среднее время выполнения в миллисекундах.
+     */
+    private final double meanExecTimeMs;
+
+    /**
+     * Суммарное количество возвращённых или изменённых строк.
+     */
+    private final long rows;
+}
@@ -0,0 +1,22 @@
+package com.testcase.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Сравнение одного и того же прогона на платформенных и виртуальных потоках сервисов.
+ */
+@Getter
+@AllArgsConstructor
+public class ThreadModeComparisonReport {
+
+    /**
+     * Прогон с сервисами на платформенных потоках (без профиля {@code virtual}).
+     */
+    private final LoadTestReport platform;
+
+    /**
+     * Прогон с сервисами на виртуальных потоках (профиль {@code virtual}).
+     */
+    private final LoadTestReport virtual;
+}
@@ -0,0 +1,134 @@
+package com.testcase.waiterservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.waiterservice.mapper.MenuMapper;
+import com.testcase.waiterservice.repository.MenuRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Кэш позиций меню со сквозным чтением из БД.
+ * <p>
+ * Позиции хранятся по ID, а полный список меню — отдельным снимком, чтобы запрос всего меню
+ * не собирал список из отдельных записей. Загрузка снимка заодно заполняет кэш по ID.
+ * Оба кэша ограничены по размеру и времени жизни записи, а также могут быть сброшены явно
+ * через {@link #invalidate(Long)} и {@link #invalidateAll()}.
+ * </p>
+ * <p>
+ * Метрики попаданий, промахов и вытеснений публикуются в actuator как {@code cache.*}
+ * с тегами {@code cache=menu} и {@code cache=menu-all}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MenuCache {
+
+    private static final String ALL_MENUS_KEY = "all";
+
+    private final MenuRepository menuRepository;
+    private final MenuMapper menuMapper;
+    private final Cache<Long, MenuDTO> menusById;
+    private final Cache<String, List<MenuDTO>> allMenus;
+
+
+    /**
+     * Конструктор кэша меню.
+     *
+     * @param menuRepository репозиторий меню
+     * @param menuMapper маппер сущностей меню в DTO
+     * @param meterRegistry реестр метрик
+     * @param maximumSize максимальное количество позиций меню в кэше, по умолчанию 1000
+     * @param expireAfterWriteMs время жизни записи в миллисекундах, по умолчанию 300000
+     */
+    public MenuCache(MenuRepository menuRepository,
+                     MenuMapper menuMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${waiter.menu-cache.maximum-size:1000}") long maximumSize,
+                     @Value("${waiter.menu-cache.expire-after-write-ms:300000}") long expireAfterWriteMs) {
+        this.menuRepository = menuRepository;
+        this.menuMapper = menuMapper;
+        Duration ttl = Duration.ofMillis(expireAfterWriteMs);
+        this.menusById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.allMenus = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, menusById, "menu");
+        CaffeineCacheMetrics.monitor(meterRegistry, allMenus, "menu-all");
+    }
+
+
+    /**
+     * Возвращает позицию меню по ID, при промахе читая её из БД.
+     * Отсутствующие в БД позиции не кэшируются.
+     *
+     * @param id идентификатор позиции меню
+     * @return найденная позиция меню или пустой {@link Optional}
+     */
+    public Optional<MenuDTO> get(Long id) {
+        return Optional.ofNullable(menusById.get(id, key -> menuRepository.findById(key)
+                .map(menuMapper::toMenuDTO)
+                .orElse(null)));
+    }
+
+
+    /**
+     * Возвращает снимок всех позиций меню, при промахе читая меню из БД целиком.
+     *
+     * @return неизменяемый список всех позиций меню
+     */
+    public List<MenuDTO> getAll() {
+        return allMenus.get(ALL_MENUS_KEY, key -> {
+            List<MenuDTO> menus = List.copyOf(menuMapper.toMenuDTOList(menuRepository.findAll()));
+            menus.forEach(menu -> menusById.put(menu.getId(), menu));
+            log.debug("Снимок меню загружен из БД: {} позиций", menus.size());
+            return menus;
+        });
+    }
+
+
+    /**
+     * Сбрасывает позицию меню и снимок всего меню.
+     *
+     * @param id идентификатор изменённой позиции меню
+     */
+    public void invalidate(Long id) {
+        menusById.invalidate(id);
+        allMenus.invalidateAll();
+        log.info("Позиция меню с id: {} удалена из кэша", id);
+    }
+
+
+    /**
+     * Полностью очищает кэш меню.
+     */
+    public void invalidateAll() {
+        menusById.invalidateAll();
+        allMenus.invalidateAll();
+        log.info("Кэш меню очищен");
+    }
+
+
+    /**
+     * Возвращает количество позиций меню в кэше.
+     *
+     * @return приблизительное количество записей кэша по ID
+     */
+    public long size() {
+        return menusById.estimatedSize();
+    }
+}
@@ -0,0 +1,56 @@
+package com.testcase.waiterservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator-эндпоинт {@code /actuator/menucache} для просмотра и сброса кэша меню.
+ * <p>
+ * {@code GET} возвращает количество закэшированных позиций, {@code DELETE} очищает кэш целиком,
+ * {@code DELETE /actuator/menucache/{id}} сбрасывает одну позицию меню.
+ * </p>
+ */
+@Component
+@Endpoint(id = "menucache")
+@RequiredArgsConstructor
+public class MenuCacheEndpoint {
+
+    private final MenuCache menuCache;
+
+
+    /**
+     * Возвращает состояние кэша меню.
+     *
+     * @return количество позиций меню в кэше
+     */
+    @ReadOperation
+    public Map<String, Long> size() {
+        return Map.of("size", menuCache.size());
+    }
+
+
+    /**
+     * Полностью очищает кэш меню.
+     */
+    @DeleteOperation
+    public void invalidateAll() {
+        menuCache.invalidateAll();
+    }
+
+
+    /**
+     * Сбрасывает позицию меню в кэше.
+     *
+     * @param id идентификатор позиции меню
+     */
+    @DeleteOperation
+    public void invalidate(@Selector Long id) {
+        menuCache.invalidate(id);
+    }
+}
@@ -14,4 +14,23 @@ public interface ValidationClient {
      * @return {@link Boolean} результат валидации (true — заказ валиден, иначе поступит сообщение об ошибке)
      */
     Boolean validateOrder(OrderValidationDTO validationDTO);
+
+
+    /**
+     * Просит сервис кухни снять удержание блюд, сделанное успешной валидацией заказа.
+     * Вызывается, если заказ после валидации не удалось отправить на кухню, чтобы блюда
+     * не оставались удержанными до истечения удержания.
+     *
+     * @param orderId идентификатор заказа
+     */
+    void releaseOrder(Long orderId);
+
+
+    /**
+     * Возвращает транспорт, через который клиент обращается к сервису кухни.
+     * Используется как тег {@code transport} метрики {@code validation.client.requests}.
+     *
+     * @return название транспорта: {@code feign}, {@code grpc} или {@code grpc-stream}
+     */
+    String transport();
 }
@@ -0,0 +1,122 @@
+package com.testcase.waiterservice.client.grpc;
+
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул долгоживущих gRPC-каналов до kitchen-service.
+ * <p>
+ * Каналы создаются один раз при старте приложения и переиспользуются всеми вызовами,
+ * запросы распределяются между ними по кругу (round-robin). При остановке приложения
+ * пул дожидается завершения активных RPC в пределах заданного таймаута
+ * и только после этого принудительно закрывает каналы.
+ * </p>
+ * <p>
+ * В реестр метрик публикуются количество каналов в каждом {@link ConnectivityState}
+ * и количество RPC в полёте.
+ * </p>
+ */
+@Slf4j
+public class GrpcChannelPool {
+
+    private final List<ManagedChannel> managedChannels;
+    private final List<Channel> channels;
+    private final InFlightCallsInterceptor inFlightCallsInterceptor;
+    private final long shutdownTimeoutMs;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+
+    /**
+     * Создаёт пул поверх уже построенных каналов и регистрирует метрики.
+     *
+     * @param managedChannels   каналы пула
+     * @param shutdownTimeoutMs время ожидания завершения активных RPC при остановке (в мс)
+     * @param meterRegistry     реестр метрик
+     */
+    public GrpcChannelPool(List<ManagedChannel> managedChannels,
+                           long shutdownTimeoutMs,
+                           MeterRegistry meterRegistry) {
+        if (managedChannels.isEmpty()) {
+            throw new IllegalArgumentException("Пул gRPC-каналов не может быть пустым");
+        }
+        this.managedChannels = List.copyOf(managedChannels);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.inFlightCallsInterceptor = new InFlightCallsInterceptor();
+
+        List<Channel> intercepted = new ArrayList<>(managedChannels.size());
+        for (ManagedChannel channel : managedChannels) {
+            intercepted.add(ClientInterceptors.intercept(channel, inFlightCallsInterceptor));
+        }
+        this.channels = List.copyOf(intercepted);
+
+        registerMetrics(meterRegistry);
+    }
+
+
+    /**
+     * Возвращает следующий канал пула по алгоритму round-robin.
+     *
+     * @return канал для выполнения RPC
+     */
+    public Channel next() {
+        return channels.get(Math.floorMod(nextIndex.getAndIncrement(), channels.size()));
+    }
+
+
+    /**
+     * Корректно останавливает все каналы пула.
+     * <p>
+     * Сначала каналы перестают принимать новые вызовы, затем пул ожидает завершения
+     * уже начатых RPC. Если за {@code shutdownTimeoutMs} они не завершились, каналы закрываются принудительно.
+     * </p>
+     */
+    public void shutdown() {
+        log.info("Остановка пула gRPC-каналов, RPC в полёте: {}", inFlightCallsInterceptor.getInFlight());
+        managedChannels.forEach(ManagedChannel::shutdown);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            for (ManagedChannel channel : managedChannels) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !channel.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("gRPC-канал не завершился за {} мс, принудительное закрытие", shutdownTimeoutMs);
+                    channel.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            managedChannels.forEach(ManagedChannel::shutdownNow);
+        }
+    }
+
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        for (ConnectivityState state : ConnectivityState.values()) {
+            Gauge.builder("grpc.client.channels", this, pool -> pool.countChannelsIn(state))
+                    .description("Количество gRPC-каналов пула в заданном состоянии")
+                    .tag("state", state.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("grpc.client.calls.in-flight", inFlightCallsInterceptor,
+                        InFlightCallsInterceptor::getInFlight)
+                .description("Количество незавершённых gRPC-вызовов")
+                .register(meterRegistry);
+    }
+
+
+    private long countChannelsIn(ConnectivityState state) {
+        return managedChannels.stream()
+                .filter(channel -> channel.getState(false) == state)
+                .count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.testcase.waiterservice.client.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Перехватчик gRPC-вызовов, считающий количество RPC, которые находятся "в полёте".
+ * <p>
+ * Счётчик увеличивается при старте вызова и уменьшается при его закрытии
+ * (успешном, с ошибкой или по дедлайну). Значение публикуется как метрика пулом каналов.
+ * </p>
+ */
+public class InFlightCallsInterceptor implements ClientInterceptor {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+
+    /**
+     * Возвращает текущее количество незавершённых RPC.
+     *
+     * @return количество вызовов в полёте
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+
+    @Override
+    public <Q, R> ClientCall<Q, R> interceptCall(MethodDescriptor<Q, R> method,
+                                                 CallOptions callOptions,
+                                                 Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+
+            private final AtomicBoolean closed = new AtomicBoolean();
+
+            @Override
+            public void start(Listener<R> responseListener, Metadata headers) {
+                inFlight.incrementAndGet();
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                            responseListener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            release();
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    release();
+                    throw e;
+                }
+            }
+
+            private void release() {
+                if (closed.compareAndSet(false, true)) {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.testcase.waiterservice.client.grpc;
+
+import com.education.grpc.ValidationResponse;
+import com.testcase.commondto.validation.DishShortageMessages;
+
+/**
+ * Формирование текста ошибки по ответу валидации kitchen-service.
+ * <p>
+ * Kitchen-service возвращает нехватки блюд типизированными полями, текст строится только
+ * для невалидного заказа через {@link DishShortageMessages}, как и в ответе REST API кухни.
+ * </p>
+ */
+public final class ValidationResponses {
+
+    private ValidationResponses() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Описывает причины, по которым заказ не прошёл валидацию.
+     *
+     * @param response ответ валидации
+     * @return описание нехваток блюд или текстовые ошибки ответа, если нехватки не переданы
+     */
+    public static String describeErrors(ValidationResponse response) {
+        if (response.getShortagesCount() == 0) {
+            return String.join("; ", response.getErrorsList());
+        }
+        return response.getShortagesList().stream()
+                .map(DishShortageMessages::describe)
+                .collect(DishShortageMessages.joining());
+    }
+}
@@ -3,6 +3,7 @@ package com.testcase.waiterservice.client.impl;
 import com.testcase.commondto.waiterservice.OrderValidationDTO;
 import com.testcase.waiterservice.client.ValidationClient;
 import feign.Headers;
+import feign.Param;
 import feign.RequestLine;
 import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -19,4 +20,21 @@ public interface FeignValidationClient extends ValidationClient {
     @RequestLine("POST /internal/kitchen/orders/validate")
     @Headers("Content-Type: application/json")
     Boolean validateOrder(@RequestBody OrderValidationDTO validationDTO);
+
+
+    @Override
+    @RequestLine("DELETE /internal/kitchen/orders/{orderId}/reservation")
+    void releaseOrder(@Param("orderId") Long orderId);
+
+
+    /**
+     * Возвращает транспорт клиента для тега метрики {@code validation.client.requests}.
+     * Метод по умолчанию не отправляет HTTP-запрос: Feign вызывает его напрямую.
+     *
+     * @return {@code "feign"}
+     */
+    @Override
+    default String transport() {
+        return "feign";
+    }
 }
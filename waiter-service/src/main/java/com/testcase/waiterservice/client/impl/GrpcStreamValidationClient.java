@@ -0,0 +1,283 @@
+package com.testcase.waiterservice.client.impl;
+
+import com.education.grpc.GrpcOrderValidationDTOProto;
+import com.education.grpc.KitchenValidationServiceGrpc;
+import com.education.grpc.ValidationResponse;
+import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.waiterservice.client.ValidationClient;
+import com.testcase.waiterservice.client.grpc.GrpcChannelPool;
+import com.testcase.waiterservice.client.grpc.ValidationResponses;
+import com.testcase.waiterservice.mapper.OrderValidationToGrpcMapper;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Клиент валидации заказа через двунаправленный gRPC-поток kitchen-service.
+ * <p>
+ * Заказы всех официантов отправляются в один долгоживущий поток {@code ValidateOrders},
+ * ответы сопоставляются с ожидающими вызовами по ID заказа. Kitchen-service валидирует заказы пакетами,
+ * поэтому при одновременной отправке многих заказов не платится полный цикл RPC за каждый.
+ * Если поток оборван, ожидающие вызовы завершаются ошибкой, а следующий вызов открывает новый поток.
+ * </p>
+ * <p>
+ * Успешная валидация удерживает блюда на кухне до создания заказа. Если ответ не получен до дедлайна,
+ * клиент отправляет в поток сообщение {@code release} с ID заказа, и kitchen-service снимает удержание,
+ * не дожидаясь его истечения. Так же снимается удержание заказа, который после валидации не удалось
+ * отправить на кухню. Если поток к этому моменту оборван, удержание истечёт по таймауту.
+ * </p>
+ * <p>
+ * Отправка в поток защищена {@link ReentrantLock}, а не {@code synchronized}, чтобы виртуальный поток,
+ * ожидающий блокировку, не закреплял поток-носитель.
+ * </p>
+ */
+@Slf4j
+@Service
+@Profile("grpc")
+@ConditionalOnProperty(prefix = "grpc.client", name = "type", havingValue = "grpc-stream")
+public class GrpcStreamValidationClient implements ValidationClient, DisposableBean {
+
+    private final GrpcChannelPool channelPool;
+    private final long deadlineMs;
+    private final OrderValidationToGrpcMapper mapper;
+    private final ReentrantLock streamLock = new ReentrantLock();
+    private ValidationStream stream;
+
+
+    /**
+     * Конструктор клиента.
+     *
+     * @param channelPool пул gRPC-каналов до kitchen-service
+     * @param deadlineMs  время ожидания ответа на один заказ (в мс, по умолчанию 3000)
+     * @param mapper      маппер DTO → gRPC DTO
+     */
+    public GrpcStreamValidationClient(GrpcChannelPool channelPool,
+                                      @Value("${grpc.client.deadline-ms:3000}") long deadlineMs,
+                                      OrderValidationToGrpcMapper mapper) {
+        this.channelPool = channelPool;
+        this.deadlineMs = deadlineMs;
+        this.mapper = mapper;
+    }
+
+
+    /**
+     * Возвращает транспорт клиента для тега метрики {@code validation.client.requests}.
+     *
+     * @return {@code "grpc-stream"}
+     */
+    @Override
+    public String transport() {
+        return "grpc-stream";
+    }
+
+
+    /**
+     * Метод валидации заказа через поток gRPC kitchen-service.
+     *
+     * @param validationDTO DTO с заказом и блюдами
+     * @return true — если валидация прошла успешно
+     * @throws IllegalArgumentException если блюд недостаточно
+     * @throws IllegalStateException если тот же заказ уже валидируется
+     * @throws io.grpc.StatusRuntimeException если поток оборван, ответ не получен до истечения дедлайна
+     *         или kitchen-service не смог валидировать заказ (код ошибки передаётся в ответе на заказ)
+     */
+    @Override
+    public Boolean validateOrder(OrderValidationDTO validationDTO) {
+        log.debug("Валидация заказа с id: {} через поток gRPC", validationDTO.getOrderId());
+        GrpcOrderValidationDTOProto request = mapper.toGrpc(validationDTO);
+        ValidationResponse response = await(request.getOrderId(), send(request));
+
+        if (response.getStatusCode() != Status.Code.OK.value()) {
+            throw Status.fromCodeValue(response.getStatusCode())
+                    .withDescription(response.getStatusDescription())
+                    .asRuntimeException();
+        }
+        if (!response.getValid()) {
+            throw new IllegalArgumentException(
+                    "Ошибка валидации заказа: " + ValidationResponses.describeErrors(response));
+        }
+        return true;
+    }
+
+
+    @Override
+    public void destroy() {
+        streamLock.lock();
+        try {
+            if (stream != null) {
+                stream.requests.onCompleted();
+            }
+        } finally {
+            streamLock.unlock();
+        }
+    }
+
+
+    private CompletableFuture<ValidationResponse> send(GrpcOrderValidationDTOProto request) {
+        streamLock.lock();
+        try {
+            if (stream == null || stream.closed) {
+                stream = new ValidationStream();
+            }
+            return stream.send(request);
+        } finally {
+            streamLock.unlock();
+        }
+    }
+
+
+    /**
+     * Просит kitchen-service снять удержание блюд заказа сообщением {@code release} в поток валидации.
+     * Используется, если ответ на валидацию не дождались или заказ не удалось отправить на кухню.
+     * Если поток закрыт, удержание истечёт по таймауту.
+     *
+     * @param orderId идентификатор заказа
+     */
+    @Override
+    public void releaseOrder(Long orderId) {
+        streamLock.lock();
+        try {
+            if (stream != null && !stream.closed) {
+                stream.release(orderId);
+            }
+        } finally {
+            streamLock.unlock();
+        }
+    }
+
+
+    private ValidationResponse await(long orderId, CompletableFuture<ValidationResponse> future) {
+        try {
+            return future.get(deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            releaseOrder(orderId);
+            throw Status.DEADLINE_EXCEEDED
+                    .withDescription("Ответ на валидацию не получен за " + deadlineMs + " мс")
+                    .asRuntimeException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            releaseOrder(orderId);
+            Thread.currentThread().interrupt();
+            throw Status.CANCELLED.withDescription("Ожидание валидации прервано").asRuntimeException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw Status.fromThrowable(e.getCause()).asRuntimeException();
+        }
+    }
+
+
+    /**
+     * Один открытый поток валидации и ожидающие в нём ответы.
+     * <p>
+     * Отправка запросов выполняется под {@code streamLock} клиента, закрытие потока приходит из потоков gRPC,
+     * поэтому изменение {@code pending} и признака {@code closed} выполняется под блокировкой самого потока.
+     * </p>
+     */
+    private final class ValidationStream implements StreamObserver<ValidationResponse> {
+
+        private final Map<Long, CompletableFuture<ValidationResponse>> pending = new ConcurrentHashMap<>();
+        private final StreamObserver<GrpcOrderValidationDTOProto> requests;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean closed;
+
+
+        private ValidationStream() {
+            this.requests = KitchenValidationServiceGrpc.newStub(channelPool.next()).validateOrders(this);
+            log.info("Открыт поток валидации заказов через gRPC");
+        }
+
+
+        private CompletableFuture<ValidationResponse> send(GrpcOrderValidationDTOProto request) {
+            Long orderId = request.getOrderId();
+            lock.lock();
+            try {
+                if (closed) {
+                    return CompletableFuture.failedFuture(Status.UNAVAILABLE
+                            .withDescription("Поток валидации закрыт").asRuntimeException());
+                }
+                CompletableFuture<ValidationResponse> future = new CompletableFuture<>();
+                if (pending.putIfAbsent(orderId, future) != null) {
+                    return CompletableFuture.failedFuture(new IllegalStateException(
+                            String.format("Заказ с id: %d уже валидируется", orderId)));
+                }
+                future.whenComplete((response, error) -> pending.remove(orderId, future));
+                requests.onNext(request);
+                return future;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+
+        private void release(long orderId) {
+            lock.lock();
+            try {
+                if (!closed) {
+                    requests.onNext(GrpcOrderValidationDTOProto.newBuilder()
+                            .setOrderId(orderId)
+                            .setRelease(true)
+                            .build());
+                    log.debug("Запрошено снятие удержания блюд под заказ с id: {}", orderId);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+
+        @Override
+        public void onNext(ValidationResponse response) {
+            CompletableFuture<ValidationResponse> future = pending.get(response.getOrderId());
+            if (future == null) {
+                log.debug("Получен ответ валидации для неожидаемого заказа с id: {}, "
+                        + "ожидание могло истечь", response.getOrderId());
+            } else {
+                future.complete(response);
+            }
+        }
+
+
+        @Override
+        public void onError(Throwable t) {
+            log.error("Поток валидации заказов через gRPC оборван: {}", t.getMessage());
+            close(Status.fromThrowable(t));
+        }
+
+
+        @Override
+        public void onCompleted() {
+            close(Status.UNAVAILABLE.withDescription("Kitchen-service закрыл поток валидации"));
+        }
+
+
+        private void close(Status status) {
+            List<CompletableFuture<ValidationResponse>> waiting;
+            lock.lock();
+            try {
+                closed = true;
+                waiting = new ArrayList<>(pending.values());
+            } finally {
+                lock.unlock();
+            }
+            waiting.forEach(future -> future.completeExceptionally(status.asRuntimeException()));
+        }
+    }
+}
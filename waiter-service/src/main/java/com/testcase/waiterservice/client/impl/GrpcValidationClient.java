@@ -3,22 +3,25 @@ package com.testcase.waiterservice.client.impl;
 import com.education.commondto.waiterservice.OrderValidationDTO;
 import com.education.grpc.GrpcOrderValidationDTOProto;
 import com.education.grpc.KitchenValidationServiceGrpc;
+import com.education.grpc.ReleaseOrderRequest;
 import com.education.grpc.ValidationResponse;
 import com.education.waiterservice.client.ValidationClient;
 import com.education.waiterservice.mapper.OrderValidationToGrpcMapper;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.testcase.waiterservice.client.grpc.GrpcChannelPool;
+import com.testcase.waiterservice.client.grpc.ValidationResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 /**
- * Конфигурация для запуска gRPC сервера.
+ * Клиент валидации заказа через gRPC kitchen-service.
  * <p>
- * Настроен gRPC сервер, который прослушивает указанный порт и обслуживает запросы на валидацию заказа.
- * Также добавлен хук для корректного завершения работы сервера при завершении приложения.
+ * Использует общий пул долгоживущих каналов {@link GrpcChannelPool}, каждый вызов
+ * ограничен собственным дедлайном.
  * </p>
  */
 @Slf4j
@@ -27,53 +30,73 @@ import org.springframework.stereotype.Service;
 @ConditionalOnProperty(prefix = "grpc.client", name = "type", havingValue = "grpc")
 public class GrpcValidationClient implements ValidationClient {
 
-    private final String host;
-    private final int port;
+    private final GrpcChannelPool channelPool;
+    private final long deadlineMs;
     private final OrderValidationToGrpcMapper mapper;
 
     /**
      * Конструктор клиента.
      *
-     * @param host   хост gRPC-сервера
-     * @param port   порт gRPC-сервера
-     * @param mapper маппер DTO → gRPC DTO
+     * @param channelPool пул gRPC-каналов до kitchen-service
+     * @param deadlineMs  дедлайн одного вызова валидации (в мс, по умолчанию 3000)
+     * @param mapper      маппер DTO → gRPC DTO
      */
-    public GrpcValidationClient(@Value("${grpc.client.host}") String host,
-                                            @Value("${grpc.client.port}") int port,
-                                            OrderValidationToGrpcMapper mapper) {
-        this.host = host;
-        this.port = port;
+    public GrpcValidationClient(GrpcChannelPool channelPool,
+                                @Value("${grpc.client.deadline-ms:3000}") long deadlineMs,
+                                OrderValidationToGrpcMapper mapper) {
+        this.channelPool = channelPool;
+        this.deadlineMs = deadlineMs;
         this.mapper = mapper;
     }
 
+    /**
+     * Возвращает транспорт клиента для тега метрики {@code validation.client.requests}.
+     *
+     * @return {@code "grpc"}
+     */
+    @Override
+    public String transport() {
+        return "grpc";
+    }
+
+
     /**
      * Метод валидации заказа через gRPC kitchen-service.
      *
      * @param validationDTO DTO с заказом и блюдами
      * @return true — если валидация прошла успешно
      * @throws IllegalArgumentException если блюд недостаточно
+     * @throws io.grpc.StatusRuntimeException если kitchen-service не ответил до истечения дедлайна
      */
     @Override
     public Boolean validateOrder(OrderValidationDTO validationDTO) {
-        log.info("Валидация через gRPC:");
-        ManagedChannel channel = ManagedChannelBuilder.forAddress(host, port)
-                .usePlaintext()
-                .build();
+        log.debug("Валидация заказа с id: {} через gRPC", validationDTO.getOrderId());
+        KitchenValidationServiceGrpc.KitchenValidationServiceBlockingStub stub =
+                KitchenValidationServiceGrpc.newBlockingStub(channelPool.next())
+                        .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
 
-        try {
-            KitchenValidationServiceGrpc.KitchenValidationServiceBlockingStub stub =
-                    KitchenValidationServiceGrpc.newBlockingStub(channel);
+        GrpcOrderValidationDTOProto grpcRequest = mapper.toGrpc(validationDTO);
+        ValidationResponse response = stub.validateOrder(grpcRequest);
 
-            GrpcOrderValidationDTOProto grpcRequest = mapper.toGrpc(validationDTO);
-            ValidationResponse response = stub.validateOrder(grpcRequest);
-
-            if (!response.getValid()) {
-                String message = String.join("; ", response.getErrorsList());
-                throw new IllegalArgumentException("Ошибка валидации заказа: " + message);
-            }
-            return true;
-        } finally {
-            channel.shutdown();
+        if (!response.getValid()) {
+            throw new IllegalArgumentException(
+                    "Ошибка валидации заказа: " + ValidationResponses.describeErrors(response));
         }
+        return true;
+    }
+
+
+    /**
+     * Снимает удержание блюд заказа в kitchen-service через gRPC.
+     *
+     * @param orderId идентификатор заказа
+     * @throws io.grpc.StatusRuntimeException если kitchen-service не ответил до истечения дедлайна
+     */
+    @Override
+    public void releaseOrder(Long orderId) {
+        log.debug("Снятие удержания блюд под заказ с id: {} через gRPC", orderId);
+        KitchenValidationServiceGrpc.newBlockingStub(channelPool.next())
+                .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .releaseOrder(ReleaseOrderRequest.newBuilder().setOrderId(orderId).build());
     }
 }
@@ -0,0 +1,106 @@
+package com.testcase.waiterservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация пулов соединений Hikari.
+ * <p>
+ * Если размер основного пула не задан явно в {@code spring.datasource.hikari.maximum-pool-size}, он вычисляется
+ * по числу ядер ({@code ядра * 2 + 1}) и ограничивается долей лимита соединений БД,
+ * приходящейся на один экземпляр сервиса. Остальные параметры пула (таймауты, обнаружение утечек,
+ * кэш подготовленных выражений драйвера) задаются в application.yml.
+ * </p>
+ * <p>
+ * Потоковая выгрузка заказов держит соединение всё время записи ответа клиенту (до таймаута
+ * асинхронного запроса, 30 минут), поэтому она получает соединения из отдельного небольшого пула
+ * {@value #EXPORT_POOL_NAME} без обнаружения утечек: долгие выгрузки не занимают основной пул
+ * и не вызывают ложных предупреждений об утечке соединения.
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class DataSourcePoolConfig {
+
+    /**
+     * Имя бина основного источника данных, создаваемого Spring Boot.
+     */
+    public static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    /**
+     * Квалификатор и имя пула источника данных для потоковой выгрузки заказов.
+     */
+    public static final String EXPORT_DATA_SOURCE = "exportDataSource";
+
+    private static final String EXPORT_POOL_NAME = "waiter-export-pool";
+    private static final int MIN_POOL_SIZE = 2;
+
+
+    /**
+     * Задаёт вычисленный размер пула источнику данных Hikari до его запуска.
+     * Метод статический, чтобы постпроцессор создавался раньше остальных бинов конфигурации
+     * и не делал их непригодными для постобработки.
+     *
+     * @param explicitPoolSize явно заданный размер пула; если задан, вычисление не выполняется
+     * @param dbMaxConnections лимит соединений БД ({@code max_connections}), по умолчанию 100
+     * @param reservedConnections соединения, оставляемые для администрирования и миграций, по умолчанию 10
+     * @param instances количество экземпляров сервиса, делящих лимит БД, по умолчанию 1
+     * @param exportPoolSize размер пула выгрузки, вычитаемый из лимита БД на экземпляр, по умолчанию 2
+     * @return постпроцессор источника данных
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:#{null}}") Integer explicitPoolSize,
+            @Value("${waiter.datasource.pool.db-max-connections:100}") int dbMaxConnections,
+            @Value("${waiter.datasource.pool.reserved-connections:10}") int reservedConnections,
+            @Value("${waiter.datasource.pool.instances:1}") int instances,
+            @Value("${waiter.order-export.pool-size:2}") int exportPoolSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && PRIMARY_DATA_SOURCE.equals(beanName)
+                        && explicitPoolSize == null) {
+                    int cpuBound = Runtime.getRuntime().availableProcessors() * 2 + 1;
+                    int dbBound = (dbMaxConnections - reservedConnections) / Math.max(1, instances) - exportPoolSize;
+                    int poolSize = Math.max(MIN_POOL_SIZE, Math.min(cpuBound, dbBound));
+                    dataSource.setMaximumPoolSize(poolSize);
+                    log.info("Размер пула соединений {}: {} (по ядрам: {}, по лимиту БД: {})",
+                            dataSource.getPoolName(), poolSize, cpuBound, dbBound);
+                }
+                return bean;
+            }
+        };
+    }
+
+
+    /**
+     * Источник данных потоковой выгрузки заказов: те же параметры подключения, что у основного,
+     * отдельный пул без обнаружения утечек, соединения только для чтения.
+     * Бин не является кандидатом для внедрения по умолчанию и не заменяет основной источник данных,
+     * его получают только по квалификатору {@value #EXPORT_DATA_SOURCE}.
+     *
+     * @param properties параметры подключения из {@code spring.datasource}
+     * @param poolSize размер пула, по умолчанию 2
+     * @return источник данных выгрузки
+     */
+    @Bean(name = EXPORT_DATA_SOURCE, defaultCandidate = false)
+    @Qualifier(EXPORT_DATA_SOURCE)
+    public HikariDataSource exportDataSource(DataSourceProperties properties,
+                                             @Value("${waiter.order-export.pool-size:2}") int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(EXPORT_POOL_NAME);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setLeakDetectionThreshold(0);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -7,7 +7,9 @@ import feign.Logger;
 import feign.Request;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
+import feign.micrometer.MicrometerObservationCapability;
 import feign.slf4j.Slf4jLogger;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,14 +42,14 @@ public class FeignClientConfig {
      * @param kitchenServiceUrl URL кухонного сервиса (по умолчанию http://localhost:8081)
      * @param connectTimeout    время ожидания соединения (в мс, по умолчанию 5000)
      * @param readTimeout       время ожидания ответа (в мс, по умолчанию 5000)
-     * @param loggerLevelStr    строковое представление уровня логирования (по умолчанию, FULL)
+     * @param loggerLevelStr    строковое представление уровня логирования (по умолчанию, BASIC)
      * @param objectMapper      {@link ObjectMapper} для работы с JSON
      */
     public FeignClientConfig(
             @Value("${waiter-service.url:http://localhost:8081}") String kitchenServiceUrl,
             @Value("${feign.client.config.default.connectTimeout:5000}") Integer connectTimeout,
             @Value("${feign.client.config.default.readTimeout:5000}") Integer readTimeout,
-            @Value("${feign.client.config.default.loggerLevel:FULL}") String loggerLevelStr,
+            @Value("${feign.client.config.default.loggerLevel:BASIC}") String loggerLevelStr,
             ObjectMapper objectMapper) {
         this.kitchenServiceUrl = kitchenServiceUrl;
         this.connectTimeout = connectTimeout;
@@ -61,12 +63,15 @@ public class FeignClientConfig {
      * <p>
      * Настраивает Feign с использованием JacksonEncoder, JacksonDecoder, Slf4jLogger и установленными таймаутами.
      * Также конфигурирует уровень логирования и подключает URL для взаимодействия с кухонным сервисом.
+     * Каждый запрос наблюдается через {@link ObservationRegistry}: контекст трассировки передаётся
+     * в заголовках HTTP.
      * </p>
      *
+     * @param observationRegistry реестр наблюдений
      * @return настроенный клиент для взаимодействия с сервисом кухни
      */
     @Bean
-    public FeignValidationClient waiterOrderFeignClient() {
+    public FeignValidationClient waiterOrderFeignClient(ObservationRegistry observationRegistry) {
         return Feign.builder()
                 .encoder(new JacksonEncoder(objectMapper))
                 .decoder(new JacksonDecoder(objectMapper))
@@ -74,6 +79,7 @@ public class FeignClientConfig {
                 .logLevel(loggerLevel)
                 .options(new Request.Options(connectTimeout, TimeUnit.MILLISECONDS,
                         readTimeout, TimeUnit.MILLISECONDS, true))
+                .addCapability(new MicrometerObservationCapability(observationRegistry))
                 .target(FeignValidationClient.class, kitchenServiceUrl);
     }
 }
@@ -0,0 +1,100 @@
+package com.testcase.waiterservice.config;
+
+import com.testcase.waiterservice.client.grpc.GrpcChannelPool;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конфигурация gRPC-клиента для взаимодействия с сервисом кухни.
+ * <p>
+ * Создаёт пул долгоживущих каналов с keepalive-пингами, чтобы не устанавливать
+ * новое HTTP/2-соединение на каждую валидацию заказа.
+ * </p>
+ */
+@Slf4j
+@Configuration
+@Profile("grpc")
+public class GrpcClientConfig {
+
+    private final String host;
+    private final Integer port;
+    private final Integer poolSize;
+    private final Long keepAliveTimeMs;
+    private final Long keepAliveTimeoutMs;
+    private final Long idleTimeoutMs;
+    private final Long shutdownTimeoutMs;
+
+    /**
+     * Конструктор конфигурации gRPC-клиента.
+     * <p>
+     * Значения свойств берутся из application-grpc.yml,
+     * при отсутствии значения подставляются дефолтные.
+     * </p>
+     *
+     * @param host               хост gRPC-сервера
+     * @param port               порт gRPC-сервера
+     * @param poolSize           количество каналов в пуле (по умолчанию 2)
+     * @param keepAliveTimeMs    интервал keepalive-пингов (в мс, по умолчанию 30000)
+     * @param keepAliveTimeoutMs время ожидания ответа на keepalive-пинг (в мс, по умолчанию 10000)
+     * @param idleTimeoutMs      время простоя, после которого канал переходит в IDLE (в мс, по умолчанию 300000)
+     * @param shutdownTimeoutMs  время ожидания завершения активных RPC при остановке (в мс, по умолчанию 5000)
+     */
+    public GrpcClientConfig(
+            @Value("${grpc.client.host}") String host,
+            @Value("${grpc.client.port}") Integer port,
+            @Value("${grpc.client.pool-size:2}") Integer poolSize,
+            @Value("${grpc.client.keep-alive-time-ms:30000}") Long keepAliveTimeMs,
+            @Value("${grpc.client.keep-alive-timeout-ms:10000}") Long keepAliveTimeoutMs,
+            @Value("${grpc.client.idle-timeout-ms:300000}") Long idleTimeoutMs,
+            @Value("${grpc.client.shutdown-timeout-ms:5000}") Long shutdownTimeoutMs) {
+        this.host = host;
+        this.port = port;
+        this.poolSize = poolSize;
+        this.keepAliveTimeMs = keepAliveTimeMs;
+        this.keepAliveTimeoutMs = keepAliveTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+
+    /**
+     * Определяет bean пула gRPC-каналов.
+     * <p>
+     * Каналы переживают отдельные вызовы и закрываются только при остановке контекста
+     * с ожиданием завершения активных RPC. Вызовы наблюдаются через {@link ObservationRegistry}:
+     * контекст трассировки передаётся в метаданных gRPC.
+     * </p>
+     *
+     * @param meterRegistry реестр метрик для публикации состояния каналов
+     * @param observationRegistry реестр наблюдений
+     * @return пул каналов до kitchen-service
+     */
+    @Bean(destroyMethod = "shutdown")
+    public GrpcChannelPool grpcChannelPool(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        List<ManagedChannel> channels = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            channels.add(ManagedChannelBuilder.forAddress(host, port)
+                    .usePlaintext()
+                    .keepAliveTime(keepAliveTimeMs, TimeUnit.MILLISECONDS)
+                    .keepAliveTimeout(keepAliveTimeoutMs, TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(true)
+                    .idleTimeout(idleTimeoutMs, TimeUnit.MILLISECONDS)
+                    .intercept(new ObservationGrpcClientInterceptor(observationRegistry))
+                    .build());
+        }
+        log.info("Создан пул из {} gRPC-каналов до {}:{}", poolSize, host, port);
+        return new GrpcChannelPool(channels, shutdownTimeoutMs, meterRegistry);
+    }
+}
@@ -1,7 +1,10 @@
 package com.testcase.waiterservice.config;
 
 import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.kafka.KafkaPayloadFormat;
+import com.testcase.commondto.kafka.KafkaSerdes;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -27,14 +30,25 @@ import java.util.Map;
 public class KafkaConsumerConfig {
 
     private final String bootstrapAddress;
+    private final int kitchenOrderStatusPartitions;
+    private final KafkaPayloadFormat kitchenOrderStatusFormat;
 
     /**
      * Конструктор, инициализирующий адрес Kafka-брокеров.
      *
      * @param bootstrapAddress значение из свойства spring.kafka.bootstrap-servers
+     * @param kitchenOrderStatusPartitions количество партиций топика обновлений статуса от кухни,
+     *                                     задаёт число потребителей, по умолчанию 3
+     * @param kitchenOrderStatusFormat формат сообщений топика обновлений статуса от кухни, по умолчанию JSON
      */
-    public KafkaConsumerConfig(@Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress) {
+    public KafkaConsumerConfig(
+            @Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress,
+            @Value("${spring.kafka.partitions.kitchen-order-status-updates:3}") int kitchenOrderStatusPartitions,
+            @Value("${spring.kafka.format.kitchen-order-status-updates:JSON}")
+            KafkaPayloadFormat kitchenOrderStatusFormat) {
         this.bootstrapAddress = bootstrapAddress;
+        this.kitchenOrderStatusPartitions = kitchenOrderStatusPartitions;
+        this.kitchenOrderStatusFormat = kitchenOrderStatusFormat;
     }
 
 
@@ -42,7 +56,8 @@ public class KafkaConsumerConfig {
      * Фабрика Kafka-консюмеров, обрабатывающих сообщения типа {@link UpdateOrderStatusDTO}.
      * Настраивает:
      * - десериализацию ключей как строки;
-     * - десериализацию значений через {@link JsonDeserializer} с поддержкой обработки ошибок.
+     * - десериализацию значений через {@link JsonDeserializer} с поддержкой обработки ошибок
+     * или из protobuf, если для топика задан формат {@link KafkaPayloadFormat#PROTOBUF}.
      *
      * @return {@link ConsumerFactory} для использования в KafkaListener
      */
@@ -65,13 +80,19 @@ public class KafkaConsumerConfig {
         JsonDeserializer<UpdateOrderStatusDTO> jsonDeserializer = new JsonDeserializer<>(UpdateOrderStatusDTO.class);
         jsonDeserializer.configure(valueDeserializerProps, false);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        Deserializer<UpdateOrderStatusDTO> valueDeserializer =
+                KafkaPayloadFormat.PROTOBUF.equals(kitchenOrderStatusFormat)
+                        ? KafkaSerdes.updateOrderStatusDeserializer()
+                        : jsonDeserializer;
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
     }
 
 
     /**
      * Фабрика контейнеров для аннотированных методов KafkaListener.
      * Используется для прослушивания Kafka-топиков с сообщениями типа {@link UpdateOrderStatusDTO}.
+     * Число потребителей равно количеству партиций топика.
+     * Время обработки сообщений публикуется в метрике {@code spring.kafka.listener}.
      *
      * @return {@link ConcurrentKafkaListenerContainerFactory} для конфигурации слушателей
      */
@@ -80,6 +101,8 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, UpdateOrderStatusDTO> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(kitchenOrderStatusPartitions);
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
 }
@@ -1,9 +1,12 @@
 package com.testcase.waiterservice.config;
 
 import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.kafka.KafkaPayloadFormat;
+import com.testcase.commondto.kafka.KafkaSerdes;
 import com.testcase.commondto.waiterservice.OrderDTO;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -19,19 +22,59 @@ import java.util.Map;
  * Конфигурационный класс, настраивающий Kafka-продюсеров для отправки сообщений
  * между микросервисами waiter-service и kitchen-service.
  * Содержит настройки для отправки заказов (OrderDTO) и обновлений статуса заказов (UpdateOrderStatusDTO).
+ * <p>
+ * Продюсеры идемпотентны и ждут подтверждения от всех реплик, поэтому внутренние повторы отправки
+ * при сбоях сети не создают дубликатов. Повторная публикация сообщения outbox — это новая отправка,
+ * от её дубликатов идемпотентность продюсера не защищает (см. {@link com.testcase.waiterservice.outbox.OutboxRelay}).
+ * Сообщения сжимаются и собираются в пачки с небольшой задержкой:
+ * outbox публикует их пачками, и брокер получает меньше запросов.
+ * </p>
+ * <p>
+ * Формат сообщений (JSON или protobuf) задаётся для каждого топика свойствами {@code spring.kafka.format.*}
+ * и должен совпадать с форматом, который ожидает kitchen-service.
+ * </p>
+ * <p>
+ * Время отправки сообщений публикуется в метрике {@code spring.kafka.template}.
+ * </p>
  */
 @Configuration
 public class KafkaProducerConfig {
 
     private final String bootstrapAddress;
+    private final String acks;
+    private final String compressionType;
+    private final int batchSize;
+    private final int lingerMs;
+    private final KafkaPayloadFormat orderCreationFormat;
+    private final KafkaPayloadFormat waiterOrderStatusFormat;
 
     /**
-     * Конструктор, инициализирующий адрес Kafka-брокеров.
+     * Конструктор, инициализирующий адрес Kafka-брокеров и параметры отправки.
      *
      * @param bootstrapAddress значение из свойства spring.kafka.bootstrap-servers
+     * @param acks требуемые подтверждения записи, по умолчанию all (обязательно для идемпотентности)
+     * @param compressionType алгоритм сжатия пачек сообщений, по умолчанию lz4
+     * @param batchSize максимальный размер пачки в байтах, по умолчанию 65536
+     * @param lingerMs время ожидания наполнения пачки в миллисекундах, по умолчанию 10
+     * @param orderCreationFormat формат сообщений топика создания заказов, по умолчанию JSON
+     * @param waiterOrderStatusFormat формат сообщений топика обновлений статуса, по умолчанию JSON
      */
-    public KafkaProducerConfig(@Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress) {
+    public KafkaProducerConfig(
+            @Value(value = "${spring.kafka.bootstrap-servers}") String bootstrapAddress,
+            @Value("${spring.kafka.producer.acks:all}") String acks,
+            @Value("${spring.kafka.producer.compression-type:lz4}") String compressionType,
+            @Value("${spring.kafka.producer.batch-size:65536}") int batchSize,
+            @Value("${spring.kafka.producer.properties.linger.ms:10}") int lingerMs,
+            @Value("${spring.kafka.format.order-creation:JSON}") KafkaPayloadFormat orderCreationFormat,
+            @Value("${spring.kafka.format.waiter-order-status-updates:JSON}")
+            KafkaPayloadFormat waiterOrderStatusFormat) {
         this.bootstrapAddress = bootstrapAddress;
+        this.acks = acks;
+        this.compressionType = compressionType;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.orderCreationFormat = orderCreationFormat;
+        this.waiterOrderStatusFormat = waiterOrderStatusFormat;
     }
 
 
@@ -42,11 +85,10 @@ public class KafkaProducerConfig {
      */
     @Bean
     public ProducerFactory<String, OrderDTO> orderProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        Serializer<OrderDTO> valueSerializer = KafkaPayloadFormat.PROTOBUF.equals(orderCreationFormat)
+                ? KafkaSerdes.orderSerializer()
+                : new JsonSerializer<>();
+        return new DefaultKafkaProducerFactory<>(producerProps(), new StringSerializer(), valueSerializer);
     }
 
 
@@ -57,7 +99,7 @@ public class KafkaProducerConfig {
      */
     @Bean
     public KafkaTemplate<String, OrderDTO> orderCreationKafkaTemplate() {
-        return new KafkaTemplate<>(orderProducerFactory());
+        return observed(new KafkaTemplate<>(orderProducerFactory()));
     }
 
 
@@ -68,11 +110,10 @@ public class KafkaProducerConfig {
      */
     @Bean
     public ProducerFactory<String, UpdateOrderStatusDTO> updateOrderStatusProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        Serializer<UpdateOrderStatusDTO> valueSerializer = KafkaPayloadFormat.PROTOBUF.equals(waiterOrderStatusFormat)
+                ? KafkaSerdes.updateOrderStatusSerializer()
+                : new JsonSerializer<>();
+        return new DefaultKafkaProducerFactory<>(producerProps(), new StringSerializer(), valueSerializer);
     }
 
 
@@ -83,6 +124,26 @@ public class KafkaProducerConfig {
      */
     @Bean
     public KafkaTemplate<String, UpdateOrderStatusDTO> updateOrderStatusKafkaTemplate() {
-        return new KafkaTemplate<>(updateOrderStatusProducerFactory());
+        return observed(new KafkaTemplate<>(updateOrderStatusProducerFactory()));
+    }
+
+
+    private static <V> KafkaTemplate<String, V> observed(KafkaTemplate<String, V> kafkaTemplate) {
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
+    }
+
+
+    private Map<String, Object> producerProps() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, acks);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        return configProps;
     }
 }
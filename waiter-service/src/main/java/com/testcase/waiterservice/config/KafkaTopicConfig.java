@@ -1,6 +1,7 @@
 package com.testcase.waiterservice.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -9,20 +10,51 @@ import org.springframework.kafka.config.TopicBuilder;
  * Конфигурационный класс Kafka, создающий необходимые топики для взаимодействия между микросервисами.
  * Используется в waiter-service и kitchen-service для создания заказов,
  * получения обновлений от кухни и отправки статусов обратно.
+ * <p>
+ * Сообщения отправляются с ключом, равным ID заказа, поэтому все сообщения одного заказа попадают
+ * в одну партицию и обрабатываются по порядку, а количество партиций ограничивает число параллельных
+ * потребителей на стороне кухни.
+ * </p>
  */
 @Configuration
 public class KafkaTopicConfig {
 
+    private final String orderCreationTopic;
+    private final String waiterOrderStatusTopic;
+    private final int orderCreationPartitions;
+    private final int waiterOrderStatusPartitions;
+
+
+    /**
+     * Конструктор конфигурации топиков.
+     *
+     * @param orderCreationTopic имя топика создания заказов
+     * @param waiterOrderStatusTopic имя топика обновлений статуса заказов от официанта
+     * @param orderCreationPartitions количество партиций топика создания заказов, по умолчанию 3
+     * @param waiterOrderStatusPartitions количество партиций топика обновлений статуса, по умолчанию 3
+     */
+    public KafkaTopicConfig(
+            @Value("${spring.kafka.producer.topic.order-creation}") String orderCreationTopic,
+            @Value("${spring.kafka.producer.topic.waiter-order-status-updates}") String waiterOrderStatusTopic,
+            @Value("${spring.kafka.partitions.order-creation:3}") int orderCreationPartitions,
+            @Value("${spring.kafka.partitions.waiter-order-status-updates:3}") int waiterOrderStatusPartitions) {
+        this.orderCreationTopic = orderCreationTopic;
+        this.waiterOrderStatusTopic = waiterOrderStatusTopic;
+        this.orderCreationPartitions = orderCreationPartitions;
+        this.waiterOrderStatusPartitions = waiterOrderStatusPartitions;
+    }
+
+
     /**
      * Топик для отправки новых заказов на кухню.
      * Используется официантом для публикации заказов.
      *
-     * @return новый Kafka-топик с именем "order-creation-topic"
+     * @return новый Kafka-топик, по умолчанию "order-creation-topic"
      */
     @Bean
     public NewTopic orderCreationTopic() {
-        return TopicBuilder.name("order-creation-topic")
-                .partitions(1)
+        return TopicBuilder.name(orderCreationTopic)
+                .partitions(orderCreationPartitions)
                 .build();
     }
 
@@ -30,12 +62,12 @@ public class KafkaTopicConfig {
     /**
      * Топик для отправки из waiter-service обновлённого статуса заказа на кухню.
      *
-     * @return новый Kafka-топик с именем "waiter-order-status-updates-topic"
+     * @return новый Kafka-топик, по умолчанию "waiter-order-status-updates-topic"
      */
     @Bean
     public NewTopic waiterOrderStatusUpdatesTopic() {
-        return TopicBuilder.name("waiter-order-status-updates-topic")
-                .partitions(1)
+        return TopicBuilder.name(waiterOrderStatusTopic)
+                .partitions(waiterOrderStatusPartitions)
                 .build();
     }
 }
@@ -0,0 +1,13 @@
+package com.testcase.waiterservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Конфигурация, включающая выполнение задач по расписанию.
+ * Используется для публикации сообщений outbox в Kafka.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.testcase.waiterservice.config;
+
+import brave.handler.SpanHandler;
+import com.testcase.commonruntime.tracing.JdbcObservationPredicate;
+import com.testcase.commonruntime.tracing.LoggingSpanHandler;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация распределённой трассировки.
+ * <p>
+ * Контекст трассировки передаётся в заголовках HTTP (Feign), метаданных gRPC и заголовках записей Kafka,
+ * поэтому путь заказа от REST-запроса официанта до listener kitchen-service и обратно собирается
+ * в одну трассу. Запросы к БД (JPA) трассируются на уровне JDBC.
+ * </p>
+ * <p>
+ * Экспорт спанов переключается свойствами: {@code management.zipkin.tracing.export.enabled} — отправка в Zipkin,
+ * {@code waiter.tracing.log-spans} — запись завершённых спанов в лог без внешних сервисов.
+ * Все бины {@link SpanHandler} получают завершённые спаны, поэтому в тестах можно зарегистрировать
+ * обработчик, накапливающий спаны в памяти. Предикат и обработчик общие для сервисов и находятся
+ * в {@code common-runtime}.
+ * </p>
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Не создаёт наблюдения запросов к БД вне трассируемой операции.
+     * Без этого каждый опрос outbox и обновление метрик по расписанию начинали бы отдельную трассу.
+     *
+     * @return предикат наблюдений JDBC
+     */
+    @Bean
+    public ObservationPredicate jdbcWithoutParentObservationPredicate() {
+        return new JdbcObservationPredicate();
+    }
+
+
+    /**
+     * Записывает завершённые спаны в лог {@code tracing.spans}: имя, идентификаторы трассы и спана,
+     * длительность и удалённый сервис. Позволяет увидеть задержки по участкам пути заказа без Zipkin.
+     *
+     * @return обработчик завершённых спанов
+     */
+    @Bean
+    @ConditionalOnProperty(name = "waiter.tracing.log-spans", havingValue = "true")
+    public SpanHandler loggingSpanHandler() {
+        return new LoggingSpanHandler();
+    }
+}
@@ -6,8 +6,10 @@ import com.testcase.commondto.waiterservice.OrderStatus;
 import com.testcase.waiterservice.dto.request.OrderCalculateRequestDTO;
 import com.testcase.waiterservice.dto.request.OrderCreateRequestDTO;
 import com.testcase.waiterservice.dto.request.OrderFilterDTO;
+import com.testcase.waiterservice.dto.KeysetPageDTO;
 import com.testcase.waiterservice.dto.PaymentDTO;
 import com.testcase.waiterservice.entity.PaymentType;
+import com.testcase.waiterservice.service.impl.OrderExportServiceImpl;
 import com.testcase.waiterservice.service.impl.OrderServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,6 +23,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -40,10 +45,13 @@ import java.util.List;
 public class OrderController {
 
     private final OrderServiceImpl orderServiceImpl;
+    private final OrderExportServiceImpl orderExportServiceImpl;
 
 
     @Operation(summary = "Получить все заказы",
-            description = "Получить список всех заказов официантов.")
+            description = "Получить список всех заказов официантов. "
+                    + "Загружает все заказы в память, для выгрузки истории используйте /orders/export.",
+            deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200",
                     description = "Заказы успешно получены",
@@ -62,6 +70,33 @@ public class OrderController {
     }
 
 
+    @Operation(summary = "Выгрузить заказы потоком",
+            description = "Выгружает заказы в формате NDJSON: по одному заказу на строку в порядке возрастания ID. "
+                    + "Для продолжения выгрузки передайте в after ID последнего полученного заказа.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Выгрузка заказов начата",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = OrderDTO.class))),
+            @ApiResponse(responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessageDTO.class)
+                    ))
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "ID заказа, после которого начинается выгрузка")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Максимальное количество заказов в выгрузке")
+            @RequestParam(required = false) Long limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> orderExportServiceImpl.exportOrders(after, limit, outputStream));
+    }
+
+
     @Operation(summary = "Получить постраничный список заказов по заданным фильтрам",
             description = "Фильтрация заказов по статусу, дате, официанту и номеру столика.")
     @ApiResponses(value = {
@@ -84,6 +119,37 @@ public class OrderController {
     }
 
 
+    @Operation(summary = "Получить список заказов по заданным фильтрам постранично по курсору",
+            description = "Фильтрация заказов по статусу, дате, официанту и номеру столика. "
+                    + "Заказы упорядочены по дате создания и ID. Для следующей страницы передайте nextCursor "
+                    + "из предыдущего ответа. Общее количество подсчитывается только при count=true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Страница заказов по фильтру успешно получена",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = KeysetPageDTO.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Некорректный курсор или размер страницы",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessageDTO.class)
+                    )),
+            @ApiResponse(responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorMessageDTO.class)
+                    ))
+    })
+    @PostMapping("/search/keyset")
+    public KeysetPageDTO<OrderDTO> getOrdersByFilterKeyset(@RequestBody OrderFilterDTO filter,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "10") int size,
+                                                           @RequestParam(defaultValue = "false") boolean count) {
+        return orderServiceImpl.getOrdersByFilter(filter, cursor, size, count);
+    }
+
+
     @Operation(summary = "Получить заказ по ID",
             description = "Получить конкретный заказ официанта по ID.")
     @ApiResponses(value = {
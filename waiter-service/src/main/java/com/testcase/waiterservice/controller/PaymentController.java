@@ -1,6 +1,7 @@
 package com.testcase.waiterservice.controller;
 
 import com.testcase.commondto.ErrorMessageDTO;
+import com.testcase.waiterservice.dto.KeysetPageDTO;
 import com.testcase.waiterservice.dto.PaymentDTO;
 import com.testcase.waiterservice.dto.request.PaymentFilterDTO;
 import com.testcase.waiterservice.service.impl.PaymentServiceImpl;
@@ -86,4 +87,34 @@ public class PaymentController {
         Pageable pageable = Pageable.ofSize(size).withPage(page);
         return paymentServiceImpl.getPayments(filter, pageable);
     }
+
+
+    @Operation(summary = "Получить список оплат по указанным фильтрам постранично по курсору",
+            description = "Возвращает оплаты с фильтрацией по типу оплаты, дате и сумме, упорядоченные по дате оплаты "
+                    + "и ID заказа. Для следующей страницы передайте nextCursor из предыдущего ответа. "
+                    + "Общее количество подсчитывается только при count=true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Оплаты успешно получены",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = KeysetPageDTO.class)
+                    )),
+            @ApiResponse(responseCode = "400",
+                    description = "Некорректный курсор или размер страницы",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorMessageDTO.class))),
+            @ApiResponse(responseCode = "500",
+                    description = "Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorMessageDTO.class)))
+    })
+    @PostMapping("/search/keyset")
+    public KeysetPageDTO<PaymentDTO> getPaymentsKeyset(@Parameter(description = "Фильтры для поиска оплат")
+                                                       @RequestBody PaymentFilterDTO filter,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "10") int size,
+                                                       @RequestParam(defaultValue = "false") boolean count) {
+        return paymentServiceImpl.getPayments(filter, cursor, size, count);
+    }
 }
@@ -0,0 +1,32 @@
+package com.testcase.waiterservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Страница результатов поиска по курсору.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Страница результатов поиска по курсору")
+public class KeysetPageDTO<T> {
+
+    @Schema(description = "Элементы страницы")
+    private List<T> content;
+
+    @Schema(description = "Курсор следующей страницы, отсутствует на последней странице",
+            example = "MjAyNS0wNC0wNlQyMTo0MDozNi43NzVafDQy")
+    private String nextCursor;
+
+    @Schema(description = "Общее количество найденных записей, заполняется только по запросу", example = "120")
+    private Long totalElements;
+}
@@ -55,7 +55,8 @@ public class Menu {
 
 
     /**
-     * Override метода equals() с учетом особенностей работы Hibernate
+     * Override метода equals() с учетом особенностей работы Hibernate:
+     * сущности равны, если они одного класса и имеют одинаковый непустой ID
      */
     @Override
     public final boolean equals(Object o) {
@@ -79,16 +80,18 @@ public class Menu {
         }
 
         Menu other = (Menu) o;
-        return Objects.equals(id, other.id)
-                && Objects.equals(name, other.name)
-                && Objects.equals(cost, other.cost);
+        return getId() != null && Objects.equals(getId(), other.getId());
     }
 
+
     /**
-     * Override метода hashcode() с учетом полей сущности
+     * Override метода hashcode(): хэш зависит только от класса сущности, поэтому не меняется
+     * при присвоении ID после сохранения и не требует загрузки связанных сущностей
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(id, name, cost);
+    public final int hashCode() {
+        return this instanceof HibernateProxy
+                ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode()
+                : getClass().hashCode();
     }
 }
@@ -20,9 +20,9 @@ import lombok.Setter;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.time.OffsetDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Сущность, представляющая заказ, создаваемый официантом.
@@ -71,13 +71,16 @@ public class Order {
 
     /**
      * Позиции заказа (список блюд и количество каждого блюда в заказе).
+     * Хранятся списком: при загрузке заказа позиции не хэшируются, уникальность блюда в заказе
+     * обеспечивается при подсчёте заказа.
      */
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<OrderPosition> orderPositions = new HashSet<>();
+    private List<OrderPosition> orderPositions = new ArrayList<>();
 
 
     /**
-     * Override метода equals() с учетом особенностей работы Hibernate
+     * Override метода equals() с учетом особенностей работы Hibernate:
+     * сущности равны, если они одного класса и имеют одинаковый непустой ID
      */
     @Override
     public final boolean equals(Object o) {
@@ -101,20 +104,18 @@ public class Order {
         }
 
         Order other = (Order) o;
-        return Objects.equals(id, other.id)
-                && Objects.equals(status, other.status)
-                && Objects.equals(createDateTime, other.createDateTime)
-                && Objects.equals(waiter, other.waiter)
-                && Objects.equals(tableNumber, other.tableNumber)
-                && Objects.equals(orderPositions, other.orderPositions);
+        return getId() != null && Objects.equals(getId(), other.getId());
     }
 
 
     /**
-     * Override метода hashcode() с учетом полей сущности
+     * Override метода hashcode(): хэш зависит только от класса сущности, поэтому не меняется
+     * при присвоении ID после сохранения и не требует загрузки связанных сущностей
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(id, status, createDateTime, waiter, tableNumber, orderPositions);
+    public final int hashCode() {
+        return this instanceof HibernateProxy
+                ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode()
+                : getClass().hashCode();
     }
 }
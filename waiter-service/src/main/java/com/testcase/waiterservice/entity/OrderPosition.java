@@ -57,7 +57,8 @@ public class OrderPosition {
 
 
     /**
-     * Override метода equals() с учетом особенностей работы Hibernate
+     * Override метода equals() с учетом особенностей работы Hibernate:
+     * сущности равны, если они одного класса и имеют одинаковый непустой ID
      */
     @Override
     public final boolean equals(Object o) {
@@ -81,17 +82,18 @@ public class OrderPosition {
         }
 
         OrderPosition other = (OrderPosition) o;
-        return Objects.equals(id, other.id)
-                && Objects.equals(quantity, other.quantity)
-                && Objects.equals(menu, other.menu);
+        return getId() != null && Objects.equals(getId(), other.getId());
     }
 
 
     /**
-     * Override метода hashcode() с учетом полей сущности
+     * Override метода hashcode(): хэш зависит только от класса сущности, поэтому не меняется
+     * при присвоении ID после сохранения и не требует загрузки связанных сущностей
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(id, quantity, menu);
+    public final int hashCode() {
+        return this instanceof HibernateProxy
+                ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode()
+                : getClass().hashCode();
     }
 }
@@ -0,0 +1,70 @@
+package com.testcase.waiterservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Сущность, представляющая сообщение, ожидающее публикации в Kafka.
+ * Записывается в той же транзакции, что и изменение заказа, и удаляется после подтверждения брокером.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Уникальный идентификатор сообщения, задаёт порядок публикации.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * Тип сообщения, определяющий топик и DTO.
+     */
+    @Column(name = "event_type")
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    /**
+     * Идентификатор заказа, к которому относится сообщение.
+     * Сообщения одного заказа публикуются в порядке записи.
+     */
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    /**
+     * DTO сообщения в формате JSON.
+     */
+    @Column(name = "payload")
+    private String payload;
+
+    /**
+     * Дата и время записи сообщения.
+     */
+    @Column(name = "create_dttm")
+    private OffsetDateTime createDttm;
+
+    /**
+     * Заголовки контекста трассировки операции, записавшей сообщение, в формате JSON.
+     * {@code null}, если сообщение записано вне трассы.
+     */
+    @Column(name = "trace_headers")
+    private String traceHeaders;
+}
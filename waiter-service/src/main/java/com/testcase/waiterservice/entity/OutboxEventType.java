@@ -0,0 +1,17 @@
+package com.testcase.waiterservice.entity;
+
+/**
+ * Перечисление, представляющее типы сообщений, публикуемых в Kafka через outbox.
+ */
+public enum OutboxEventType {
+
+    /**
+     * Создание заказа на кухне.
+     */
+    ORDER_CREATION,
+
+    /**
+     * Обновление статуса заказа официантом.
+     */
+    ORDER_STATUS_UPDATE
+}
@@ -67,7 +67,8 @@ public class Payment {
     private Order order;
 
     /**
-     * Override метода equals() с учетом особенностей работы Hibernate
+     * Override метода equals() с учетом особенностей работы Hibernate:
+     * сущности равны, если они одного класса и имеют одинаковый непустой ID
      */
     @Override
     public final boolean equals(Object o) {
@@ -91,18 +92,18 @@ public class Payment {
         }
 
         Payment other = (Payment) o;
-        return Objects.equals(orderId, other.orderId)
-                && Objects.equals(paymentType, other.paymentType)
-                && Objects.equals(paymentDate, other.paymentDate)
-                && Objects.equals(paymentSum, other.paymentSum)
-                && Objects.equals(order, other.order);
+        return getOrderId() != null && Objects.equals(getOrderId(), other.getOrderId());
     }
 
+
     /**
-     * Override метода hashcode() с учетом полей сущности
+     * Override метода hashcode(): хэш зависит только от класса сущности, поэтому не меняется
+     * при присвоении ID после сохранения и не требует загрузки связанных сущностей
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(orderId, paymentType, paymentDate, paymentSum);
+    public final int hashCode() {
+        return this instanceof HibernateProxy
+                ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode()
+                : getClass().hashCode();
     }
 }
@@ -67,7 +67,8 @@ public class Waiter {
     private Set<Order> orders = new HashSet<>();
 
     /**
-     * Override метода equals() с учетом особенностей работы Hibernate
+     * Override метода equals() с учетом особенностей работы Hibernate:
+     * сущности равны, если они одного класса и имеют одинаковый непустой ID
      */
     @Override
     public final boolean equals(Object o) {
@@ -91,17 +92,18 @@ public class Waiter {
         }
 
         Waiter other = (Waiter) o;
-        return Objects.equals(id, other.id)
-                && Objects.equals(name, other.name)
-                && Objects.equals(employmentDate, other.employmentDate)
-                && Objects.equals(sex, other.sex);
+        return getId() != null && Objects.equals(getId(), other.getId());
     }
 
+
     /**
-     * Override метода hashcode() с учетом полей сущности
+     * Override метода hashcode(): хэш зависит только от класса сущности, поэтому не меняется
+     * при присвоении ID после сохранения и не требует загрузки связанных сущностей
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(id, name, employmentDate, sex);
+    public final int hashCode() {
+        return this instanceof HibernateProxy
+                ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode()
+                : getClass().hashCode();
     }
 }
@@ -6,11 +6,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Сервис для отправки сообщений в Kafka, связанных с заказами.
  * Отправляет сообщения для создания заказа и обновления его статуса.
+ * Ключом сообщения служит ID заказа, чтобы сообщения одного заказа сохраняли порядок внутри партиции.
+ * <p>
+ * Бизнес-логика не вызывает отправку напрямую: сообщения записываются в outbox
+ * и публикуются {@link com.testcase.waiterservice.outbox.OutboxRelay}, который дожидается подтверждения брокера.
+ * </p>
  */
 @Slf4j
 @Service
@@ -30,26 +38,25 @@ public class KafkaSender {
      * Отправляет сообщение для создания заказа в Kafka.
      *
      * @param orderDTO DTO заказа для отправки
+     * @return результат отправки, завершается после подтверждения брокером
      */
-    public void sendOrderCreation(OrderDTO orderDTO) {
-
-        log.info("Kafka: Отправка нового заказа с id: {} в topic: {}",
-                orderDTO.getId(), orderCreationTopic);
-        orderKafkaTemplate.send(orderCreationTopic, orderDTO);
-        log.info("Новый заказ с id: {} отправлен в topic: {}",
+    public CompletableFuture<SendResult<String, OrderDTO>> sendOrderCreation(OrderDTO orderDTO) {
+        log.debug("Kafka: Отправка нового заказа с id: {} в topic: {}",
                 orderDTO.getId(), orderCreationTopic);
+        return orderKafkaTemplate.send(orderCreationTopic, String.valueOf(orderDTO.getId()), orderDTO);
     }
 
     /**
      * Отправляет сообщение об обновлении статуса заказа в Kafka.
      *
      * @param updateDTO DTO обновления статуса заказа
+     * @return результат отправки, завершается после подтверждения брокером
      */
-    public void sendUpdateOrderStatus(UpdateOrderStatusDTO updateDTO) {
-        log.info("Kafka: Отправка обновленного статуса заказа с id: {} в topic: {}",
-                updateDTO.getId(), waiterOrderStatusTopic);
-        updateOrderStatusKafkaTemplate.send(waiterOrderStatusTopic, updateDTO);
-        log.info("Kafka: Обновленный статус заказа с id: {} в topic: {} успешно отправлен",
+    public CompletableFuture<SendResult<String, UpdateOrderStatusDTO>> sendUpdateOrderStatus(
+            UpdateOrderStatusDTO updateDTO) {
+        log.debug("Kafka: Отправка обновленного статуса заказа с id: {} в topic: {}",
                 updateDTO.getId(), waiterOrderStatusTopic);
+        return updateOrderStatusKafkaTemplate.send(
+                waiterOrderStatusTopic, String.valueOf(updateDTO.getId()), updateDTO);
     }
 }
@@ -29,7 +29,7 @@ public class OrderUpdatesListener {
             topics = "${spring.kafka.consumer.topic.kitchen-order-status-updates}",
             groupId = "${spring.kafka.consumer.group.kitchen-status-group-id}")
     public void handleOrderStatusUpdate(UpdateOrderStatusDTO statusDTO) {
-        log.info("Kafka: Получены данные для изменения статуса заказа: {}", statusDTO);
+        log.debug("Kafka: Получен статус {} для заказа с id: {}", statusDTO.getStatus(), statusDTO.getId());
         orderServiceImpl.updateOrderStatusFromKafkaDTO(statusDTO);
     }
 }
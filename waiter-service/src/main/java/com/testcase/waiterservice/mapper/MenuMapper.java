@@ -3,12 +3,13 @@ package com.testcase.waiterservice.mapper;
 import com.testcase.commondto.waiterservice.MenuDTO;
 import com.testcase.waiterservice.entity.Menu;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
 import java.util.List;
 
 /**
- * Mapper для преобразования сущности {@link Menu} в DTO {@link MenuDTO}.
+ * Mapper для преобразования сущности {@link Menu} в DTO {@link MenuDTO} и обратно.
  * Осуществляет маппинг одного меню и списка меню.
  * Используется Spring ComponentModel для интеграции в Spring Context.
  */
@@ -30,4 +31,14 @@ public interface MenuMapper {
      * @return список {@link MenuDTO} меню
      */
     List<MenuDTO> toMenuDTOList(List<Menu> menus);
+
+    /**
+     * Преобразует {@link MenuDTO} из кэша меню в сущность {@link Menu}.
+     * Сущность не загружается из БД и служит ссылкой на существующую позицию меню.
+     *
+     * @param menuDTO DTO меню
+     * @return сущность меню с ID, названием и стоимостью
+     */
+    @Mapping(target = "orderPositions", ignore = true)
+    Menu toMenu(MenuDTO menuDTO);
 }
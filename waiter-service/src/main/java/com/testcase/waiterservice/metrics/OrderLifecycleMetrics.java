@@ -0,0 +1,151 @@
+package com.testcase.waiterservice.metrics;
+
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.waiterservice.client.ValidationClient;
+import com.testcase.waiterservice.repository.order.OrderRepository;
+import com.testcase.waiterservice.repository.order.OrderStatusCount;
+import com.testcase.waiterservice.repository.order.OrderStatusTransition;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики жизненного цикла заказа.
+ * <p>
+ * {@code validation.client.requests} — время проверки заказа сервисом кухни с тегами {@code transport}
+ * (feign, grpc, grpc-stream) и {@code exception}.
+ * {@code order.status.duration} — время, проведённое заказом в статусе {@code status}, записывается при выходе
+ * из статуса после фиксации транзакции. Время считается по колонке {@code status_changed_dttm} в БД,
+ * поэтому учитываются и переходы, пришедшие из kitchen-service через Kafka.
+ * {@code orders.in.flight} — количество незавершённых заказов по статусам. Значения читаются из БД
+ * с интервалом {@code waiter.metrics.orders-in-flight.refresh-ms} и одинаковы для всех экземпляров сервиса.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OrderLifecycleMetrics {
+
+    private static final String VALIDATION_TIMER = "validation.client.requests";
+    private static final String STATUS_DURATION_TIMER = "order.status.duration";
+    private static final String NO_EXCEPTION = "none";
+
+    /**
+     * Статусы, из которых заказ ещё может перейти дальше.
+     */
+    private static final Set<OrderStatus> IN_FLIGHT_STATUSES = EnumSet.of(
+            OrderStatus.PREPARING,
+            OrderStatus.SENT_TO_KITCHEN,
+            OrderStatus.COOKING,
+            OrderStatus.READY,
+            OrderStatus.UNSUCCESSFUL_VISITOR_UNPAID,
+            OrderStatus.PAID_AWAITING_SERVING);
+
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+    private final MultiGauge inFlightGauge;
+
+
+    /**
+     * Конструктор метрик жизненного цикла заказа.
+     *
+     * @param orderRepository репозиторий заказов, из которого читается количество заказов по статусам
+     * @param meterRegistry реестр метрик
+     */
+    public OrderLifecycleMetrics(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.meterRegistry = meterRegistry;
+        this.inFlightGauge = MultiGauge.builder("orders.in.flight")
+                .description("Количество незавершённых заказов по статусам")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Проверяет заказ через клиент валидации и записывает время вызова.
+     *
+     * @param validationClient клиент валидации сервиса кухни
+     * @param validationDTO заказ и его позиции
+     * @return результат валидации клиента
+     */
+    public Boolean timeValidation(ValidationClient validationClient, OrderValidationDTO validationDTO) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return validationClient.validateOrder(validationDTO);
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(VALIDATION_TIMER)
+                    .description("Время проверки заказа сервисом кухни")
+                    .tag("transport", validationClient.transport())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+
+    /**
+     * Записывает время, проведённое заказом в предыдущем статусе.
+     * Внутри транзакции время записывается после её фиксации, откат перехода в метрику не попадает.
+     * Повторная установка того же статуса (например, повтор сообщения Kafka) не учитывается.
+     *
+     * @param transition предыдущий статус и время нахождения в нём
+     * @param newStatus новый статус заказа
+     */
+    public void recordTransition(OrderStatusTransition transition, OrderStatus newStatus) {
+        if (newStatus.name().equals(transition.getPreviousStatus())) {
+            return;
+        }
+        Timer timer = Timer.builder(STATUS_DURATION_TIMER)
+                .description("Время нахождения заказа в статусе")
+                .tag("status", transition.getPreviousStatus())
+                .register(meterRegistry);
+        long durationMs = Math.max(0L, transition.getDurationMs());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timer.record(durationMs, TimeUnit.MILLISECONDS);
+                }
+            });
+        } else {
+            timer.record(durationMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+
+    /**
+     * Обновляет количество незавершённых заказов по статусам.
+     * Статусы без заказов публикуются с нулевым значением.
+     */
+    @Scheduled(fixedDelayString = "${waiter.metrics.orders-in-flight.refresh-ms:15000}")
+    public void refreshOrdersInFlight() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        IN_FLIGHT_STATUSES.forEach(status -> counts.put(status, 0L));
+        try {
+            for (OrderStatusCount count : orderRepository.countGroupedByStatus(IN_FLIGHT_STATUSES)) {
+                counts.put(count.getStatus(), count.getOrders());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось получить количество незавершённых заказов: {}", e.getMessage());
+            return;
+        }
+        inFlightGauge.register(counts.entrySet().stream()
+                .map(entry -> MultiGauge.Row.of(Tags.of("status", entry.getKey().name()), entry.getValue()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,54 @@
+package com.testcase.waiterservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.waiterservice.entity.OutboxEvent;
+import com.testcase.waiterservice.kafka.KafkaSender;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Отправляет одно сообщение outbox в Kafka.
+ * <p>
+ * Тело сообщения десериализуется в DTO по типу события, отправка выполняется в области спана,
+ * продолжающего трассу операции, записавшей сообщение (см. {@link OutboxTracing}).
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventPublisher {
+
+    private final KafkaSender kafkaSender;
+    private final OutboxTracing outboxTracing;
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * Отправляет сообщение outbox без ожидания подтверждения брокера.
+     *
+     * @param event сообщение outbox
+     * @return future подтверждения брокера; ошибка десериализации или отправки возвращается как завершённый
+     *         с ошибкой future
+     */
+    public CompletableFuture<?> publish(OutboxEvent event) {
+        return outboxTracing.publishInSpan(event, () -> send(event));
+    }
+
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return switch (event.getEventType()) {
+                case ORDER_CREATION -> kafkaSender.sendOrderCreation(
+                        objectMapper.readValue(event.getPayload(), OrderDTO.class));
+                case ORDER_STATUS_UPDATE -> kafkaSender.sendUpdateOrderStatus(
+                        objectMapper.readValue(event.getPayload(), UpdateOrderStatusDTO.class));
+            };
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.testcase.waiterservice.outbox;
+
+import com.testcase.waiterservice.entity.OutboxEvent;
+import com.testcase.waiterservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Публикует сообщения outbox в Kafka.
+ * <p>
+ * Сообщения публикует только один экземпляр сервиса — владелец аренды в таблице {@code outbox_relay_lease}.
+ * Аренда продлевается перед каждой пачкой и должна быть дольше ожидания подтверждений
+ * ({@code waiter.outbox.lease-ms} больше {@code waiter.outbox.send-timeout-ms}). Пачка читается
+ * в порядке записи без блокировки строк, а подтверждённые сообщения удаляются отдельной короткой
+ * транзакцией, поэтому ожидание брокера не удерживает ни транзакцию, ни соединение с БД.
+ * </p>
+ * <p>
+ * Сообщения одного заказа публикуются строго по порядку: следующее сообщение заказа отправляется
+ * только после подтверждения предыдущего, а после первой неудачи остальные сообщения заказа
+ * остаются в таблице до следующего запуска. Сообщения разных заказов отправляются параллельно
+ * волнами — по одному сообщению каждого заказа за волну.
+ * </p>
+ * <p>
+ * Доставка «как минимум один раз»: сообщение, записанное брокером, но не подтверждённое за отведённое время,
+ * или опубликованное перед сбоем до удаления из таблицы, будет отправлено повторно. Идемпотентность
+ * продюсера такие повторы не отсекает, поэтому получатели обязаны обрабатывать дубликаты:
+ * kitchen-service создаёт заказ, только если его ещё нет, и пропускает повторную установку того же статуса.
+ * </p>
+ * <p>
+ * Метрики: {@code outbox.lag} — возраст самого старого неопубликованного сообщения,
+ * {@code outbox.events.relayed} и {@code outbox.events.failed} — подтверждённые и не подтверждённые брокером
+ * сообщения, {@code outbox.relay.batch} — время публикации пачки.
+ * </p>
+ * <p>
+ * Каждое сообщение публикуется в области спана, продолжающего трассу операции, записавшей сообщение
+ * (см. {@link OutboxEventPublisher}).
+ * </p>
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long leaseMs;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicLong lagMs = new AtomicLong();
+    private final Counter relayedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+
+    /**
+     * Конструктор релея outbox.
+     *
+     * @param outboxEventRepository репозиторий сообщений outbox
+     * @param outboxEventPublisher отправитель отдельных сообщений в Kafka
+     * @param meterRegistry реестр метрик
+     * @param batchSize максимальный размер пачки, по умолчанию 100
+     * @param sendTimeoutMs время ожидания подтверждений пачки в миллисекундах, по умолчанию 10000
+     * @param leaseMs срок аренды публикации в миллисекундах, по умолчанию 30000
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxEventPublisher outboxEventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${waiter.outbox.batch-size:100}") int batchSize,
+                       @Value("${waiter.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${waiter.outbox.lease-ms:30000}") long leaseMs) {
+        if (leaseMs <= sendTimeoutMs) {
+            throw new IllegalArgumentException(String.format(
+                    "Срок аренды outbox (%d мс) должен быть больше времени ожидания подтверждений (%d мс)",
+                    leaseMs, sendTimeoutMs));
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.leaseMs = leaseMs;
+
+        Gauge.builder("outbox.lag", lagMs, AtomicLong::get)
+                .description("Возраст самого старого неопубликованного сообщения outbox")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.relayedCounter = Counter.builder("outbox.events.relayed")
+                .description("Количество сообщений outbox, подтверждённых брокером")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Количество сообщений outbox, не подтверждённых брокером")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Время публикации пачки сообщений outbox")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Публикует накопленные сообщения пачками, пока экземпляр владеет арендой,
+     * пачки заполняются полностью и все сообщения подтверждаются брокером.
+     */
+    @Scheduled(fixedDelayString = "${waiter.outbox.relay-interval-ms:100}")
+    public void relay() {
+        try {
+            while (outboxEventRepository.acquireRelayLease(owner, leaseMs) > 0 && relayBatch() == batchSize) {
+                log.debug("Пачка outbox заполнена, публикация следующей пачки");
+            }
+        } catch (RuntimeException e) {
+            log.error("Ошибка публикации сообщений outbox, повтор при следующем запуске", e);
+        }
+        updateLag();
+    }
+
+
+    /**
+     * Освобождает аренду при остановке, чтобы другой экземпляр продолжил публикацию без ожидания её истечения.
+     */
+    @PreDestroy
+    public void releaseLease() {
+        try {
+            outboxEventRepository.releaseRelayLease(owner);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось освободить аренду outbox: {}", e.getMessage());
+        }
+    }
+
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start();
+        Map<Long, Deque<OutboxEvent>> eventsByOrder = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            eventsByOrder.computeIfAbsent(event.getAggregateId(), orderId -> new ArrayDeque<>()).add(event);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> sentIds = new ArrayList<>(events.size());
+        int failed = 0;
+        while (!eventsByOrder.isEmpty() && System.nanoTime() < deadline) {
+            Map<Long, CompletableFuture<?>> wave = new LinkedHashMap<>();
+            eventsByOrder.forEach((orderId, orderEvents) ->
+                    wave.put(orderId, outboxEventPublisher.publish(orderEvents.peekFirst())));
+            for (Map.Entry<Long, CompletableFuture<?>> sent : wave.entrySet()) {
+                Deque<OutboxEvent> orderEvents = eventsByOrder.get(sent.getKey());
+                if (awaitAck(orderEvents.peekFirst(), sent.getValue(), deadline)) {
+                    sentIds.add(orderEvents.pollFirst().getId());
+                } else {
+                    failed++;
+                    orderEvents.clear();
+                }
+            }
+            eventsByOrder.values().removeIf(Deque::isEmpty);
+        }
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(sentIds);
+        }
+        sample.stop(batchTimer);
+
+        relayedCounter.increment(sentIds.size());
+        failedCounter.increment(failed);
+        log.debug("Опубликовано сообщений outbox: {}, не подтверждено: {}, отложено: {}",
+                sentIds.size(), failed, events.size() - sentIds.size() - failed);
+        return failed == 0 ? sentIds.size() : 0;
+    }
+
+
+    private boolean awaitAck(OutboxEvent event, CompletableFuture<?> future, long deadline) {
+        boolean acknowledged = false;
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            acknowledged = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Сообщение outbox с id: {} типа {} не подтверждено брокером: {}",
+                    event.getId(), event.getEventType(), e.getMessage());
+        }
+        return acknowledged;
+    }
+
+
+    private void updateLag() {
+        try {
+            OffsetDateTime oldest = outboxEventRepository.findOldestCreateDttm();
+            lagMs.set(oldest == null ? 0 : Duration.between(oldest, OffsetDateTime.now()).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось вычислить задержку outbox: {}", e.getMessage());
+        }
+    }
+}
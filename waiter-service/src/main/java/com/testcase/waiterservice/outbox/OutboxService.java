@@ -0,0 +1,96 @@
+package com.testcase.waiterservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.waiterservice.entity.OutboxEvent;
+import com.testcase.waiterservice.entity.OutboxEventType;
+import com.testcase.waiterservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Сервис записи сообщений для Kafka в outbox.
+ * <p>
+ * Сообщение записывается в таблицу {@code outbox_event} в транзакции, изменяющей заказ,
+ * поэтому оно публикуется тогда и только тогда, когда изменение заказа зафиксировано.
+ * Публикацию выполняет {@link OutboxRelay}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxTracing outboxTracing;
+    private final Counter enqueuedCounter;
+
+
+    /**
+     * Конструктор сервиса outbox.
+     *
+     * @param outboxEventRepository репозиторий сообщений outbox
+     * @param objectMapper сериализатор DTO в JSON
+     * @param outboxTracing трассировка outbox, сохраняющая контекст текущей трассы вместе с сообщением
+     * @param meterRegistry реестр метрик для счётчика записанных сообщений
+     */
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         ObjectMapper objectMapper,
+                         OutboxTracing outboxTracing,
+                         MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.outboxTracing = outboxTracing;
+        this.enqueuedCounter = Counter.builder("outbox.events.enqueued")
+                .description("Количество сообщений, записанных в outbox")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Записывает в outbox сообщение о создании заказа на кухне.
+     * Должен вызываться внутри транзакции, изменяющей статус заказа.
+     *
+     * @param orderDTO DTO заказа
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueOrderCreation(OrderDTO orderDTO) {
+        enqueue(OutboxEventType.ORDER_CREATION, orderDTO.getId(), orderDTO);
+        log.debug("Заказ с id: {} записан в outbox для отправки на кухню", orderDTO.getId());
+    }
+
+
+    /**
+     * Записывает в outbox сообщение об обновлении статуса заказа.
+     * Должен вызываться внутри транзакции, изменяющей статус заказа.
+     *
+     * @param updateDTO DTO обновления статуса заказа
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueStatusUpdate(UpdateOrderStatusDTO updateDTO) {
+        enqueue(OutboxEventType.ORDER_STATUS_UPDATE, updateDTO.getId(), updateDTO);
+        log.debug("Статус заказа с id: {} записан в outbox для отправки на кухню", updateDTO.getId());
+    }
+
+
+    private void enqueue(OutboxEventType eventType, Long orderId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    String.format("Не удалось сериализовать сообщение типа %s", eventType), e);
+        }
+        outboxEventRepository.save(new OutboxEvent(null, eventType, orderId, json, OffsetDateTime.now(),
+                outboxTracing.currentTraceHeaders()));
+        enqueuedCounter.increment();
+    }
+}
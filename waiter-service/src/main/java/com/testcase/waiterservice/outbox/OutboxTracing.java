@@ -0,0 +1,121 @@
+package com.testcase.waiterservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.waiterservice.entity.OutboxEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Переносит контекст трассировки через outbox.
+ * <p>
+ * При записи сообщения сохраняются заголовки текущей трассы, при публикации релей открывает спан
+ * {@code outbox publish}, дочерний для сохранённого контекста. Отправка в Kafka выполняется в области
+ * этого спана, поэтому заголовки записи Kafka продолжают трассу запроса, изменившего заказ,
+ * а промежуток между запросом и спаном публикации показывает задержку outbox.
+ * </p>
+ * <p>
+ * Если трассировка отключена, используется {@link Tracer#NOOP}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OutboxTracing {
+
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * Конструктор трассировки outbox.
+     *
+     * @param tracerProvider трассировщик, если трассировка включена
+     * @param propagatorProvider формат передачи контекста трассировки, если трассировка включена
+     * @param objectMapper сериализатор заголовков в JSON
+     */
+    public OutboxTracing(ObjectProvider<Tracer> tracerProvider,
+                         ObjectProvider<Propagator> propagatorProvider,
+                         ObjectMapper objectMapper) {
+        this.tracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagatorProvider.getIfAvailable(() -> Propagator.NOOP);
+        this.objectMapper = objectMapper;
+    }
+
+
+    /**
+     * Сериализует контекст текущей трассы для записи вместе с сообщением.
+     *
+     * @return заголовки трассировки в формате JSON или {@code null}, если текущей трассы нет
+     */
+    public String currentTraceHeaders() {
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context == null) {
+            return null;
+        }
+        Map<String, String> headers = new HashMap<>();
+        propagator.inject(context, headers, Map::put);
+        try {
+            return headers.isEmpty() ? null : objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            log.warn("Не удалось сохранить контекст трассировки: {}", e.getMessage());
+            return null;
+        }
+    }
+
+
+    /**
+     * Выполняет публикацию сообщения в области спана {@code outbox publish},
+     * продолжающего сохранённую с сообщением трассу.
+     *
+     * @param event сообщение outbox
+     * @param publish отправка сообщения
+     * @param <T> тип результата отправки
+     * @return результат отправки
+     */
+    public <T> T publishInSpan(OutboxEvent event, Supplier<T> publish) {
+        Map<String, String> headers = readHeaders(event);
+        Span.Builder builder = headers.isEmpty()
+                ? tracer.spanBuilder()
+                : propagator.extract(headers, Map::get);
+        Span span = builder
+                .name("outbox publish")
+                .tag("outbox.event.type", event.getEventType().name())
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return publish.get();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+
+    private Map<String, String> readHeaders(OutboxEvent event) {
+        if (event.getTraceHeaders() == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(event.getTraceHeaders(), HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Не удалось прочитать контекст трассировки сообщения outbox с id: {}: {}",
+                    event.getId(), e.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.testcase.waiterservice.repository;
+
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор постраничного поиска по ключу {@code (дата, id)}.
+ * <p>
+ * Курсор указывает на последнюю запись полученной страницы, следующая страница начинается строго после неё.
+ * В отличие от OFFSET, стоимость запроса не зависит от глубины страницы при наличии составного индекса
+ * по тем же колонкам. Клиенту курсор передаётся непрозрачной строкой в Base64.
+ * </p>
+ */
+@Getter
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final OffsetDateTime timestamp;
+    private final Long id;
+
+
+    /**
+     * Создаёт курсор, указывающий на запись.
+     *
+     * @param timestamp дата записи
+     * @param id идентификатор записи
+     */
+    public KeysetCursor(OffsetDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+
+    /**
+     * Восстанавливает курсор из строки, полученной клиентом.
+     *
+     * @param cursor строковое представление курсора
+     * @return курсор
+     * @throws IllegalArgumentException если строка не является курсором
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(
+                    OffsetDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: '%s'", cursor), e);
+        }
+    }
+
+
+    /**
+     * Возвращает строковое представление курсора для передачи клиенту.
+     *
+     * @return курсор в Base64
+     */
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Создаёт условие выборки записей, следующих за курсором при сортировке по возрастанию даты и id.
+     *
+     * @param timestampAttribute имя атрибута даты сущности
+     * @param idAttribute имя атрибута идентификатора сущности
+     * @param <T> тип сущности
+     * @return спецификация {@code (дата, id) > (дата курсора, id курсора)}
+     */
+    public <T> Specification<T> after(String timestampAttribute, String idAttribute) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.greaterThan(root.get(timestampAttribute), timestamp),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get(timestampAttribute), timestamp),
+                        criteriaBuilder.greaterThan(root.get(idAttribute), id)));
+    }
+}
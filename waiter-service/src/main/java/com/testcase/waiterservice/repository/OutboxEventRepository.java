@@ -0,0 +1,70 @@
+package com.testcase.waiterservice.repository;
+
+import com.testcase.waiterservice.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий для работы с сообщениями outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Возвращает очередную пачку сообщений в порядке записи.
+     *
+     * @param limit максимальный размер пачки
+     * @return сообщения пачки
+     */
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findNextBatch(@Param("limit") int limit);
+
+
+    /**
+     * Захватывает или продлевает аренду публикации outbox.
+     * Аренда захватывается, если она свободна, истекла или уже принадлежит этому экземпляру.
+     *
+     * @param owner идентификатор экземпляра сервиса
+     * @param leaseMs срок аренды в миллисекундах
+     * @return {@code 1}, если аренда принадлежит экземпляру, иначе {@code 0}
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE outbox_relay_lease
+            SET owner = :owner, expires_at = now() + :leaseMs * INTERVAL '1 millisecond'
+            WHERE name = 'outbox' AND (owner = :owner OR owner IS NULL OR expires_at < now())
+            """)
+    int acquireRelayLease(@Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+
+    /**
+     * Освобождает аренду публикации outbox, если она принадлежит экземпляру.
+     *
+     * @param owner идентификатор экземпляра сервиса
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE outbox_relay_lease
+            SET owner = NULL, expires_at = now()
+            WHERE name = 'outbox' AND owner = :owner
+            """)
+    void releaseRelayLease(@Param("owner") String owner);
+
+
+    /**
+     * Возвращает время записи самого старого неопубликованного сообщения.
+     *
+     * @return время записи или {@code null}, если сообщений нет
+     */
+    @Query("SELECT MIN(e.createDttm) FROM OutboxEvent e")
+    OffsetDateTime findOldestCreateDttm();
+}
@@ -2,14 +2,18 @@ package com.testcase.waiterservice.repository.order;
 
 import com.education.commondto.waiterservice.OrderStatus;
 import com.education.waiterservice.entity.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Репозиторий для управления заказами.
  * Предоставляет методы для работы с сущностью {@link Order}.
@@ -19,14 +23,62 @@ import org.springframework.transaction.annotation.Transactional;
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
     /**
-     * Обновляет статус заказа по его идентификатору.
-     * Этот метод используется для изменения статуса заказа.
+     * Загружает заказ вместе с официантом, позициями и блюдами позиций одним запросом.
+     * Используется там, где заказ изменяется по позициям и затем целиком преобразуется в DTO.
      *
      * @param orderId идентификатор заказа
-     * @param status новый статус заказа
+     * @return заказ с загруженными связями или пустой {@link Optional}
+     */
+    @EntityGraph(attributePaths = {"waiter", "orderPositions", "orderPositions.menu"})
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId")
+    Optional<Order> findWithPositionsById(@Param("orderId") Long orderId);
+
+    /**
+     * Переводит заказ в новый статус и отмечает время смены статуса.
+     * Строка заказа блокируется на время обновления, поэтому предыдущий статус и время нахождения в нём
+     * возвращаются для последней версии заказа даже при одновременных обновлениях.
+     *
+     * @param orderId идентификатор заказа
+     * @param status название нового статуса заказа
+     * @return предыдущий статус и время нахождения в нём или пустой {@link Optional}, если заказ не найден
      */
     @Transactional
-    @Modifying
-    @Query("UPDATE Order SET status = :status WHERE id = :orderId")
-    void updateOrderStatusById(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+    @Query(nativeQuery = true, value = """
+            WITH previous AS (
+                SELECT order_no, status, status_changed_dttm
+                FROM waiter_order
+                WHERE order_no = :orderId
+                FOR UPDATE
+            )
+            UPDATE waiter_order o
+            SET status = :status, status_changed_dttm = now()
+            FROM previous
+            WHERE o.order_no = previous.order_no
+            RETURNING previous.status AS "previousStatus",
+                      CAST(EXTRACT(EPOCH FROM now() - previous.status_changed_dttm) * 1000 AS BIGINT) AS "durationMs"
+            """)
+    Optional<OrderStatusTransition> updateOrderStatusById(@Param("orderId") Long orderId,
+                                                          @Param("status") String status);
+
+    /**
+     * Переводит заказ в новый статус и отмечает время смены статуса.
+     *
+     * @param orderId идентификатор заказа
+     * @param status новый статус заказа
+     * @return предыдущий статус и время нахождения в нём или пустой {@link Optional}, если заказ не найден
+     * @see #updateOrderStatusById(Long, String)
+     */
+    default Optional<OrderStatusTransition> updateOrderStatusById(Long orderId, OrderStatus status) {
+        return updateOrderStatusById(orderId, status.name());
+    }
+
+    /**
+     * Считает заказы в каждом из переданных статусов.
+     * Статусы без заказов в результат не попадают.
+     *
+     * @param statuses статусы, по которым считаются заказы
+     * @return количество заказов по статусам
+     */
+    @Query("SELECT o.status AS status, COUNT(o) AS orders FROM Order o WHERE o.status IN :statuses GROUP BY o.status")
+    List<OrderStatusCount> countGroupedByStatus(@Param("statuses") Collection<OrderStatus> statuses);
 }
@@ -0,0 +1,23 @@
+package com.testcase.waiterservice.repository.order;
+
+import com.testcase.commondto.waiterservice.OrderStatus;
+
+/**
+ * Проекция количества заказов в статусе.
+ */
+public interface OrderStatusCount {
+
+    /**
+     * Статус заказов.
+     *
+     * @return статус
+     */
+    OrderStatus getStatus();
+
+    /**
+     * Количество заказов в статусе.
+     *
+     * @return количество заказов
+     */
+    long getOrders();
+}
@@ -0,0 +1,22 @@
+package com.testcase.waiterservice.repository.order;
+
+/**
+ * Проекция перехода заказа в новый статус: статус, из которого заказ вышел,
+ * и время, проведённое заказом в этом статусе.
+ */
+public interface OrderStatusTransition {
+
+    /**
+     * Статус заказа до перехода.
+     *
+     * @return название статуса {@link com.testcase.commondto.waiterservice.OrderStatus}
+     */
+    String getPreviousStatus();
+
+    /**
+     * Время нахождения заказа в предыдущем статусе.
+     *
+     * @return длительность в миллисекундах
+     */
+    Long getDurationMs();
+}
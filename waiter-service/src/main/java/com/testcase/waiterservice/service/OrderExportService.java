@@ -0,0 +1,22 @@
+package com.testcase.waiterservice.service;
+
+import java.io.OutputStream;
+
+/**
+ * Интерфейс сервиса потоковой выгрузки заказов.
+ * Предназначен для выгрузки истории заказов без загрузки её в память целиком.
+ */
+public interface OrderExportService {
+
+    /**
+     * Записывает заказы в поток в формате NDJSON: по одному {@code OrderDTO} на строку в порядке возрастания ID.
+     * <p>
+     * Выгрузку можно продолжить после обрыва, передав в {@code afterOrderId} ID последнего полученного заказа.
+     * </p>
+     *
+     * @param afterOrderId ID заказа, после которого начинается выгрузка; {@code null} — с первого заказа
+     * @param limit максимальное количество заказов; {@code null} — без ограничения
+     * @param outputStream поток, в который записываются заказы
+     */
+    void exportOrders(Long afterOrderId, Long limit, OutputStream outputStream);
+}
@@ -1,5 +1,6 @@
 package com.testcase.waiterservice.service;
 
+import com.testcase.waiterservice.entity.Order;
 import com.testcase.waiterservice.entity.OrderPosition;
 
 /**
@@ -19,6 +20,16 @@ public interface OrderPositionService {
      */
     OrderPosition createOrderPosition(Long menuId, Integer quantity, Long orderId);
 
+    /**
+     * Создаёт новую позицию в уже загруженном заказе без повторного чтения заказа из базы.
+     *
+     * @param order заказ, в который добавляется позиция
+     * @param menuId идентификатор позиции меню
+     * @param quantity количество позиций в заказе
+     * @return {@link OrderPosition} созданной позиции заказа
+     */
+    OrderPosition createOrderPosition(Order order, Long menuId, Integer quantity);
+
     /**
      * Получает позицию заказа по ID.
      *
@@ -36,6 +47,15 @@ public interface OrderPositionService {
      */
     void updateOrderPosition(Long orderPositionId, int newQuantity);
 
+    /**
+     * Обновляет количество уже загруженной позиции заказа.
+     * Если новое количество равно 0, позиция будет удалена.
+     *
+     * @param orderPosition позиция заказа
+     * @param newQuantity новое количество позиций
+     */
+    void updateOrderPosition(OrderPosition orderPosition, int newQuantity);
+
     /**
      * Удаляет позицию заказа по ID.
      *
@@ -3,6 +3,7 @@ package com.testcase.waiterservice.service;
 import com.testcase.commondto.UpdateOrderStatusDTO;
 import com.testcase.commondto.waiterservice.OrderDTO;
 import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.waiterservice.dto.KeysetPageDTO;
 import com.testcase.waiterservice.dto.request.OrderCalculateRequestDTO;
 import com.testcase.waiterservice.dto.request.OrderCreateRequestDTO;
 import com.testcase.waiterservice.dto.request.OrderFilterDTO;
@@ -172,4 +173,19 @@ public interface OrderService {
      * @return страница заказов {@link Page} с DTO {@link OrderDTO}, удовлетворяющих фильтрующим условиям
      */
     Page<OrderDTO> getOrdersByFilter(OrderFilterDTO filter, int page, int size);
+
+    /**
+     * Получает заказы по фильтру постранично по курсору.
+     * <p>
+     * Заказы упорядочены по дате создания и ID. Следующая страница запрашивается по курсору
+     * из предыдущей страницы, без OFFSET и без подсчёта общего количества, если он не запрошен явно.
+     * </p>
+     *
+     * @param filter объект фильтра {@link OrderFilterDTO}, содержащий параметры фильтрации
+     * @param cursor курсор предыдущей страницы; {@code null} — первая страница
+     * @param size количество элементов на странице
+     * @param withCount подсчитать ли общее количество найденных заказов
+     * @return страница заказов {@link KeysetPageDTO} с DTO {@link OrderDTO}
+     */
+    KeysetPageDTO<OrderDTO> getOrdersByFilter(OrderFilterDTO filter, String cursor, int size, boolean withCount);
 }
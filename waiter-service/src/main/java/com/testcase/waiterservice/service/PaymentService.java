@@ -1,5 +1,6 @@
 package com.testcase.waiterservice.service;
 
+import com.testcase.waiterservice.dto.KeysetPageDTO;
 import com.testcase.waiterservice.dto.PaymentDTO;
 import com.testcase.waiterservice.dto.request.PaymentFilterDTO;
 import org.springframework.data.domain.Page;
@@ -26,4 +27,16 @@ public interface PaymentService {
      * @return страница с DTO оплат
      */
     Page<PaymentDTO> getPayments(PaymentFilterDTO filter, Pageable pageable);
+
+    /**
+     * Получает список платежей с фильтрацией постранично по курсору.
+     * Платежи упорядочены по дате оплаты и ID заказа, платежи без даты оплаты не возвращаются.
+     *
+     * @param filter фильтры поиска
+     * @param cursor курсор предыдущей страницы; {@code null} — первая страница
+     * @param size количество элементов на странице
+     * @param withCount подсчитать ли общее количество найденных платежей
+     * @return страница с DTO оплат
+     */
+    KeysetPageDTO<PaymentDTO> getPayments(PaymentFilterDTO filter, String cursor, int size, boolean withCount);
 }
@@ -1,6 +1,7 @@
 package com.testcase.waiterservice.service.impl;
 
 import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.waiterservice.cache.MenuCache;
 import com.testcase.waiterservice.entity.Menu;
 import com.testcase.waiterservice.exception.MenuPositionNotFoundException;
 import com.testcase.waiterservice.mapper.MenuMapper;
@@ -17,33 +18,35 @@ import java.util.List;
 
 /**
  * Реализация сервиса для управления позициями меню.
- * Выполняет получение всех блюд и поиск блюда по идентификатору с использованием репозитория и мапперов.
+ * Получение всех блюд и поиск блюда по идентификатору обслуживаются через {@link MenuCache},
+ * постраничное получение читает меню из БД.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MenuServiceImpl implements MenuService {
 
+    private final MenuCache menuCache;
     private final MenuRepository menuRepository;
     private final MenuMapper menuMapper;
 
 
     @Override
     public List<MenuDTO> getAllMenus() {
-        log.info("Получение списка всех позиций меню");
-        List<MenuDTO> menus = menuMapper.toMenuDTOList(menuRepository.findAll());
-        log.info("Получено {} позиций меню", menus.size());
+        log.debug("Получение списка всех позиций меню");
+        List<MenuDTO> menus = menuCache.getAll();
+        log.debug("Получено {} позиций меню", menus.size());
         return menus;
     }
 
 
     @Override
     public MenuDTO getMenuById(Long id) {
-        log.info("Поиск позиции меню по id: {}", id);
-        MenuDTO menuDTO = menuMapper.toMenuDTO(menuRepository.findById(id)
+        log.debug("Поиск позиции меню по id: {}", id);
+        MenuDTO menuDTO = menuCache.get(id)
                 .orElseThrow(() -> new MenuPositionNotFoundException(
-                        String.format("Позиция меню с id: '%d' не найдена", id))));
-        log.info("Позиция меню c id: {} найдена", id);
+                        String.format("Позиция меню с id: '%d' не найдена", id)));
+        log.debug("Позиция меню c id: {} найдена", id);
         return menuDTO;
     }
 
@@ -0,0 +1,179 @@
+package com.testcase.waiterservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testcase.commondto.waiterservice.MenuDTO;
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.commondto.waiterservice.Sex;
+import com.testcase.commondto.waiterservice.WaiterDTO;
+import com.testcase.waiterservice.config.DataSourcePoolConfig;
+import com.testcase.waiterservice.service.OrderExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+
+/**
+ * Реализация потоковой выгрузки заказов.
+ * <p>
+ * Заказы читаются одним запросом вместе с официантом, позициями и блюдами через курсор JDBC:
+ * драйвер PostgreSQL получает строки порциями размера {@code fetchSize}, только если запрос выполняется
+ * в транзакции, поэтому выгрузка идёт в отдельной транзакции только для чтения.
+ * Соединение занято всё время записи ответа, поэтому выгрузка берёт его из отдельного пула
+ * (см. {@link DataSourcePoolConfig#exportDataSource}) и не занимает соединения основного пула.
+ * Строки упорядочены по номеру заказа, поэтому в памяти держится только текущий заказ,
+ * а готовые заказы сразу записываются в поток. Номер заказа служит ключом для продолжения выгрузки.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String EXPORT_QUERY = """
+            WITH page AS (
+                SELECT order_no, status, create_dttm, waiter_id, table_no
+                FROM waiter_order
+                WHERE order_no > ?
+                ORDER BY order_no
+                LIMIT ?
+            )
+            SELECT o.order_no, o.status, o.create_dttm, o.table_no,
+                   w.waiter_id, w.name AS waiter_name, w.employment_date, w.sex,
+                   op.dish_num, m.id AS menu_id, m.dish_name, m.dish_cost
+            FROM page o
+            JOIN waiter_account w ON w.waiter_id = o.waiter_id
+            LEFT JOIN order_positions op ON op.order_no = o.order_no
+            LEFT JOIN menu m ON m.id = op.menu_position_id
+            ORDER BY o.order_no, op.composition_id
+            """;
+
+    private static final int FLUSH_INTERVAL = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter orderWriter;
+
+
+    /**
+     * Конструктор сервиса выгрузки заказов.
+     *
+     * @param dataSource источник данных выгрузки БД заказов
+     * @param objectMapper сериализатор заказов в JSON
+     * @param fetchSize количество строк, получаемых из БД за одно обращение курсора, по умолчанию 500
+     */
+    public OrderExportServiceImpl(@Qualifier(DataSourcePoolConfig.EXPORT_DATA_SOURCE) DataSource dataSource,
+                                  ObjectMapper objectMapper,
+                                  @Value("${waiter.order-export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.orderWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+
+    @Override
+    public void exportOrders(Long afterOrderId, Long limit, OutputStream outputStream) {
+        log.info("Выгрузка заказов после id: {}, лимит: {}", afterOrderId, limit);
+        Long exported = transactionTemplate.execute(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                OrderRowHandler handler = new OrderRowHandler(generator);
+                jdbcTemplate.query(EXPORT_QUERY, handler,
+                        afterOrderId == null ? 0L : afterOrderId,
+                        new SqlParameterValue(Types.BIGINT, limit));
+                handler.finish();
+                return handler.written;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ошибка записи выгрузки заказов", e);
+            }
+        });
+        log.info("Выгружено {} заказов", exported);
+    }
+
+
+    private static OrderDTO toOrder(ResultSet rs, long orderId) throws SQLException {
+        WaiterDTO waiter = new WaiterDTO(
+                rs.getLong("waiter_id"),
+                rs.getString("waiter_name"),
+                rs.getObject("employment_date", OffsetDateTime.class),
+                Sex.valueOf(rs.getString("sex")));
+        return new OrderDTO(
+                orderId,
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getObject("create_dttm", OffsetDateTime.class),
+                waiter,
+                rs.getString("table_no"),
+                new HashSet<>());
+    }
+
+
+    /**
+     * Собирает заказ из строк результата и записывает его в поток, как только начинаются строки следующего заказа.
+     */
+    private final class OrderRowHandler implements RowCallbackHandler {
+
+        private final JsonGenerator generator;
+        private OrderDTO current;
+        private long written;
+
+
+        private OrderRowHandler(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("order_no");
+            if (current == null || current.getId() != orderId) {
+                finish();
+                current = toOrder(rs, orderId);
+            }
+            Long menuId = rs.getObject("menu_id", Long.class);
+            if (menuId != null) {
+                MenuDTO menu = new MenuDTO(menuId, rs.getString("dish_name"), rs.getDouble("dish_cost"));
+                current.getOrderPositions().add(new OrderPositionDTO(orderId, rs.getInt("dish_num"), menu));
+            }
+        }
+
+
+        private void finish() {
+            if (current == null) {
+                return;
+            }
+            try {
+                orderWriter.writeValue(generator, current);
+                generator.writeRaw('\n');
+                written++;
+                if (written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ошибка записи заказа с id: " + current.getId(), e);
+            }
+            current = null;
+        }
+    }
+}
@@ -1,44 +1,53 @@
 package com.testcase.waiterservice.service.impl;
 
 import com.testcase.commondto.UpdateOrderStatusDTO;
+import com.testcase.commondto.waiterservice.MenuDTO;
 import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.commondto.waiterservice.OrderPositionDTO;
 import com.testcase.commondto.waiterservice.OrderStatus;
 import com.testcase.commondto.waiterservice.OrderValidationDTO;
+import com.testcase.commonruntime.audit.OrderStatusAuditLog;
 import com.testcase.waiterservice.client.ValidationClient;
 import com.testcase.waiterservice.dto.request.OrderCalculateRequestDTO;
 import com.testcase.waiterservice.dto.request.OrderCreateRequestDTO;
 import com.testcase.waiterservice.dto.request.OrderFilterDTO;
+import com.testcase.waiterservice.dto.KeysetPageDTO;
 import com.testcase.waiterservice.dto.PaymentDTO;
-import com.testcase.waiterservice.entity.Menu;
 import com.testcase.waiterservice.entity.Order;
 import com.testcase.waiterservice.entity.OrderPosition;
 import com.testcase.waiterservice.entity.Payment;
 import com.testcase.waiterservice.entity.PaymentType;
 import com.testcase.waiterservice.entity.Waiter;
-import com.testcase.waiterservice.exception.MenuPositionNotFoundException;
 import com.testcase.waiterservice.exception.OrderNotFoundException;
 import com.testcase.waiterservice.exception.OrderServingException;
 import com.testcase.waiterservice.exception.WaiterNotFoundException;
-import com.testcase.waiterservice.kafka.KafkaSender;
 import com.testcase.waiterservice.mapper.OrderMapper;
 import com.testcase.waiterservice.mapper.PaymentMapper;
-import com.testcase.waiterservice.repository.MenuRepository;
+import com.testcase.waiterservice.metrics.OrderLifecycleMetrics;
+import com.testcase.waiterservice.outbox.OutboxService;
+import com.testcase.waiterservice.repository.KeysetCursor;
 import com.testcase.waiterservice.repository.order.OrderRepository;
+import com.testcase.waiterservice.repository.order.OrderStatusTransition;
 import com.testcase.waiterservice.repository.payment.PaymentRepository;
 import com.testcase.waiterservice.repository.WaiterRepository;
 import com.testcase.waiterservice.repository.order.OrderSpecification;
 import com.testcase.waiterservice.service.OrderService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -47,54 +56,63 @@ import java.util.Set;
  * Реализация сервиса управления заказами.
  * Содержит логику создания, расчёта, обновления, отмены заказов,
  * а также обработки платежей и отправки сообщений в Kafka.
+ * Сообщения для Kafka записываются в outbox в транзакции, изменяющей статус заказа.
+ * Время и количество вызовов каждого метода публикуются в метрике {@code order.service}
+ * с тегами {@code method} и {@code exception}, переходы статусов — в {@link OrderLifecycleMetrics}.
  */
 @Slf4j
 @Service
+@Timed("order.service")
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
     private static final String ORDER_NOT_FOUND = "Заказ с id: '%d' не найден";
+    private static final String CREATE_DATE_TIME = "createDateTime";
+    private static final String ID = "id";
     private static final String CANCEL_SUCCESS_MESSAGE = "Заказ с id: {} успешно отменён. Статус: {}";
 
     private final OrderRepository orderRepository;
     private final WaiterRepository waiterRepository;
-    private final MenuRepository menuRepository;
     private final PaymentRepository paymentRepository;
     private final OrderMapper orderMapper;
     private final PaymentMapper paymentMapper;
     private final OrderPositionServiceImpl orderPositionServiceImpl;
+    private final MenuServiceImpl menuServiceImpl;
     private final ValidationClient validationClient;
-    private final KafkaSender kafkaSender;
+    private final OutboxService outboxService;
+    private final OrderLifecycleMetrics orderLifecycleMetrics;
+    private final OrderStatusAuditLog orderStatusAuditLog;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Override
     public List<OrderDTO> getAllOrders() {
-        log.info("Получение всех заказов");
+        log.debug("Получение всех заказов");
         List<OrderDTO> orders = orderMapper.toOrderDTOList(orderRepository.findAll());
-        log.info("Получено {} заказов", orders.size());
+        log.debug("Получено {} заказов", orders.size());
         return orders;
     }
 
 
     @Override
     public OrderDTO getOrderById(Long id) {
-        log.info("Получение заказа с id: {}", id);
+        log.debug("Получение заказа с id: {}", id);
         OrderDTO orderDTO = orderMapper.toOrderDTO(orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException(String.format(ORDER_NOT_FOUND, id))));
-        log.info("Заказ с id: {} получен", id);
+        log.debug("Заказ с id: {} получен", id);
         return orderDTO;
     }
 
 
     @Override
     public OrderDTO createOrder(OrderCreateRequestDTO requestDTO) {
-        log.info("Создание нового заказа по запросу: {}", requestDTO);
+        log.debug("Создание нового заказа официантом с id: {}", requestDTO.getWaiterId());
         Waiter waiter = waiterRepository.findById(requestDTO.getWaiterId())
                 .orElseThrow(() -> new WaiterNotFoundException(
                         String.format("Официант с id: %d не найден", requestDTO.getWaiterId())));
         Order newOrder = orderMapper.setOrderWhileCreating(requestDTO, waiter);
         Order savedOrder = orderRepository.save(newOrder);
-        log.info("Заказ успешно создан с id: {}", savedOrder.getId());
+        log.debug("Заказ успешно создан с id: {}", savedOrder.getId());
         return orderMapper.toOrderDTO(savedOrder);
     }
 
@@ -102,9 +120,12 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderDTO calculateOrder(Long orderId, OrderCalculateRequestDTO requestDTO) {
-        log.info("Подсчет заказа с id: {}, позиции: {}", orderId, requestDTO);
+        if (log.isDebugEnabled()) {
+            log.debug("Подсчет заказа с id: {}, позиция меню: {}, количество: {}",
+                    orderId, requestDTO.getMenuId(), requestDTO.getQuantity());
+        }
         int quantity = requestDTO.getQuantity();
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithPositionsById(orderId)
                 .orElseThrow(
                         () -> new OrderNotFoundException(
                                 String.format(ORDER_NOT_FOUND, orderId)));
@@ -115,14 +136,12 @@ public class OrderServiceImpl implements OrderService {
                             order.getStatus(), OrderStatus.PREPARING));
         }
 
-        Menu menu = menuRepository.findById(requestDTO.getMenuId())
-                .orElseThrow(() -> new MenuPositionNotFoundException(
-                        String.format("Позиция меню с id: '%d' не найдена", requestDTO.getMenuId())));
+        MenuDTO menu = menuServiceImpl.getMenuById(requestDTO.getMenuId());
 
         Optional<OrderPosition> existingPosition =
                 order.getOrderPositions()
                         .stream()
-                        .filter(position -> position.getMenu().equals(menu))
+                        .filter(position -> menu.getId().equals(position.getMenu().getId()))
                         .findFirst();
 
         if (existingPosition.isPresent()) {
@@ -131,25 +150,25 @@ public class OrderServiceImpl implements OrderService {
                 removePosition(order, existingPosition.get());
             } else {
                 orderPositionServiceImpl.updateOrderPosition(
-                        existingPosition.get().getId(),
+                        existingPosition.get(),
                         existingPositionQuantitySum);
             }
         } else {
             if (quantity <= 0) {
                 throw new IllegalArgumentException("Поле quantity должно быть > 0");
             }
-            OrderPosition orderPosition = orderPositionServiceImpl.createOrderPosition(menu.getId(), quantity, orderId);
+            OrderPosition orderPosition = orderPositionServiceImpl.createOrderPosition(order, menu.getId(), quantity);
             addPosition(order, orderPosition);
         }
         orderRepository.save(order);
-        log.info("Заказ с id: {} успешно обновлён после подсчёта", orderId);
+        log.debug("Заказ с id: {} успешно обновлён после подсчёта", orderId);
         return orderMapper.toOrderDTO(order);
     }
 
 
     @Override
     public void clearOrderPositions(Long orderId) {
-        log.info("Очистка всех позиций заказа с id: {}", orderId);
+        log.debug("Очистка всех позиций заказа с id: {}", orderId);
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(
                         () -> new OrderNotFoundException(
@@ -159,7 +178,7 @@ public class OrderServiceImpl implements OrderService {
                 || OrderStatus.CANCELLED_BEFORE_SEND.equals(order.getStatus())) {
             order.getOrderPositions().clear();
             orderRepository.save(order);
-            log.info("Все позиции заказа с id: {} удалены", orderId);
+            log.debug("Все позиции заказа с id: {} удалены", orderId);
         } else {
             throw new IllegalStateException(
                     String.format("Невозможно удалить позиции заказа со статусом: %s, требуется %s или %s",
@@ -168,9 +187,19 @@ public class OrderServiceImpl implements OrderService {
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Проверка блюд в kitchen-service выполняется до транзакции, чтобы удалённый вызов не держал
+     * соединение с БД и блокировку заказа. После успешной проверки в короткой транзакции заказ переводится
+     * в статус SENT_TO_KITCHEN и сообщение о создании заказа записывается в outbox. Если за время проверки
+     * заказ изменили или уже отправили, транзакция откатывается, а удержание блюд, сделанное проверкой,
+     * снимается в kitchen-service, чтобы блюда не оставались недоступными до истечения удержания.
+     * </p>
+     */
     @Override
     public OrderDTO sendOrderToKitchen(Long orderId) {
-        log.info("Отправка заказа с id: {} в сервис кухни через Kafka", orderId);
+        log.debug("Отправка заказа с id: {} в сервис кухни через Kafka", orderId);
         OrderDTO orderDTO = getOrderById(orderId);
         if (orderDTO.getOrderPositions().isEmpty()) {
             throw new IllegalStateException(
@@ -180,38 +209,40 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Статус заказа не PREPARING");
         }
         OrderValidationDTO validationDTO = new OrderValidationDTO(orderId, orderDTO.getOrderPositions());
-        log.info("Проверка количества блюд на складе для заказа с id: {}", orderId);
-        validationClient.validateOrder(validationDTO);
-        log.info("Проверка количества блюд на складе для заказа с id: {} прошла успешно", orderId);
-        orderDTO.setStatus(OrderStatus.SENT_TO_KITCHEN);
-        kafkaSender.sendOrderCreation(orderDTO);
-        orderRepository.updateOrderStatusById(orderDTO.getId(), OrderStatus.SENT_TO_KITCHEN);
-        return orderDTO;
+        log.debug("Проверка количества блюд на складе для заказа с id: {}", orderId);
+        orderLifecycleMetrics.timeValidation(validationClient, validationDTO);
+        log.debug("Проверка количества блюд на складе для заказа с id: {} прошла успешно", orderId);
+        try {
+            return transactionTemplate.execute(status -> markSentToKitchen(orderId, orderDTO.getOrderPositions()));
+        } catch (RuntimeException e) {
+            releaseValidatedOrder(orderId);
+            throw e;
+        }
     }
 
 
     @Override
     public String getOrderStatusByOrderId(Long id) {
-        log.info("Получение статуса заказа с id: {}", id);
+        log.debug("Получение статуса заказа с id: {}", id);
         OrderDTO orderDTO = getOrderById(id);
-        log.info("Cтатус заказа с id: {} получен, статус: {}", id, orderDTO.getStatus().name());
+        log.debug("Cтатус заказа с id: {} получен, статус: {}", id, orderDTO.getStatus().name());
         return orderDTO.getStatus().name();
     }
 
 
     @Override
     public void updateOrderStatusFromKafkaDTO(UpdateOrderStatusDTO updateDTO) {
-        log.info("Обновление статуса для заказа с id: {}, полученного из сервиса кухни: {}",
+        log.debug("Обновление статуса для заказа с id: {}, полученного из сервиса кухни: {}",
                 updateDTO.getId(), updateDTO.getStatus());
-        orderRepository.updateOrderStatusById(updateDTO.getId(), updateDTO.getStatus());
-        log.info("Cтатус для заказа c id: {}, полученный из сервиса кухни, обновлен: {}",
+        transitStatus(updateDTO.getId(), updateDTO.getStatus());
+        log.debug("Cтатус для заказа c id: {}, полученный из сервиса кухни, обновлен: {}",
                 updateDTO.getId(), updateDTO.getStatus());
     }
 
 
     @Override
     public PaymentDTO payOrder(Long orderId, PaymentType paymentType) {
-        log.info("Оплата заказа с id: {}. Тип оплаты: {}", orderId, paymentType);
+        log.debug("Оплата заказа с id: {}. Тип оплаты: {}", orderId, paymentType);
         Set<OrderStatus> allowedToPayStatuses = EnumSet.of(
                 OrderStatus.READY,
                 OrderStatus.UNSUCCESSFUL_VISITOR_UNPAID
@@ -231,16 +262,16 @@ public class OrderServiceImpl implements OrderService {
         Double paymentSum = calculateTotalSum(order);
         Payment payment = paymentMapper.setPaymentParameters(order, paymentType, paymentSum);
         Payment savedPayment = paymentRepository.save(payment);
-        orderRepository.updateOrderStatusById(orderId, OrderStatus.PAID_AWAITING_SERVING);
+        transitStatus(orderId, OrderStatus.PAID_AWAITING_SERVING);
         order.setStatus(OrderStatus.PAID_AWAITING_SERVING);
-        log.info("Заказ с id: {} успешно оплачен, статус изменен на: {}", orderId, order.getStatus());
+        log.debug("Заказ с id: {} успешно оплачен, статус изменен на: {}", orderId, order.getStatus());
         return paymentMapper.toPaymentDTO(savedPayment);
     }
 
 
     @Override
     public OrderDTO serveOrder(Long orderId) {
-        log.info("Подача заказа с id: {}", orderId);
+        log.debug("Подача заказа с id: {}", orderId);
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(
                         String.format(ORDER_NOT_FOUND, orderId)));
@@ -248,7 +279,7 @@ public class OrderServiceImpl implements OrderService {
                 && paymentRepository.existsById(orderId)) {
             updateAndSetStatus(order, OrderStatus.PAID_AND_SERVED);
             order.setStatus(OrderStatus.PAID_AND_SERVED);
-            log.info("Заказ с id: {} подан, статус изменен на: {}", orderId, order.getStatus());
+            log.debug("Заказ с id: {} подан, статус изменен на: {}", orderId, order.getStatus());
             return orderMapper.toOrderDTO(order);
         }
         throw new OrderServingException(String.format("Заказ с id: '%d' не может быть подан", orderId));
@@ -256,51 +287,48 @@ public class OrderServiceImpl implements OrderService {
 
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Строка заказа блокируется обновлением статуса, после чего проверяется, что заказ всё ещё в статусе,
+     * по которому была выбрана отмена. Если статус успел измениться (например, kitchen-service
+     * перевёл заказ в READY), транзакция откатывается, и отмена в kitchen-service не отправляется.
+     * </p>
+     */
     @Override
+    @Transactional
     public OrderDTO cancelOrder(Long orderId, OrderStatus newStatus) {
-        log.info("Отмена заказа с id: {}. Новый статус: {}", orderId, newStatus);
+        log.debug("Отмена заказа с id: {}. Новый статус: {}", orderId, newStatus);
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(
                         String.format(ORDER_NOT_FOUND, orderId)));
         OrderStatus currentStatus = order.getStatus();
-        Set<OrderStatus> earlyCancelStatuses = EnumSet.of(
-                OrderStatus.SENT_TO_KITCHEN,
-                OrderStatus.COOKING
-        );
-
-        if (currentStatus.canTransitTo(newStatus)
-                && OrderStatus.ALLOWED_CANCEL_STATUSES.contains(newStatus)) {
-
-            if (OrderStatus.PREPARING.equals(order.getStatus())) {
-                order.setStatus(OrderStatus.CANCELLED_BEFORE_SEND);
-                clearOrderPositions(order.getId());
-                log.info(CANCEL_SUCCESS_MESSAGE, orderId, order.getStatus());
-                return orderMapper.toOrderDTO(order);
-            }
-
-            if (earlyCancelStatuses.contains(currentStatus)) {
-                kafkaSender.sendUpdateOrderStatus(
-                        new UpdateOrderStatusDTO(orderId, OrderStatus.CANCELLED_BY_WAITER));
-
-                if (OrderStatus.COOKING.equals(currentStatus)) {
-                    updateAndSetStatus(order, OrderStatus.CANCELLED_WHILE_COOKING_BY_WAITER);
-                    log.info(CANCEL_SUCCESS_MESSAGE, orderId, order.getStatus());
-                    return orderMapper.toOrderDTO(order);
-                }
-
-                updateAndSetStatus(order, OrderStatus.CANCELLED_BY_WAITER);
-                log.info(CANCEL_SUCCESS_MESSAGE, orderId, order.getStatus());
-                return orderMapper.toOrderDTO(order);
-            }
-
-            updateAndSetStatus(order, newStatus);
-            log.info(CANCEL_SUCCESS_MESSAGE, orderId, order.getStatus());
-            return orderMapper.toOrderDTO(order);
+        if (!currentStatus.canTransitTo(newStatus) || !OrderStatus.ALLOWED_CANCEL_STATUSES.contains(newStatus)) {
+            throw new IllegalStateException(String.format(
+                    "Статус заказа с id: '%d' не может быть переведен из статуса %s в %s",
+                    orderId, currentStatus, newStatus));
         }
 
-        throw new IllegalStateException(String.format(
-                "Статус заказа с id: '%d' не может быть переведен из статуса %s в %s",
-                orderId, currentStatus, newStatus));
+        OrderStatus cancelStatus = cancelStatusFor(currentStatus, newStatus);
+        OrderStatusTransition transition = orderRepository.updateOrderStatusById(orderId, cancelStatus)
+                .orElseThrow(() -> new OrderNotFoundException(String.format(ORDER_NOT_FOUND, orderId)));
+        if (!currentStatus.name().equals(transition.getPreviousStatus())) {
+            throw new IllegalStateException(String.format(
+                    "Статус заказа с id: '%d' изменился на %s во время отмены, повторите отмену",
+                    orderId, transition.getPreviousStatus()));
+        }
+        orderLifecycleMetrics.recordTransition(transition, cancelStatus);
+        orderStatusAuditLog.statusChanged(orderId, currentStatus, cancelStatus);
+        order.setStatus(cancelStatus);
+
+        if (OrderStatus.PREPARING.equals(currentStatus)) {
+            clearOrderPositions(orderId);
+        } else if (EnumSet.of(OrderStatus.SENT_TO_KITCHEN, OrderStatus.COOKING).contains(currentStatus)) {
+            outboxService.enqueueStatusUpdate(
+                    new UpdateOrderStatusDTO(orderId, OrderStatus.CANCELLED_BY_WAITER));
+        }
+        log.debug(CANCEL_SUCCESS_MESSAGE, orderId, order.getStatus());
+        return orderMapper.toOrderDTO(order);
     }
 
 
@@ -313,6 +341,32 @@ public class OrderServiceImpl implements OrderService {
     }
 
 
+    @Override
+    public KeysetPageDTO<OrderDTO> getOrdersByFilter(OrderFilterDTO filter, String cursor, int size,
+                                                     boolean withCount) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Параметр size должен быть > 0");
+        }
+        Specification<Order> filterSpec = OrderSpecification.withFilters(filter);
+        Specification<Order> spec = cursor == null
+                ? filterSpec
+                : filterSpec.and(KeysetCursor.decode(cursor).after(CREATE_DATE_TIME, ID));
+
+        List<Order> orders = orderRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(CREATE_DATE_TIME, ID))
+                .limit(size + 1)
+                .all());
+        String nextCursor = null;
+        if (orders.size() > size) {
+            orders = orders.subList(0, size);
+            Order last = orders.get(size - 1);
+            nextCursor = new KeysetCursor(last.getCreateDateTime(), last.getId()).encode();
+        }
+        Long totalElements = withCount ? orderRepository.count(filterSpec) : null;
+        return new KeysetPageDTO<>(orderMapper.toOrderDTOList(orders), nextCursor, totalElements);
+    }
+
+
     /**
      * Вычисляет общую стоимость всех позиций в заказе.
      *
@@ -354,6 +408,76 @@ public class OrderServiceImpl implements OrderService {
     }
 
 
+    /**
+     * Переводит проверенный заказ в статус SENT_TO_KITCHEN и записывает сообщение о его создании в outbox.
+     * Вызывается в транзакции: строка заказа блокируется обновлением статуса, после чего проверяется,
+     * что заказ был в статусе PREPARING и его позиции совпадают с проверенными в kitchen-service.
+     *
+     * @param orderId идентификатор заказа
+     * @param validatedPositions позиции заказа, прошедшие проверку
+     * @return отправленный заказ
+     */
+    private OrderDTO markSentToKitchen(Long orderId, Set<OrderPositionDTO> validatedPositions) {
+        OrderStatusTransition transition = orderRepository.updateOrderStatusById(orderId, OrderStatus.SENT_TO_KITCHEN)
+                .orElseThrow(() -> new OrderNotFoundException(String.format(ORDER_NOT_FOUND, orderId)));
+        if (!OrderStatus.PREPARING.name().equals(transition.getPreviousStatus())) {
+            throw new IllegalStateException("Статус заказа не PREPARING");
+        }
+        OrderDTO orderDTO = getOrderById(orderId);
+        if (!quantitiesByMenuId(orderDTO.getOrderPositions()).equals(quantitiesByMenuId(validatedPositions))) {
+            throw new IllegalStateException(String.format(
+                    "Позиции заказа с id: '%d' изменились во время проверки блюд, повторите отправку", orderId));
+        }
+        orderLifecycleMetrics.recordTransition(transition, OrderStatus.SENT_TO_KITCHEN);
+        orderStatusAuditLog.statusChanged(orderId, OrderStatus.PREPARING, OrderStatus.SENT_TO_KITCHEN);
+        outboxService.enqueueOrderCreation(orderDTO);
+        return orderDTO;
+    }
+
+
+    /**
+     * Выбирает статус отмены по текущему статусу заказа: до отправки на кухню заказ отменяется
+     * без участия kitchen-service, после отправки — отменой официантом на кухне.
+     *
+     * @param currentStatus текущий статус заказа
+     * @param requestedStatus запрошенный статус отмены
+     * @return статус, в который переводится заказ
+     */
+    private static OrderStatus cancelStatusFor(OrderStatus currentStatus, OrderStatus requestedStatus) {
+        return switch (currentStatus) {
+            case PREPARING -> OrderStatus.CANCELLED_BEFORE_SEND;
+            case SENT_TO_KITCHEN -> OrderStatus.CANCELLED_BY_WAITER;
+            case COOKING -> OrderStatus.CANCELLED_WHILE_COOKING_BY_WAITER;
+            default -> requestedStatus;
+        };
+    }
+
+
+    /**
+     * Снимает удержание блюд, сделанное проверкой заказа, который не удалось отправить на кухню.
+     * Ошибка снятия не прерывает обработку: удержание в kitchen-service истечёт по таймауту.
+     *
+     * @param orderId идентификатор заказа
+     */
+    private void releaseValidatedOrder(Long orderId) {
+        try {
+            validationClient.releaseOrder(orderId);
+            log.debug("Удержание блюд под неотправленный заказ с id: {} снято", orderId);
+        } catch (RuntimeException e) {
+            log.warn("Удержание блюд под неотправленный заказ с id: {} не снято, оно истечёт по таймауту: {}",
+                    orderId, e.getMessage());
+        }
+    }
+
+
+    private static Map<Long, Integer> quantitiesByMenuId(Set<OrderPositionDTO> positions) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        positions.forEach(position -> quantities.merge(position.getMenu().getId(), position.getQuantity(),
+                Integer::sum));
+        return quantities;
+    }
+
+
     /**
      * Внутренний метод, который обновляет статус заказа в базе данных и устанавливает его в сущности заказа.
      *
@@ -361,7 +485,22 @@ public class OrderServiceImpl implements OrderService {
      * @param newStatus новый статус заказа
      */
     private void updateAndSetStatus(Order order, OrderStatus newStatus) {
-        orderRepository.updateOrderStatusById(order.getId(), newStatus);
+        transitStatus(order.getId(), newStatus);
         order.setStatus(newStatus);
     }
+
+
+    /**
+     * Внутренний метод, который обновляет статус заказа в базе данных
+     * и записывает время, проведённое заказом в предыдущем статусе, и переход в журнал аудита.
+     *
+     * @param orderId идентификатор заказа
+     * @param newStatus новый статус заказа
+     */
+    private void transitStatus(Long orderId, OrderStatus newStatus) {
+        orderRepository.updateOrderStatusById(orderId, newStatus).ifPresent(transition -> {
+            orderLifecycleMetrics.recordTransition(transition, newStatus);
+            orderStatusAuditLog.statusChanged(orderId, OrderStatus.valueOf(transition.getPreviousStatus()), newStatus);
+        });
+    }
 }
@@ -1,19 +1,24 @@
 package com.testcase.waiterservice.service.impl;
 
+import com.testcase.waiterservice.dto.KeysetPageDTO;
 import com.testcase.waiterservice.dto.PaymentDTO;
 import com.testcase.waiterservice.dto.request.PaymentFilterDTO;
 import com.testcase.waiterservice.entity.Payment;
 import com.testcase.waiterservice.exception.PaymentNotFoundException;
 import com.testcase.waiterservice.mapper.PaymentMapper;
+import com.testcase.waiterservice.repository.KeysetCursor;
 import com.testcase.waiterservice.repository.payment.PaymentRepository;
 import com.testcase.waiterservice.repository.payment.PaymentSpecification;
 import com.testcase.waiterservice.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Реализация сервиса для управления оплатами.
  */
@@ -21,6 +26,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final String PAYMENT_DATE = "paymentDate";
+    private static final String ORDER_ID = "orderId";
+
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
 
@@ -36,4 +44,33 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.findAll(spec, pageable)
                 .map(paymentMapper::toPaymentDTO);
     }
+
+
+    @Override
+    public KeysetPageDTO<PaymentDTO> getPayments(PaymentFilterDTO filter, String cursor, int size, boolean withCount) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Параметр size должен быть > 0");
+        }
+        Specification<Payment> filterSpec = PaymentSpecification.withFilters(filter)
+                .and((root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get(PAYMENT_DATE)));
+        Specification<Payment> spec = cursor == null
+                ? filterSpec
+                : filterSpec.and(KeysetCursor.decode(cursor).after(PAYMENT_DATE, ORDER_ID));
+
+        List<Payment> payments = paymentRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(PAYMENT_DATE, ORDER_ID))
+                .limit(size + 1)
+                .all());
+        String nextCursor = null;
+        if (payments.size() > size) {
+            payments = payments.subList(0, size);
+            Payment last = payments.get(size - 1);
+            nextCursor = new KeysetCursor(last.getPaymentDate(), last.getOrderId()).encode();
+        }
+        Long totalElements = withCount ? paymentRepository.count(filterSpec) : null;
+        return new KeysetPageDTO<>(
+                payments.stream().map(paymentMapper::toPaymentDTO).toList(),
+                nextCursor,
+                totalElements);
+    }
 }
@@ -30,20 +30,20 @@ public class WaiterServiceImpl implements WaiterService {
 
     @Override
     public WaiterDTO getWaiterById(Long id) {
-        log.info("Получение официанта по id: {}", id);
+        log.debug("Получение официанта по id: {}", id);
         WaiterDTO waiterDTO = waiterMapper.toWaiterDTO(waiterRepository.findById(id)
                 .orElseThrow(() -> new WaiterNotFoundException(
                         String.format("Официант с id: %d не найден", id))));
-        log.info("Официант с id: {} получен", id);
+        log.debug("Официант с id: {} получен", id);
         return waiterDTO;
     }
 
 
     @Override
     public List<WaiterDTO> getAllWaiters() {
-        log.info("Получение списка всех официантов");
+        log.debug("Получение списка всех официантов");
         List<WaiterDTO> waiters = waiterMapper.toWaiterDTOList(waiterRepository.findAll());
-        log.info("Получено {} официантов", waiters.size());
+        log.debug("Получено {} официантов", waiters.size());
         return waiters;
     }
 
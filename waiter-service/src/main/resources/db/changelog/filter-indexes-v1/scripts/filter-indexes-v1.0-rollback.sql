@@ -0,0 +1,7 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_payment_sum;
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_payment_type_payment_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_positions_menu_position_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_positions_order_no;
+DROP INDEX CONCURRENTLY IF EXISTS idx_waiter_order_table_no_create_dttm;
+DROP INDEX CONCURRENTLY IF EXISTS idx_waiter_order_waiter_id_create_dttm;
+DROP INDEX CONCURRENTLY IF EXISTS idx_waiter_order_status_create_dttm;
@@ -0,0 +1,25 @@
+-- Индексы для фильтров OrderSpecification: равенство по колонке фильтра и диапазон по дате создания.
+-- Фильтр только по дате обслуживается индексом idx_waiter_order_create_dttm_order_no.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_waiter_order_status_create_dttm
+    ON waiter_order (status, create_dttm);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_waiter_order_waiter_id_create_dttm
+    ON waiter_order (waiter_id, create_dttm);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_waiter_order_table_no_create_dttm
+    ON waiter_order (table_no, create_dttm);
+
+-- Индексы внешних ключей позиций заказа
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_positions_order_no
+    ON order_positions (order_no);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_positions_menu_position_id
+    ON order_positions (menu_position_id);
+
+-- Индексы для фильтров PaymentSpecification.
+-- Фильтр только по дате оплаты обслуживается индексом idx_payment_payment_date_order_no.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_payment_type_payment_date
+    ON payment (payment_type, payment_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_payment_sum
+    ON payment (payment_sum);
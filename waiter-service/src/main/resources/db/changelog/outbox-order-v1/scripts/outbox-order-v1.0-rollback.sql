@@ -0,0 +1,3 @@
+DROP TABLE IF EXISTS outbox_relay_lease;
+
+ALTER TABLE outbox_event DROP COLUMN IF EXISTS aggregate_id;
@@ -0,0 +1,13 @@
+-- Идентификатор заказа сообщения. Релей публикует сообщения одного заказа строго по порядку записи.
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS aggregate_id BIGINT;
+UPDATE outbox_event SET aggregate_id = (payload::jsonb ->> 'id')::BIGINT WHERE aggregate_id IS NULL;
+ALTER TABLE outbox_event ALTER COLUMN aggregate_id SET NOT NULL;
+
+-- Аренда публикации outbox: сообщения публикует только экземпляр, владеющий арендой.
+CREATE TABLE IF NOT EXISTS outbox_relay_lease (
+                                                  name VARCHAR PRIMARY KEY NOT NULL,
+                                                  owner VARCHAR,
+                                                  expires_at TIMESTAMPTZ NOT NULL
+);
+INSERT INTO outbox_relay_lease (name, owner, expires_at) VALUES ('outbox', NULL, now())
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,2 @@
+-- Заголовки контекста трассировки операции, записавшей сообщение. Релей продолжает трассу при публикации.
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS trace_headers TEXT;
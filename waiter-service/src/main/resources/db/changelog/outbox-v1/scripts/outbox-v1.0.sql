@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS outbox_event (
+                                            id BIGSERIAL PRIMARY KEY NOT NULL,
+                                            event_type VARCHAR NOT NULL,
+                                            payload TEXT NOT NULL,
+                                            create_dttm TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,2 @@
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_payment_date_order_no;
+DROP INDEX CONCURRENTLY IF EXISTS idx_waiter_order_create_dttm_order_no;
@@ -0,0 +1,6 @@
+-- Индексы для поиска по курсору: порядок колонок совпадает с сортировкой (дата, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_waiter_order_create_dttm_order_no
+    ON waiter_order (create_dttm, order_no);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_payment_date_order_no
+    ON payment (payment_date, order_no);
@@ -0,0 +1 @@
+ALTER TABLE waiter_order DROP COLUMN IF EXISTS status_changed_dttm;
@@ -0,0 +1,8 @@
+-- Время последней смены статуса заказа: по нему считается время нахождения заказа в статусе.
+-- Для существующих заказов момент смены статуса неизвестен и принимается равным дате создания.
+ALTER TABLE waiter_order ADD COLUMN IF NOT EXISTS status_changed_dttm TIMESTAMPTZ;
+
+UPDATE waiter_order SET status_changed_dttm = create_dttm WHERE status_changed_dttm IS NULL;
+
+ALTER TABLE waiter_order ALTER COLUMN status_changed_dttm SET DEFAULT now();
+ALTER TABLE waiter_order ALTER COLUMN status_changed_dttm SET NOT NULL;
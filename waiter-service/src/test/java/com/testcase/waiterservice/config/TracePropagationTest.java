@@ -0,0 +1,227 @@
+package com.testcase.waiterservice.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.education.grpc.GrpcOrderValidationDTOProto;
+import com.education.grpc.KitchenValidationServiceGrpc;
+import com.education.grpc.ValidationResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.testcase.waiterservice.AbstractIntegrationTest;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Путь отправки заказа на кухню собирается в одну трассу.
+ * <p>
+ * REST-запрос {@code send-to-kitchen} вызывает валидацию через gRPC, записывает сообщение в outbox,
+ * а релей outbox публикует его в Kafka. Вместо kitchen-service поднимается gRPC-заглушка, которая
+ * запоминает заголовок {@code traceparent} вызова. Завершённые спаны накапливаются в памяти
+ * обработчиком {@link SpanHandler}, заголовки записи Kafka читаются отдельным consumer-ом.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("grpc")
+@TestPropertySource(properties = "management.tracing.sampling.probability=1.0")
+class TracePropagationTest extends AbstractIntegrationTest {
+
+    private static final long WAITER_ID = 1L;
+    private static final long MENU_ID = 1L;
+    private static final String TRACEPARENT = "traceparent";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Metadata.Key<String> TRACEPARENT_KEY =
+            Metadata.Key.of(TRACEPARENT, Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Queue<String> GRPC_TRACEPARENTS = new ConcurrentLinkedQueue<>();
+    private static final Server KITCHEN_STUB = startKitchenStub();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private InMemorySpanHandler spans;
+
+    @Value("${spring.kafka.producer.topic.order-creation}")
+    private String orderCreationTopic;
+
+
+    @DynamicPropertySource
+    static void kitchenStubProperties(DynamicPropertyRegistry registry) {
+        registry.add("grpc.client.host", () -> "localhost");
+        registry.add("grpc.client.port", KITCHEN_STUB::getPort);
+    }
+
+
+    @AfterAll
+    static void stopKitchenStub() {
+        KITCHEN_STUB.shutdownNow();
+    }
+
+
+    @Test
+    void sendToKitchenRestGrpcOutboxAndKafkaShareOneTrace() {
+        long orderId = restTemplate.postForObject("/orders/create",
+                Map.of("waiterId", WAITER_ID, "tableNumber", "T-1"), JsonNode.class).get("id").asLong();
+        restTemplate.postForObject("/orders/" + orderId + "/calculate",
+                Map.of("menuId", MENU_ID, "quantity", 1), JsonNode.class);
+        GRPC_TRACEPARENTS.clear();
+
+        restTemplate.postForObject("/orders/" + orderId + "/send-to-kitchen", null, JsonNode.class);
+
+        assertThat(GRPC_TRACEPARENTS).hasSize(1);
+        String traceId = traceId(GRPC_TRACEPARENTS.peek());
+
+        String kafkaTraceparent = awaitOrderCreationTraceparent(orderId);
+        assertThat(traceId(kafkaTraceparent)).isEqualTo(traceId);
+
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            List<MutableSpan> trace = spans.trace(traceId);
+            assertThat(trace)
+                    .anySatisfy(span -> {
+                        assertThat(span.kind()).isEqualTo(brave.Span.Kind.SERVER);
+                        assertThat(span.name()).contains("send-to-kitchen");
+                    })
+                    .anySatisfy(span -> {
+                        assertThat(span.kind()).isEqualTo(brave.Span.Kind.CLIENT);
+                        assertThat(span.name()).contains("ValidateOrder");
+                    })
+                    .anySatisfy(span -> assertThat(span.name()).isEqualTo("outbox publish"))
+                    .anySatisfy(span -> assertThat(span.kind()).isEqualTo(brave.Span.Kind.PRODUCER));
+        });
+    }
+
+
+    private String awaitOrderCreationTraceparent(long orderId) {
+        Map<String, Object> config = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, "trace-propagation-test",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (KafkaConsumer<String, String> consumer =
+                     new KafkaConsumer<>(config, new StringDeserializer(), new StringDeserializer())) {
+            consumer.subscribe(List.of(orderCreationTopic));
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> orderRecord : consumer.poll(POLL_TIMEOUT)) {
+                    Header header = orderRecord.headers().lastHeader(TRACEPARENT);
+                    if (String.valueOf(orderId).equals(orderRecord.key()) && header != null) {
+                        return new String(header.value(), StandardCharsets.UTF_8);
+                    }
+                }
+            }
+        }
+        throw new AssertionError("Заказ с id: " + orderId + " не опубликован в Kafka с контекстом трассировки");
+    }
+
+
+    private static String traceId(String traceparent) {
+        assertThat(traceparent).isNotNull();
+        return traceparent.split("-")[1];
+    }
+
+
+    private static Server startKitchenStub() {
+        ServerInterceptor traceparentRecorder = new ServerInterceptor() {
+            @Override
+            public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                               ServerCallHandler<Q, R> next) {
+                GRPC_TRACEPARENTS.add(String.valueOf(headers.get(TRACEPARENT_KEY)));
+                return next.startCall(call, headers);
+            }
+        };
+        try {
+            return NettyServerBuilder.forPort(0)
+                    .addService(ServerInterceptors.intercept(new ValidKitchenStub(), traceparentRecorder))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Заглушка kitchen-service, подтверждающая любой заказ.
+     */
+    private static final class ValidKitchenStub extends KitchenValidationServiceGrpc.KitchenValidationServiceImplBase {
+
+        @Override
+        public void validateOrder(GrpcOrderValidationDTOProto request,
+                                  StreamObserver<ValidationResponse> responseObserver) {
+            responseObserver.onNext(ValidationResponse.newBuilder()
+                    .setValid(true)
+                    .setOrderId(request.getOrderId())
+                    .build());
+            responseObserver.onCompleted();
+        }
+    }
+
+
+    /**
+     * Накапливает завершённые спаны в памяти.
+     */
+    @TestConfiguration
+    static class InMemorySpans {
+
+        @Bean
+        InMemorySpanHandler inMemorySpanHandler() {
+            return new InMemorySpanHandler();
+        }
+    }
+
+
+    /**
+     * Обработчик, сохраняющий завершённые спаны для проверок теста.
+     */
+    static final class InMemorySpanHandler extends SpanHandler {
+
+        private final Queue<MutableSpan> finished = new ConcurrentLinkedQueue<>();
+
+
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            finished.add(span);
+            return true;
+        }
+
+
+        List<MutableSpan> trace(String traceId) {
+            return finished.stream().filter(span -> traceId.equals(span.traceId())).toList();
+        }
+    }
+}
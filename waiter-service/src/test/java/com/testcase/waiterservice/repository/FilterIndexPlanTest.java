@@ -0,0 +1,278 @@
+package com.testcase.waiterservice.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testcase.commondto.waiterservice.OrderStatus;
+import com.testcase.waiterservice.AbstractIntegrationTest;
+import com.testcase.waiterservice.dto.request.OrderFilterDTO;
+import com.testcase.waiterservice.dto.request.PaymentFilterDTO;
+import com.testcase.waiterservice.entity.PaymentType;
+import com.testcase.waiterservice.repository.order.OrderRepository;
+import com.testcase.waiterservice.repository.order.OrderSpecification;
+import com.testcase.waiterservice.repository.payment.PaymentRepository;
+import com.testcase.waiterservice.repository.payment.PaymentSpecification;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Планы запросов фильтров заказов и платежей используют индексы {@code filter-indexes-v1}
+ * и {@code search-indexes-v1}, а не последовательное чтение больших таблиц.
+ * <p>
+ * Таблицы заполняются объёмом, на котором последовательное чтение заметно дороже индексного,
+ * после чего собирается статистика. Запросы фильтров выполняются через репозитории
+ * по {@link OrderSpecification} и {@link PaymentSpecification}, как в сервисах, а SQL, который
+ * построил Hibernate, перехватывается {@link CapturingStatementInspector} и проверяется
+ * через {@code EXPLAIN (FORMAT JSON)}. Значения фильтров встраиваются в SQL литералами
+ * ({@code hibernate.criteria.value_handling_mode=inline}), поэтому план строится для тех же значений.
+ * Запросы позиций по внешним ключам не строятся спецификациями и проверяются по SQL как есть.
+ * </p>
+ * <p>
+ * План не должен читать последовательно таблицы больше {@link #SEQ_SCAN_ROW_THRESHOLD} строк,
+ * а проверяемая таблица должна читаться ожидаемым индексом.
+ * Данные заполняются в транзакции теста и откатываются после него.
+ * </p>
+ */
+@Transactional
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.testcase.waiterservice.repository.FilterIndexPlanTest$CapturingStatementInspector",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+class FilterIndexPlanTest extends AbstractIntegrationTest {
+
+    private static final int ORDERS = 50_000;
+    private static final int WAITERS = 50;
+    private static final int TABLES = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final long SEQ_SCAN_ROW_THRESHOLD = 10_000L;
+    private static final long RARE_MENU_ID = 1_000L;
+    private static final double SUM_FROM = 100.0;
+    private static final double SUM_TO = 101.0;
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private long waiterId;
+
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO waiter_account (name, employment_date, sex)
+                SELECT 'plan-' || i, CAST(? AS TIMESTAMPTZ), 'MALE' FROM generate_series(1, ?) i
+                """, NOW, WAITERS);
+        waiterId = jdbcTemplate.queryForObject("SELECT max(waiter_id) FROM waiter_account", Long.class);
+        jdbcTemplate.update("""
+                WITH waiters AS (SELECT array_agg(waiter_id) AS ids FROM waiter_account)
+                INSERT INTO waiter_order (status, create_dttm, waiter_id, table_no)
+                SELECT (ARRAY['PREPARING', 'SENT_TO_KITCHEN', 'COOKING', 'READY', 'PAID', 'SERVED',
+                              'CANCELLED_BY_WAITER'])[1 + i % 7],
+                       CAST(? AS TIMESTAMPTZ) - make_interval(mins => i),
+                       waiters.ids[1 + i % cardinality(waiters.ids)],
+                       'T' || (i % ?)
+                FROM generate_series(1, ?) i, waiters
+                """, NOW, TABLES, ORDERS);
+        jdbcTemplate.update("""
+                INSERT INTO menu (id, dish_name, dish_cost) VALUES (?, 'plan-rare', 1.0)
+                ON CONFLICT (id) DO NOTHING
+                """, RARE_MENU_ID);
+        jdbcTemplate.update("""
+                INSERT INTO order_positions (dish_num, order_no, menu_position_id)
+                SELECT 1, o.order_no, CASE WHEN o.order_no % 10000 = 0 THEN ? ELSE 1 + o.order_no % 2 END
+                FROM waiter_order o
+                """, RARE_MENU_ID);
+        jdbcTemplate.update("""
+                INSERT INTO payment (order_no, payment_type, payment_date, payment_sum)
+                SELECT o.order_no, CASE WHEN o.order_no % 2 = 0 THEN 'CARD' ELSE 'CASH' END,
+                       o.create_dttm, (o.order_no % 5000) + 0.5
+                FROM waiter_order o
+                ON CONFLICT (order_no) DO NOTHING
+                """);
+        jdbcTemplate.execute("ANALYZE waiter_order, order_positions, payment, menu, waiter_account");
+    }
+
+
+    @Test
+    void orderFilterByStatusAndPeriodUsesStatusIndex() {
+        assertIndexScan(orderFilterSql(new OrderFilterDTO(OrderStatus.READY, NOW.minusHours(2), NOW.minusHours(1),
+                null, null)), "waiter_order", "idx_waiter_order_status_create_dttm");
+    }
+
+
+    @Test
+    void orderFilterByWaiterAndPeriodUsesWaiterIndex() {
+        assertIndexScan(orderFilterSql(new OrderFilterDTO(null, NOW.minusDays(1), NOW, waiterId, null)),
+                "waiter_order", "idx_waiter_order_waiter_id_create_dttm");
+    }
+
+
+    @Test
+    void orderFilterByTableAndPeriodUsesTableIndex() {
+        assertIndexScan(orderFilterSql(new OrderFilterDTO(null, NOW.minusDays(1), NOW, null, "T7")),
+                "waiter_order", "idx_waiter_order_table_no_create_dttm");
+    }
+
+
+    @Test
+    void orderFilterByPeriodUsesCreateDateIndex() {
+        assertIndexScan(orderFilterSql(new OrderFilterDTO(null, NOW.minusHours(1), NOW, null, null)),
+                "waiter_order", "idx_waiter_order_create_dttm_order_no");
+    }
+
+
+    @Test
+    void orderPositionsByOrderUseOrderForeignKeyIndex() {
+        assertIndexScan(explain("SELECT p.composition_id FROM order_positions p WHERE p.order_no = ? LIMIT "
+                        + PAGE_SIZE, 1L), "order_positions", "idx_order_positions_order_no");
+    }
+
+
+    @Test
+    void orderPositionsByMenuUseMenuForeignKeyIndex() {
+        assertIndexScan(explain("SELECT p.composition_id FROM order_positions p WHERE p.menu_position_id = ? LIMIT "
+                        + PAGE_SIZE, RARE_MENU_ID), "order_positions", "idx_order_positions_menu_position_id");
+    }
+
+
+    @Test
+    void paymentFilterByTypeAndPeriodUsesTypeIndex() {
+        assertIndexScan(paymentFilterSql(new PaymentFilterDTO(PaymentType.CARD, NOW.minusHours(2), NOW.minusHours(1),
+                null, null)), "payment", "idx_payment_payment_type_payment_date");
+    }
+
+
+    @Test
+    void paymentFilterBySumUsesSumIndex() {
+        assertIndexScan(paymentFilterSql(new PaymentFilterDTO(null, null, null, SUM_FROM, SUM_TO)),
+                "payment", "idx_payment_payment_sum");
+    }
+
+
+    @Test
+    void paymentFilterByPeriodUsesPaymentDateIndex() {
+        assertIndexScan(paymentFilterSql(new PaymentFilterDTO(null, NOW.minusHours(1), NOW, null, null)),
+                "payment", "idx_payment_payment_date_order_no");
+    }
+
+
+    private JsonNode orderFilterSql(OrderFilterDTO filter) {
+        return explain(captureSql(() -> orderRepository.findAll(OrderSpecification.withFilters(filter),
+                PageRequest.of(0, PAGE_SIZE))));
+    }
+
+
+    private JsonNode paymentFilterSql(PaymentFilterDTO filter) {
+        return explain(captureSql(() -> paymentRepository.findAll(PaymentSpecification.withFilters(filter),
+                PageRequest.of(0, PAGE_SIZE))));
+    }
+
+
+    /**
+     * Выполняет запрос и возвращает первый SQL, который Hibernate выполнил в потоке теста.
+     * Значения фильтров встроены литералами, параметром остаётся только размер страницы.
+     */
+    private static String captureSql(Runnable query) {
+        List<String> captured = new ArrayList<>();
+        CapturingStatementInspector.CAPTURED.set(captured);
+        try {
+            query.run();
+        } finally {
+            CapturingStatementInspector.CAPTURED.remove();
+        }
+        assertThat(captured).as("SQL запроса по спецификации").isNotEmpty();
+        return captured.get(0).replace("?", String.valueOf(PAGE_SIZE));
+    }
+
+
+    private void assertIndexScan(JsonNode plan, String table, String index) {
+        List<JsonNode> nodes = new ArrayList<>();
+        addSubtree(plan, nodes);
+        List<JsonNode> scans = new ArrayList<>();
+        collectScans(plan, table, scans);
+
+        assertThat(scans).as("Чтение %s в плане запроса", table).isNotEmpty();
+        assertThat(nodes).noneSatisfy(node -> {
+            assertThat(node.path("Node Type").asText()).isEqualTo("Seq Scan");
+            assertThat(tableRows(node.path("Relation Name").asText())).isGreaterThan(SEQ_SCAN_ROW_THRESHOLD);
+        });
+        assertThat(scans).anySatisfy(scan -> assertThat(scan.path("Index Name").asText()).isEqualTo(index));
+    }
+
+
+    private long tableRows(String table) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = ?", Long.class, table);
+        return rows == null ? 0 : rows;
+    }
+
+
+    private JsonNode explain(String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось разобрать план запроса: " + plan, e);
+        }
+    }
+
+
+    private static void collectScans(JsonNode node, String table, List<JsonNode> scans) {
+        if (table.equals(node.path("Relation Name").asText())) {
+            // Bitmap Heap Scan читает таблицу, а индекс указан в дочерних Bitmap Index Scan
+            addSubtree(node, scans);
+        } else {
+            node.path("Plans").forEach(child -> collectScans(child, table, scans));
+        }
+    }
+
+
+    private static void addSubtree(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        node.path("Plans").forEach(child -> addSubtree(child, nodes));
+    }
+
+
+    /**
+     * Запоминает SQL, который Hibernate выполняет в потоке теста, пока включён перехват.
+     * Экземпляр создаёт Hibernate по имени класса из свойств, поэтому перехваченный SQL
+     * хранится в статическом поле.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = CAPTURED.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.testcase.waiterservice.service.impl;
+
+import com.testcase.commondto.waiterservice.OrderDTO;
+import com.testcase.waiterservice.AbstractIntegrationTest;
+import com.testcase.waiterservice.dto.request.OrderCalculateRequestDTO;
+import com.testcase.waiterservice.dto.request.OrderCreateRequestDTO;
+import com.testcase.waiterservice.entity.Menu;
+import com.testcase.waiterservice.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Число SQL-выражений одного вызова {@link OrderService#calculateOrder}.
+ * <p>
+ * Заказ с позициями и меню читается одним запросом с графом сущностей, позиция меню берётся из кэша,
+ * поэтому ни ленивой загрузки меню или позиций, ни лишних выражений быть не должно.
+ * </p>
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CalculateOrderStatementCountTest extends AbstractIntegrationTest {
+
+    private static final long WAITER_ID = 1L;
+    private static final long ORDERED_MENU_ID = 1L;
+    private static final long NEW_MENU_ID = 2L;
+
+    /**
+     * Чтение заказа с графом и вставка позиции; обновление заказа допускается одно.
+     */
+    private static final long MAX_STATEMENTS_ON_ADD = 3;
+
+    /**
+     * Чтение заказа с графом и обновление количества позиции.
+     */
+    private static final long MAX_STATEMENTS_ON_UPDATE = 2;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long orderId;
+
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        orderId = orderService.createOrder(new OrderCreateRequestDTO(WAITER_ID, "T-1")).getId();
+        orderService.calculateOrder(orderId, new OrderCalculateRequestDTO(ORDERED_MENU_ID, 1));
+        // Прогрев кэша меню: промах кэша читает меню из БД и к подсчёту заказа не относится
+        orderService.calculateOrder(orderId, new OrderCalculateRequestDTO(NEW_MENU_ID, 1));
+        orderService.calculateOrder(orderId, new OrderCalculateRequestDTO(NEW_MENU_ID, -1));
+        statistics.clear();
+    }
+
+
+    @Test
+    void addingPositionReadsOrderOnceAndDoesNotLoadMenu() {
+        OrderDTO order = orderService.calculateOrder(orderId, new OrderCalculateRequestDTO(NEW_MENU_ID, 2));
+
+        assertThat(order.getOrderPositions()).hasSize(2);
+        assertThat(statistics.getEntityStatistics(Menu.class.getName()).getFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_ON_ADD);
+    }
+
+
+    @Test
+    void updatingPositionReadsOrderOnce() {
+        OrderDTO order = orderService.calculateOrder(orderId, new OrderCalculateRequestDTO(ORDERED_MENU_ID, 2));
+
+        assertThat(order.getOrderPositions()).hasSize(1);
+        assertThat(statistics.getEntityStatistics(Menu.class.getName()).getFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_ON_UPDATE);
+    }
+}